@@ -0,0 +1,83 @@
+package builder.dml.builder;
+
+import builder.dml.EntityData;
+import builder.dml.EntityMetaData;
+import builder.dml.EntityObjectData;
+import builder.dml.PreparedQuery;
+import entity.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//매번 문자열을 조립하던 방식(rebuild*)과 EntitySqlTemplate 에 값만 바인딩하는 방식(template*)을 비교한다.
+//./gradlew jmh 로 실행한다.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DMLQueryBuilderBenchmark {
+
+    private final EntitySqlTemplates entitySqlTemplates = new EntitySqlTemplates(List.of(Person.class));
+    private final InsertQueryBuilder insertQueryBuilder = new InsertQueryBuilder(entitySqlTemplates);
+    private final UpdateQueryBuilder updateQueryBuilder = new UpdateQueryBuilder(entitySqlTemplates);
+    private final DeleteQueryBuilder deleteQueryBuilder = new DeleteQueryBuilder(entitySqlTemplates);
+    private EntityData entityData;
+
+    @Setup
+    public void setUp() {
+        Person person = new Person(1L, "sangki", 29, "test@test.com", 1);
+        entityData = new EntityData(new EntityMetaData(Person.class), new EntityObjectData(person));
+    }
+
+    @Benchmark
+    public PreparedQuery rebuildInsert() {
+        return insertQueryBuilder.buildQuery(entityData.getTableName(), entityData.getEntityColumn());
+    }
+
+    @Benchmark
+    public PreparedQuery templateInsert() {
+        return insertQueryBuilder.buildQuery(entityData);
+    }
+
+    @Benchmark
+    public String rebuildUpdate() {
+        return UpdateQueryBuilder.updateByIdQuery(entityData.getTableName(), entityData.getColumnDefinitions(), entityData.getPkNm());
+    }
+
+    @Benchmark
+    public PreparedQuery templateUpdate() {
+        return updateQueryBuilder.buildQuery(entityData);
+    }
+
+    @Benchmark
+    public String rebuildDelete() {
+        return DeleteQueryBuilder.deleteByIdQuery(entityData.getTableName(), entityData.getPkNm());
+    }
+
+    @Benchmark
+    public PreparedQuery templateDelete() {
+        return deleteQueryBuilder.buildQuery(entityData);
+    }
+
+    @Benchmark
+    public String rebuildSelectById() {
+        return SelectByIdQueryBuilder.findByIdQuery(entityData);
+    }
+
+    @Benchmark
+    public String templateSelectById() {
+        return entitySqlTemplates.of(Person.class).selectByIdSql();
+    }
+}
@@ -1,7 +1,10 @@
 package boot;
 
 import builder.dml.EntityMetaData;
+import jdbc.EntityRowMapper;
+import jdbc.JdbcTemplate;
 import persistence.CollectionPersister;
+import persistence.EntityLoader;
 import persistence.EntityPersister;
 
 import java.util.List;
@@ -11,8 +14,14 @@ public interface Metamodel {
 
     EntityMetaData entityMetaData(Class<?> entityClass);
 
+    <T> EntityRowMapper<T> entityRowMapper(Class<T> entityClass);
+
     EntityPersister entityPersister();
 
     CollectionPersister collectionPersister();
 
+    EntityLoader entityLoader();
+
+    JdbcTemplate jdbcTemplate();
+
 }
@@ -2,9 +2,13 @@ package boot;
 
 import builder.dml.EntityMetaData;
 import builder.dml.builder.DMLQueryBuilder;
+import builder.dml.builder.EntitySqlTemplates;
 import hibernate.AnnotationBinder;
+import jdbc.EntityRowMapper;
+import jdbc.EntityRowMappers;
 import jdbc.JdbcTemplate;
 import persistence.CollectionPersister;
+import persistence.EntityLoader;
 import persistence.EntityPersister;
 
 import java.util.HashMap;
@@ -15,10 +19,12 @@ public class MetamodelImpl implements Metamodel {
 
     private static final String DOT = ".";
 
-    private final DMLQueryBuilder dmlQueryBuilder = new DMLQueryBuilder();
+    private DMLQueryBuilder dmlQueryBuilder;
     private final Map<String, EntityMetaData> entityMetaDataMap = new HashMap<>();
     private EntityPersister entityPersister;
     private CollectionPersister collectionPersister;
+    private EntityLoader entityLoader;
+    private EntityRowMappers entityRowMappers;
 
     private final JdbcTemplate jdbcTemplate;
 
@@ -31,8 +37,13 @@ public class MetamodelImpl implements Metamodel {
         AnnotationBinder annotationBinder = new AnnotationBinder("entity");
         List<Class<?>> entityClasses = annotationBinder.getEntityClasses();
 
-        entityPersister = new EntityPersister(jdbcTemplate, dmlQueryBuilder);
+        //DML SQL 을 미리 만들어 첫 flush 에서 문자열 조립 비용이 들지 않게 한다. SQL 캐시는 이 Metamodel 에만 속한다.
+        dmlQueryBuilder = new DMLQueryBuilder(new EntitySqlTemplates(entityClasses));
+        entityPersister = new EntityPersister(jdbcTemplate, this, dmlQueryBuilder);
         collectionPersister = new CollectionPersister(jdbcTemplate, dmlQueryBuilder);
+        //row 매퍼를 미리 만들어 첫 조회에서 reflection 비용이 들지 않게 한다. 컬럼 plan 캐시는 이 Metamodel 에만 속한다.
+        entityRowMappers = new EntityRowMappers(entityClasses);
+        entityLoader = new EntityLoader(jdbcTemplate, dmlQueryBuilder, entityRowMappers);
 
         for (Class<?> entityClass : entityClasses) {
             entityMetaDataMap.put(entityClass.getSimpleName(), new EntityMetaData(entityClass));
@@ -44,6 +55,12 @@ public class MetamodelImpl implements Metamodel {
         return entityMetaDataMap.get(entityClass.getSimpleName());
     }
 
+    //init 에서 미리 만들어둔 매퍼. 등록되지 않은 클래스는 처음 요청될 때 만들어 이 Metamodel 에 캐시한다.
+    @Override
+    public <T> EntityRowMapper<T> entityRowMapper(Class<T> entityClass) {
+        return entityRowMappers.of(entityClass);
+    }
+
     @Override
     public EntityPersister entityPersister() {
         return this.entityPersister;
@@ -54,4 +71,14 @@ public class MetamodelImpl implements Metamodel {
         return this.collectionPersister;
     }
 
+    @Override
+    public EntityLoader entityLoader() {
+        return this.entityLoader;
+    }
+
+    @Override
+    public JdbcTemplate jdbcTemplate() {
+        return this.jdbcTemplate;
+    }
+
 }
@@ -1,7 +1,5 @@
 package builder.dml;
 
-import util.StringUtil;
-
 public class DMLColumnData {
 
     private final String columnName;
@@ -57,13 +55,4 @@ public class DMLColumnData {
     public boolean isPrimaryKey() {
         return isPrimaryKey;
     }
-
-    //Value가 String.class 이면 작은따옴표로 묶어준다.
-    public String getColumnValueByType() {
-        if (this.columnType == String.class) {
-            return StringUtil.wrapSingleQuote(this.columnValue);
-        }
-
-        return String.valueOf(this.columnValue);
-    }
 }
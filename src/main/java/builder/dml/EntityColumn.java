@@ -5,13 +5,13 @@ import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Transient;
 import org.jetbrains.annotations.NotNull;
-import util.StringUtil;
 
 import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class EntityColumn {
 
@@ -37,20 +37,16 @@ public class EntityColumn {
     public String getColumnDefinitions() {
         return this.columns.stream()
                 .filter(column -> !column.isPrimaryKey())
-                .map(column -> column.getColumnName() + EQUALS + column.getColumnValueByType())
+                .map(column -> column.getColumnName() + EQUALS + QueryBuildUtil.PLACEHOLDER)
                 .collect(Collectors.joining(COMMA));
     }
 
-    public String getColumnValues() {
+    //PK를 제외한 컬럼 값들을 컬럼 순서대로 가져온다.
+    public List<Object> getNonPkColumnValues() {
         return this.columns.stream()
-                .map(dmlColumnData -> {
-                    Object value = dmlColumnData.getColumnValue();
-                    if (dmlColumnData.getColumnType() == String.class) { // 데이터 타입이 String이면 작은 따옴표로 묶어준다.
-                        return StringUtil.wrapSingleQuote(value);
-                    }
-                    return String.valueOf(value);
-                })
-                .collect(Collectors.joining(COMMA));
+                .filter(column -> !column.isPrimaryKey())
+                .map(DMLColumnData::getColumnValue)
+                .toList();
     }
 
     public String getPkName() {
@@ -62,11 +58,41 @@ public class EntityColumn {
     }
 
     public Object getPkValue() {
-        return this.columns.stream()
-                .filter(DMLColumnData::isPrimaryKey)
-                .findFirst()
+        return getPkColumn().getColumnValue();
+    }
+
+    //PK 값이 없으면 insert 시 DB 가 생성한 값을 사용한다.
+    public boolean isPkEmpty() {
+        return getPkValue() == null;
+    }
+
+    //DB 가 생성한 PK 값을 반영한다.
+    public void changePkValue(Object pkValue) {
+        DMLColumnData pkColumn = getPkColumn();
+        this.columns = this.columns.stream()
+                .map(column -> column == pkColumn
+                        ? DMLColumnData.createInstancePkColumn(pkColumn.getColumnName(), pkColumn.getColumnType(), pkValue)
+                        : column)
+                .collect(Collectors.toList());
+    }
+
+    //insert 할 컬럼명. 값이 없는 PK 는 DB 가 생성하도록 제외한다.
+    public String getInsertColumnNames() {
+        return insertColumns()
+                .map(DMLColumnData::getColumnName)
+                .collect(Collectors.joining(COMMA));
+    }
+
+    //insert 할 컬럼 수만큼 ? 플레이스홀더를 생성한다.
+    public String getInsertColumnPlaceholders() {
+        return QueryBuildUtil.getPlaceholders((int) insertColumns().count());
+    }
+
+    //바인딩할 insert 컬럼 값들을 컬럼 순서대로 가져온다.
+    public List<Object> getInsertColumnValues() {
+        return insertColumns()
                 .map(DMLColumnData::getColumnValue)
-                .orElseThrow(() -> new IllegalArgumentException(PK_NOT_EXIST_MESSAGE));
+                .toList();
     }
 
     public List<DMLColumnData> getDifferentColumns(EntityData snapShotBuilderData) {
@@ -148,6 +174,18 @@ public class EntityColumn {
         return !field.isAnnotationPresent(Transient.class) && !field.isAnnotationPresent(OneToMany.class);
     }
 
+    private DMLColumnData getPkColumn() {
+        return this.columns.stream()
+                .filter(DMLColumnData::isPrimaryKey)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(PK_NOT_EXIST_MESSAGE));
+    }
+
+    private Stream<DMLColumnData> insertColumns() {
+        return this.columns.stream()
+                .filter(column -> !column.isPrimaryKey() || column.getColumnValue() != null);
+    }
+
     public String getColumnNames() {
         return this.columns.stream()
                 .map(DMLColumnData::getColumnName)
@@ -41,15 +41,15 @@ public class EntityData {
         return this.entityObjectData.getJoinEntity();
     }
 
-    public String wrapString() {
-        return this.entityObjectData.wrapString();
-    }
-
     public EntityData changeColumns(List<DMLColumnData> columns) {
         this.entityObjectData = this.entityObjectData.changeColumns(columns);
         return this;
     }
 
+    public void assignId(Object id) {
+        this.entityObjectData.assignId(this.entityMetaData, id);
+    }
+
     public String getColumnDefinitions() {
         return this.entityObjectData.getColumnDefinitions();
     }
@@ -10,17 +10,20 @@ import java.util.Arrays;
 public class EntityMetaData {
 
     private static final String NOT_EXIST_ENTITY_ANNOTATION = "@Entity 어노테이션이 존재하지 않습니다.";
+    private static final String SET_ID_ERROR_MESSAGE = "PK 값을 설정하는 중 에러가 발생했습니다.";
 
     private final Class<?> clazz;
     private final String tableName;
     private final String pkName;
     private final String alias;
+    private final Field idField;
 
     public <T> EntityMetaData(Class<T> clazz) {
         confirmEntityAnnotation(clazz);
         this.clazz = clazz;
         this.tableName = getTableName(clazz);
-        this.pkName = getPkName(clazz);
+        this.idField = getIdField(clazz);
+        this.pkName = this.idField.getName();
         this.alias = QueryBuildUtil.getAlias(this.tableName);
     }
 
@@ -40,12 +43,37 @@ public class EntityMetaData {
         return alias;
     }
 
-    private String getPkName(Class<?> entityClass) {
-        return Arrays.stream(entityClass.getDeclaredFields())
+    //DB 가 생성한 PK 값을 인스턴스의 @Id 필드에 넣는다.
+    public void assignId(Object entityInstance, Object id) {
+        try {
+            this.idField.set(entityInstance, convertId(id));
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(SET_ID_ERROR_MESSAGE + this.idField.getName(), e);
+        }
+    }
+
+    //생성된 키는 DB 타입으로 돌아오므로 @Id 필드 타입에 맞춘다.
+    public Object convertId(Object id) {
+        if (!(id instanceof Number number)) {
+            return id;
+        }
+        Class<?> idType = this.idField.getType();
+        if (idType == Long.class || idType == long.class) {
+            return number.longValue();
+        }
+        if (idType == Integer.class || idType == int.class) {
+            return number.intValue();
+        }
+        return id;
+    }
+
+    private Field getIdField(Class<?> entityClass) {
+        Field idField = Arrays.stream(entityClass.getDeclaredFields())
                 .filter(field -> field.isAnnotationPresent(Id.class))
-                .map(Field::getName)
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Entity에 PK가 존재하지 않습니다."));
+        idField.setAccessible(true);
+        return idField;
     }
 
     private void confirmEntityAnnotation(Class<?> entityClass) {
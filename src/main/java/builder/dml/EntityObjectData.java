@@ -1,7 +1,5 @@
 package builder.dml;
 
-import util.StringUtil;
-
 import java.lang.reflect.Field;
 import java.util.List;
 import java.util.Map;
@@ -37,15 +35,18 @@ public class EntityObjectData {
         this.joinEntity = new JoinEntity(this.clazz, this.id);
     }
 
-    public String wrapString() {
-        return (this.id instanceof String) ? StringUtil.wrapSingleQuote(this.id) : String.valueOf(this.id);
-    }
-
     public EntityObjectData changeColumns(List<DMLColumnData> columns) {
         this.entityColumn.changeColumns(columns);
         return this;
     }
 
+    //DB 가 생성한 PK 값을 컬럼과 인스턴스에 반영한다.
+    public void assignId(EntityMetaData entityMetaData, Object id) {
+        this.id = entityMetaData.convertId(id);
+        this.entityColumn.changePkValue(this.id);
+        entityMetaData.assignId(this.entityInstance, this.id);
+    }
+
     public String getColumnDefinitions() {
         return this.entityColumn.getColumnDefinitions();
     }
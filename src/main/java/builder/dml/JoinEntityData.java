@@ -1,7 +1,6 @@
 package builder.dml;
 
 import jakarta.persistence.Table;
-import util.StringUtil;
 
 public class JoinEntityData {
 
@@ -50,8 +49,8 @@ public class JoinEntityData {
         return clazz;
     }
 
-    public String wrapString() {
-        return (this.joinColumnValue instanceof String) ? StringUtil.wrapSingleQuote(this.joinColumnValue) : String.valueOf(this.joinColumnValue);
+    public Object getJoinColumnValue() {
+        return joinColumnValue;
     }
 
     private String getTableName(Class<?> entityClass) {
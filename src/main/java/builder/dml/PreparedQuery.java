@@ -0,0 +1,14 @@
+package builder.dml;
+
+import java.util.List;
+
+// ? 플레이스홀더가 포함된 쿼리와 순서대로 바인딩할 파라미터를 함께 보관한다.
+public record PreparedQuery(
+        String sql,
+        List<Object> parameters
+) {
+
+    public Object[] parameterArray() {
+        return this.parameters.toArray();
+    }
+}
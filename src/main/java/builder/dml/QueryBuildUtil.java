@@ -1,14 +1,43 @@
 package builder.dml;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
 
 public class QueryBuildUtil {
 
+    public static final String PLACEHOLDER = "?";
+
     private static final String UNDER_BAR = "_";
     private static final String DOT = ".";
     private static final String BLANK = " ";
     private static final String COMMA = ", ";
 
+    public static String getPlaceholders(int count) {
+        return String.join(COMMA, Collections.nCopies(count, PLACEHOLDER));
+    }
+
+    //IN 절의 ? 개수를 count 이상의 2의 거듭제곱으로 올려 SQL 종류를 몇가지로 줄인다. maxSize 를 넘지 않는다.
+    public static int getPaddedInSize(int count, int maxSize) {
+        int size = 1;
+        while (size < count) {
+            size <<= 1;
+        }
+        return Math.min(size, maxSize);
+    }
+
+    //values 뒤를 마지막 값으로 채워 size 개로 만든다. IN 절에 같은 값이 여러번 있어도 결과는 같다.
+    public static List<Object> padInValues(List<Object> values, int size) {
+        List<Object> padded = new ArrayList<>(size);
+        padded.addAll(values);
+        Object last = values.getLast();
+        while (padded.size() < size) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
     public static String getAlias(String table) {
         return table + UNDER_BAR;
     }
@@ -4,6 +4,7 @@ public enum BuilderName {
 
     SELECT_ALL,
     SELECT_BY_ID,
+    SELECT_PAGE,
     UPDATE,
     INSERT,
     DELETE
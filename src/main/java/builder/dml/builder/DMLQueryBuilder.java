@@ -8,11 +8,17 @@ public class DMLQueryBuilder {
     private final Map<BuilderName, Object> queryBuilder = new HashMap<>();
 
     public DMLQueryBuilder() {
-        queryBuilder.put(BuilderName.SELECT_ALL, new SelectAllQueryBuilder());
-        queryBuilder.put(BuilderName.SELECT_BY_ID, new SelectByIdQueryBuilder());
-        queryBuilder.put(BuilderName.UPDATE, new UpdateQueryBuilder());
-        queryBuilder.put(BuilderName.INSERT, new InsertQueryBuilder());
-        queryBuilder.put(BuilderName.DELETE, new DeleteQueryBuilder());
+        this(new EntitySqlTemplates());
+    }
+
+    //모든 builder 가 같은 EntitySqlTemplates 를 사용한다.
+    public DMLQueryBuilder(EntitySqlTemplates entitySqlTemplates) {
+        queryBuilder.put(BuilderName.SELECT_ALL, new SelectAllQueryBuilder(entitySqlTemplates));
+        queryBuilder.put(BuilderName.SELECT_BY_ID, new SelectByIdQueryBuilder(entitySqlTemplates));
+        queryBuilder.put(BuilderName.SELECT_PAGE, new SelectPageQueryBuilder(entitySqlTemplates));
+        queryBuilder.put(BuilderName.UPDATE, new UpdateQueryBuilder(entitySqlTemplates));
+        queryBuilder.put(BuilderName.INSERT, new InsertQueryBuilder(entitySqlTemplates));
+        queryBuilder.put(BuilderName.DELETE, new DeleteQueryBuilder(entitySqlTemplates));
     }
 
     public Object query(BuilderName name) {
@@ -1,23 +1,70 @@
 package builder.dml.builder;
 
 import builder.dml.EntityData;
+import builder.dml.PreparedQuery;
+import builder.dml.QueryBuildUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class DeleteQueryBuilder {
 
     private final static String DELETE_BY_ID_QUERY = "DELETE FROM {tableName} WHERE {entityPkName} = {values};";
+    private final static String DELETE_BY_IDS_QUERY = "DELETE FROM {tableName} WHERE {entityPkName} IN ({values});";
+    private final static String INVALID_MAX_BIND_COUNT = "IN 절의 최대 바인딩 수는 1 이상이어야 합니다. maxBindCount: ";
     private final static String TABLE_NAME = "{tableName}";
     private final static String VALUES = "{values}";
     private final static String ENTITY_PK_NAME = "{entityPkName}";
 
-    public String buildQuery(EntityData EntityData) {
-        return deleteByIdQuery(EntityData);
+    private final EntitySqlTemplates entitySqlTemplates;
+
+    public DeleteQueryBuilder() {
+        this(new EntitySqlTemplates());
+    }
+
+    public DeleteQueryBuilder(EntitySqlTemplates entitySqlTemplates) {
+        this.entitySqlTemplates = entitySqlTemplates;
+    }
+
+    public PreparedQuery buildQuery(EntityData EntityData) {
+        return new PreparedQuery(this.entitySqlTemplates.of(EntityData.getClazz()).deleteSql(), Collections.singletonList(EntityData.getId()));
+    }
+
+    //연속된 같은 Entity 의 delete 를 WHERE pk IN (...) 으로 묶는다.
+    //IN 절의 ? 는 maxBindCount 개를 넘지 않고, 몇가지 크기로만 맞춰 PreparedStatement 를 재사용할 수 있게 한다.
+    public List<PreparedQuery> buildInQueries(List<EntityData> entityDataList, int maxBindCount) {
+        if (maxBindCount < 1) {
+            throw new IllegalArgumentException(INVALID_MAX_BIND_COUNT + maxBindCount);
+        }
+        List<PreparedQuery> queries = new ArrayList<>();
+        int start = 0;
+        while (start < entityDataList.size()) {
+            Class<?> clazz = entityDataList.get(start).getClazz();
+            List<Object> ids = new ArrayList<>();
+            int end = start;
+            while (end < entityDataList.size() && end - start < maxBindCount && entityDataList.get(end).getClazz() == clazz) {
+                ids.add(entityDataList.get(end).getId());
+                end++;
+            }
+            int size = QueryBuildUtil.getPaddedInSize(ids.size(), maxBindCount);
+            queries.add(new PreparedQuery(this.entitySqlTemplates.of(clazz).deleteInSql(size), QueryBuildUtil.padInValues(ids, size)));
+            start = end;
+        }
+        return queries;
     }
 
     //delete 쿼리문을 생성한다.
-    private String deleteByIdQuery(EntityData EntityData) {
-        return DELETE_BY_ID_QUERY.replace(TABLE_NAME, EntityData.getTableName())
-                .replace(ENTITY_PK_NAME, EntityData.getPkNm())
-                .replace(VALUES, String.valueOf(EntityData.wrapString()));
+    static String deleteByIdQuery(String tableName, String pkName) {
+        return DELETE_BY_ID_QUERY.replace(TABLE_NAME, tableName)
+                .replace(ENTITY_PK_NAME, pkName)
+                .replace(VALUES, QueryBuildUtil.PLACEHOLDER);
+    }
+
+    static String deleteByIdsQuery(String tableName, String pkName, int size) {
+        return DELETE_BY_IDS_QUERY.replace(TABLE_NAME, tableName)
+                .replace(ENTITY_PK_NAME, pkName)
+                .replace(VALUES, QueryBuildUtil.getPlaceholders(size));
     }
 
 }
@@ -0,0 +1,217 @@
+package builder.dml.builder;
+
+import builder.dml.DMLColumnData;
+import builder.dml.EntityColumn;
+import builder.dml.EntityData;
+import builder.dml.EntityMetaData;
+import builder.dml.EntityObjectData;
+import builder.dml.QueryBuildUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+//Entity 클래스 하나의 DML 중 값과 상관없는 부분을 한번만 만들어둔 SQL.
+//테이블 이름, 컬럼 목록, PK 조건, 플레이스홀더, EAGER 조인 SELECT 가 클래스에 따라 정해지므로 호출마다 다시 만들지 않는다.
+//EntitySqlTemplates 가 Metamodel 마다 클래스별로 하나씩 가지며, 여러 스레드가 같이 사용해도 된다.
+public final class EntitySqlTemplate {
+
+    private static final String COMMA = ", ";
+    private static final String ROW_SEPARATOR = "), (";
+    private static final String EQUALS = "=";
+    private static final int MAX_MASK_COLUMNS = 63;
+    public static final long NO_MASK = -1L;
+
+    private final String tableName;
+    private final String columnNames;
+    private final String nonPkColumnNames;
+    private final int columnCount;
+    private final String insertSql;
+    private final String insertWithoutPkSql;
+    private final String updateSql;
+    private final String deleteSql;
+    private final String selectAllSql;
+    private final String selectByIdSql;
+    private final int nonPkColumnCount;
+    private final boolean eagerJoin;
+    private final String pkName;
+    private final Map<Integer, String> multiRowInsertSqls = new ConcurrentHashMap<>();
+    private final Map<Integer, String> deleteInSqls = new ConcurrentHashMap<>();
+    private final List<String> nonPkColumnList;
+    private final Map<Long, String> dirtyUpdateSqls = new ConcurrentHashMap<>();
+    private final AtomicInteger dirtyUpdateShapeCount = new AtomicInteger();
+    private final Map<String, String> firstKeysetSqls = new ConcurrentHashMap<>();
+    private final Map<String, String> nextKeysetSqls = new ConcurrentHashMap<>();
+    private final String selectOffsetSql;
+    private final String selectByIdsSql;
+    private final Map<Integer, String> selectInSqls = new ConcurrentHashMap<>();
+
+    EntitySqlTemplate(Class<?> entityClass) {
+        EntityData entityData = new EntityData(new EntityMetaData(entityClass), new EntityObjectData(entityClass));
+        EntityColumn entityColumn = entityData.getEntityColumn();
+        List<DMLColumnData> nonPkColumns = entityColumn.getColumns().stream()
+                .filter(column -> !column.isPrimaryKey())
+                .toList();
+
+        this.tableName = entityData.getTableName();
+        this.pkName = entityData.getPkNm();
+        this.columnNames = entityColumn.getColumnNames();
+        this.nonPkColumnNames = nonPkColumns.stream().map(DMLColumnData::getColumnName).collect(Collectors.joining(COMMA));
+        this.columnCount = entityColumn.getColumns().size();
+        this.insertSql = InsertQueryBuilder.insertQuery(this.tableName, this.columnNames, QueryBuildUtil.getPlaceholders(this.columnCount));
+        this.insertWithoutPkSql = InsertQueryBuilder.insertQuery(this.tableName, this.nonPkColumnNames, QueryBuildUtil.getPlaceholders(nonPkColumns.size()));
+        this.updateSql = UpdateQueryBuilder.updateByIdQuery(entityData.getTableName(),
+                entityColumn.getColumnDefinitions(), entityData.getPkNm());
+        this.deleteSql = DeleteQueryBuilder.deleteByIdQuery(entityData.getTableName(), entityData.getPkNm());
+        this.selectAllSql = SelectAllQueryBuilder.findAllQuery(entityData);
+        this.selectByIdSql = SelectByIdQueryBuilder.findByIdQuery(entityData);
+        this.selectByIdsSql = SelectByIdQueryBuilder.findByIdsQuery(entityData);
+        this.nonPkColumnCount = nonPkColumns.size();
+        this.nonPkColumnList = nonPkColumns.stream().map(DMLColumnData::getColumnName).toList();
+        this.eagerJoin = entityData.checkJoinAndEager();
+        this.selectOffsetSql = SelectPageQueryBuilder.offsetQuery(this.tableName, this.columnNames, this.pkName);
+    }
+
+    //PK 값이 없으면 PK 컬럼을 제외한 INSERT 를 돌려준다.
+    public String insertSql(boolean pkEmpty) {
+        return pkEmpty ? insertWithoutPkSql : insertSql;
+    }
+
+    //rowCount 개의 row 를 한번에 넣는 INSERT. row 수마다 한번만 만든다.
+    public String insertSql(boolean pkEmpty, int rowCount) {
+        if (rowCount == 1) {
+            return insertSql(pkEmpty);
+        }
+        return multiRowInsertSqls.computeIfAbsent(pkEmpty ? -rowCount : rowCount, key -> {
+            String placeholders = QueryBuildUtil.getPlaceholders(insertColumnCount(pkEmpty));
+            return InsertQueryBuilder.insertQuery(tableName, pkEmpty ? nonPkColumnNames : columnNames,
+                    String.join(ROW_SEPARATOR, Collections.nCopies(rowCount, placeholders)));
+        });
+    }
+
+    //insert 할 row 하나의 바인딩 파라미터 수
+    public int insertColumnCount(boolean pkEmpty) {
+        return pkEmpty ? nonPkColumnCount : columnCount;
+    }
+
+    //PK 를 제외한 모든 컬럼을 SET 하는 UPDATE
+    public String updateSql() {
+        return updateSql;
+    }
+
+    public String deleteSql() {
+        return deleteSql;
+    }
+
+    //? 가 size 개인 WHERE pk IN (...) DELETE. 크기마다 한번만 만든다.
+    public String deleteInSql(int size) {
+        return deleteInSqls.computeIfAbsent(size, key -> DeleteQueryBuilder.deleteByIdsQuery(tableName, pkName, size));
+    }
+
+    public String selectAllSql() {
+        return selectAllSql;
+    }
+
+    public String selectByIdSql() {
+        return selectByIdSql;
+    }
+
+    //? 가 size 개인 WHERE pk IN (...) SELECT. 크기마다 한번만 만든다.
+    public String selectByIdsSql(int size) {
+        return selectInSqls.computeIfAbsent(size, key -> SelectByIdQueryBuilder.findByIdsQuery(selectByIdsSql, size));
+    }
+
+    //PK 순서로 LIMIT ? OFFSET ? 만큼 조회하는 SELECT
+    public String selectOffsetSql() {
+        return selectOffsetSql;
+    }
+
+    //orderColumn, PK 순서로 LIMIT ? 만큼 조회하는 SELECT. after 이면 이전 페이지 마지막 row 다음부터 조회한다.
+    //컬럼마다 한번만 만든다.
+    public String selectKeysetSql(String orderColumn, boolean after) {
+        Map<String, String> keysetSqls = after ? nextKeysetSqls : firstKeysetSqls;
+        return keysetSqls.computeIfAbsent(orderColumn,
+                key -> SelectPageQueryBuilder.keysetQuery(tableName, columnNames, pkName, orderColumn, after));
+    }
+
+    //SET 할 컬럼의 비트마스크. i 번째 비트가 PK 를 제외한 i 번째 컬럼이다.
+    //모르는 컬럼이 있거나 컬럼이 63개를 넘어 마스크로 나타낼 수 없으면 NO_MASK 를 돌려준다.
+    public long dirtyMask(EntityColumn entityColumn) {
+        if (this.nonPkColumnCount > MAX_MASK_COLUMNS) {
+            return NO_MASK;
+        }
+        long mask = 0L;
+        int position = 0;
+        for (DMLColumnData column : entityColumn.getColumns()) {
+            if (column.isPrimaryKey()) {
+                continue;
+            }
+            while (position < this.nonPkColumnCount && !this.nonPkColumnList.get(position).equals(column.getColumnName())) {
+                position++;
+            }
+            if (position == this.nonPkColumnCount) {
+                return NO_MASK;
+            }
+            mask |= 1L << position++;
+        }
+        return mask;
+    }
+
+    public boolean isFullMask(long dirtyMask) {
+        return dirtyMask != NO_MASK && dirtyMask == (1L << this.nonPkColumnCount) - 1;
+    }
+
+    //마스크의 컬럼만 SET 하는 UPDATE. 전체 컬럼이면 updateSql 이다.
+    //마스크별로 캐시하되, 캐시된 조합이 maxShapes 개에 이르면 새 조합은 캐시하지 않고 null 을 돌려준다.
+    //여러 스레드가 동시에 새 조합을 넣어도 maxShapes 개를 넘지 않도록 자리를 먼저 예약하고 넣는다.
+    public String updateSql(long dirtyMask, int maxShapes) {
+        if (isFullMask(dirtyMask)) {
+            return this.updateSql;
+        }
+        String cached = this.dirtyUpdateSqls.get(dirtyMask);
+        if (cached != null) {
+            return cached;
+        }
+        if (!reserveDirtyUpdateShape(maxShapes)) {
+            return this.dirtyUpdateSqls.get(dirtyMask);
+        }
+        String sql = dirtyUpdateQuery(dirtyMask);
+        String existing = this.dirtyUpdateSqls.putIfAbsent(dirtyMask, sql);
+        if (existing != null) {
+            //다른 스레드가 같은 조합을 먼저 넣었으면 예약한 자리를 돌려준다.
+            this.dirtyUpdateShapeCount.decrementAndGet();
+            return existing;
+        }
+        return sql;
+    }
+
+    private boolean reserveDirtyUpdateShape(int maxShapes) {
+        int count;
+        do {
+            count = this.dirtyUpdateShapeCount.get();
+            if (count >= maxShapes) {
+                return false;
+            }
+        } while (!this.dirtyUpdateShapeCount.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    private String dirtyUpdateQuery(long dirtyMask) {
+        List<String> columnDefinitions = new ArrayList<>();
+        for (int i = 0; i < this.nonPkColumnCount; i++) {
+            if ((dirtyMask & (1L << i)) != 0) {
+                columnDefinitions.add(this.nonPkColumnList.get(i) + EQUALS + QueryBuildUtil.PLACEHOLDER);
+            }
+        }
+        return UpdateQueryBuilder.updateByIdQuery(this.tableName, String.join(COMMA, columnDefinitions), this.pkName);
+    }
+
+    //SELECT 는 클래스 기준 EntityData 로 만들었으므로 조인 여부가 같을 때만 쓴다.
+    public boolean matchesJoin(EntityData entityData) {
+        return this.eagerJoin == entityData.checkJoinAndEager();
+    }
+}
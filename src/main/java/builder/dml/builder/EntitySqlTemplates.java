@@ -0,0 +1,34 @@
+package builder.dml.builder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//Metamodel 하나가 가지는 Entity 클래스별 EntitySqlTemplate.
+//init 에서 등록한 클래스의 템플릿은 바뀌지 않는 Map 에 두고, 등록되지 않은 클래스는 처음 요청될 때 만들어 이 객체에만 캐시한다.
+//템플릿 안의 SQL 캐시도 이 객체를 가진 Metamodel 에만 속하므로 Metamodel 마다 따로 늘어나고 함께 버려진다.
+public final class EntitySqlTemplates {
+
+    private final Map<Class<?>, EntitySqlTemplate> templates;
+    private final Map<Class<?>, EntitySqlTemplate> lazyTemplates = new ConcurrentHashMap<>();
+
+    public EntitySqlTemplates() {
+        this.templates = Map.of();
+    }
+
+    public EntitySqlTemplates(Collection<Class<?>> entityClasses) {
+        this.templates = entityClasses.stream()
+                .distinct()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), EntitySqlTemplate::new));
+    }
+
+    public EntitySqlTemplate of(Class<?> entityClass) {
+        EntitySqlTemplate template = this.templates.get(entityClass);
+        if (template != null) {
+            return template;
+        }
+        return this.lazyTemplates.computeIfAbsent(entityClass, EntitySqlTemplate::new);
+    }
+}
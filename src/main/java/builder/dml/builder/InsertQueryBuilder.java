@@ -1,6 +1,12 @@
 package builder.dml.builder;
 
 import builder.dml.EntityColumn;
+import builder.dml.EntityData;
+import builder.dml.JoinEntityData;
+import builder.dml.PreparedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class InsertQueryBuilder {
 
@@ -8,17 +14,83 @@ public class InsertQueryBuilder {
     private final static String TABLE_NAME = "{tableName}";
     private final static String COLUMN_NAMES = "{columnNames}";
     private final static String VALUES = "{values}";
+    private final static String INVALID_MULTI_ROW_LIMIT = "multi row insert 의 row 수와 파라미터 수는 1 이상이어야 합니다. maxRows, maxParameters: ";
+
+    private final EntitySqlTemplates entitySqlTemplates;
+
+    public InsertQueryBuilder() {
+        this(new EntitySqlTemplates());
+    }
+
+    public InsertQueryBuilder(EntitySqlTemplates entitySqlTemplates) {
+        this.entitySqlTemplates = entitySqlTemplates;
+    }
 
     //insert 쿼리를 생성한다. Insert 쿼리는 인스턴스의 데이터를 받아야함
-    public String buildQuery(String tableName, EntityColumn entityColumn) {
-        return insertQuery(tableName, entityColumn);
+    //PK 값이 없으면 PK 컬럼을 제외하여 DB 가 생성하게 한다.
+    public PreparedQuery buildQuery(String tableName, EntityColumn entityColumn) {
+        return new PreparedQuery(insertQuery(tableName, entityColumn), entityColumn.getInsertColumnValues());
+    }
+
+    //Entity 클래스별로 미리 만들어둔 SQL 에 값만 바인딩한다.
+    public PreparedQuery buildQuery(EntityData entityData) {
+        return templateQuery(entityData.getClazz(), entityData.getEntityColumn());
+    }
+
+    public PreparedQuery buildQuery(JoinEntityData joinEntityData) {
+        return templateQuery(joinEntityData.getClazz(), joinEntityData.getJoinColumnData());
+    }
+
+    //연속된 같은 Entity 의 insert 들을 VALUES (...), (...) 로 묶는다.
+    //Statement 하나의 row 는 maxRows 개, 바인딩 파라미터는 maxParameters 개를 넘지 않는다.
+    //PK 값이 있는 것과 없는 것은 컬럼이 다르므로 따로 묶는다.
+    public List<PreparedQuery> buildMultiRowQueries(List<EntityData> entityDataList, int maxRows, int maxParameters) {
+        return multiRowQueries(entityDataList.stream().map(EntityData::getClazz).toList(),
+                entityDataList.stream().map(EntityData::getEntityColumn).toList(), maxRows, maxParameters);
+    }
+
+    public List<PreparedQuery> buildJoinMultiRowQueries(List<JoinEntityData> joinEntityDataList, int maxRows, int maxParameters) {
+        return multiRowQueries(joinEntityDataList.stream().<Class<?>>map(JoinEntityData::getClazz).toList(),
+                joinEntityDataList.stream().map(JoinEntityData::getJoinColumnData).toList(), maxRows, maxParameters);
+    }
+
+    private List<PreparedQuery> multiRowQueries(List<Class<?>> classes, List<EntityColumn> entityColumns, int maxRows, int maxParameters) {
+        if (maxRows < 1 || maxParameters < 1) {
+            throw new IllegalArgumentException(INVALID_MULTI_ROW_LIMIT + maxRows + ", " + maxParameters);
+        }
+        List<PreparedQuery> queries = new ArrayList<>();
+        int start = 0;
+        while (start < entityColumns.size()) {
+            Class<?> clazz = classes.get(start);
+            boolean pkEmpty = entityColumns.get(start).isPkEmpty();
+            EntitySqlTemplate template = this.entitySqlTemplates.of(clazz);
+            int rowLimit = Math.max(1, Math.min(maxRows, maxParameters / template.insertColumnCount(pkEmpty)));
+            int end = start;
+            List<Object> parameters = new ArrayList<>();
+            while (end < entityColumns.size() && end - start < rowLimit
+                    && classes.get(end) == clazz && entityColumns.get(end).isPkEmpty() == pkEmpty) {
+                parameters.addAll(entityColumns.get(end).getInsertColumnValues());
+                end++;
+            }
+            queries.add(new PreparedQuery(template.insertSql(pkEmpty, end - start), parameters));
+            start = end;
+        }
+        return queries;
+    }
+
+    private PreparedQuery templateQuery(Class<?> clazz, EntityColumn entityColumn) {
+        return new PreparedQuery(this.entitySqlTemplates.of(clazz).insertSql(entityColumn.isPkEmpty()), entityColumn.getInsertColumnValues());
     }
 
     //insert쿼리문을 생성한다.
     private String insertQuery(String tableName, EntityColumn entityColumn) {
+        return insertQuery(tableName, entityColumn.getInsertColumnNames(), entityColumn.getInsertColumnPlaceholders());
+    }
+
+    static String insertQuery(String tableName, String columnNames, String placeholders) {
         return INSERT_QUERY.replace(TABLE_NAME, tableName)
-                .replace(COLUMN_NAMES, entityColumn.getColumnNames())
-                .replace(VALUES, entityColumn.getColumnValues());
+                .replace(COLUMN_NAMES, columnNames)
+                .replace(VALUES, placeholders);
     }
 
 }
@@ -6,19 +6,30 @@ import builder.dml.QueryBuildUtil;
 
 public class SelectAllQueryBuilder {
 
+    private final EntitySqlTemplates entitySqlTemplates;
+
+    public SelectAllQueryBuilder() {
+        this(new EntitySqlTemplates());
+    }
+
+    public SelectAllQueryBuilder(EntitySqlTemplates entitySqlTemplates) {
+        this.entitySqlTemplates = entitySqlTemplates;
+    }
+
     public String buildQuery(EntityData entityData) {
-        return findAllQuery(entityData);
+        EntitySqlTemplate template = this.entitySqlTemplates.of(entityData.getClazz());
+        return template.matchesJoin(entityData) ? template.selectAllSql() : findAllQuery(entityData);
     }
 
-    //findAll 쿼리문을 생성한다.
-    private String findAllQuery(EntityData entityData) {
+    //findAll 쿼리문을 생성한다. 자식이 없는 Entity 도 조회되도록 LEFT JOIN 한다.
+    static String findAllQuery(EntityData entityData) {
 
         if (entityData.checkJoinAndEager()) {
             JoinEntityData joinEntityData = entityData.getJoinEntity().getJoinEntityData().getFirst();
             return new SelectQueryBuilder()
                     .select(QueryBuildUtil.getColumnNames(entityData))
                     .from(QueryBuildUtil.getTableName(entityData))
-                    .join(QueryBuildUtil.getContainAliasTableName(joinEntityData.getTableName(), joinEntityData.getAlias()))
+                    .leftJoin(QueryBuildUtil.getContainAliasTableName(joinEntityData.getTableName(), joinEntityData.getAlias()))
                     .on(
                             QueryBuildUtil.getContainAliasColumnName(entityData.getPkNm(), entityData.getAlias()),
                             QueryBuildUtil.getContainAliasColumnName(joinEntityData.getJoinColumnName(), joinEntityData.getAlias())
@@ -2,19 +2,59 @@ package builder.dml.builder;
 
 import builder.dml.EntityData;
 import builder.dml.JoinEntityData;
+import builder.dml.PreparedQuery;
 import builder.dml.QueryBuildUtil;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public class SelectByIdQueryBuilder {
 
-    public String buildQuery(EntityData entityData) {
-        return findByIdQuery(entityData);
+    private final static String IN_CONDITION = " IN ({values})";
+    private final static String VALUES = "{values}";
+    private final static String INVALID_MAX_BIND_COUNT = "IN 절의 최대 바인딩 수는 1 이상이어야 합니다. maxBindCount: ";
+
+    private final EntitySqlTemplates entitySqlTemplates;
+
+    public SelectByIdQueryBuilder() {
+        this(new EntitySqlTemplates());
+    }
+
+    public SelectByIdQueryBuilder(EntitySqlTemplates entitySqlTemplates) {
+        this.entitySqlTemplates = entitySqlTemplates;
     }
 
-    public String buildLazyQuery(JoinEntityData joinEntityData) {
-        return findByIdQueryJoin(joinEntityData);
+    public PreparedQuery buildQuery(EntityData entityData) {
+        EntitySqlTemplate template = this.entitySqlTemplates.of(entityData.getClazz());
+        String sql = template.matchesJoin(entityData) ? template.selectByIdSql() : findByIdQuery(entityData);
+        return new PreparedQuery(sql, Collections.singletonList(entityData.getId()));
     }
-    //findAll 쿼리문을 생성한다.
-    private String findByIdQuery(EntityData entityData) {
+
+    //ids 를 maxBindCount 개씩 나눠 WHERE pk IN (...) 조회로 만든다.
+    //IN 절의 ? 는 몇가지 크기로만 맞추고 남는 자리는 마지막 id 로 채워 PreparedStatement 를 재사용할 수 있게 한다.
+    public List<PreparedQuery> buildInQueries(EntityData entityData, List<Object> ids, int maxBindCount) {
+        if (maxBindCount < 1) {
+            throw new IllegalArgumentException(INVALID_MAX_BIND_COUNT + maxBindCount);
+        }
+        EntitySqlTemplate template = this.entitySqlTemplates.of(entityData.getClazz());
+        boolean templateJoin = template.matchesJoin(entityData);
+        List<PreparedQuery> queries = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += maxBindCount) {
+            List<Object> chunk = ids.subList(start, Math.min(start + maxBindCount, ids.size()));
+            int size = QueryBuildUtil.getPaddedInSize(chunk.size(), maxBindCount);
+            String sql = templateJoin ? template.selectByIdsSql(size) : findByIdsQuery(findByIdsQuery(entityData), size);
+            queries.add(new PreparedQuery(sql, QueryBuildUtil.padInValues(chunk, size)));
+        }
+        return queries;
+    }
+
+    public PreparedQuery buildLazyQuery(JoinEntityData joinEntityData) {
+        return new PreparedQuery(findByIdQueryJoin(joinEntityData), Collections.singletonList(joinEntityData.getJoinColumnValue()));
+    }
+
+    //findById 쿼리문을 생성한다.
+    static String findByIdQuery(EntityData entityData) {
 
         if (entityData.checkJoinAndEager()) {
             JoinEntityData joinEntityData = entityData.getJoinEntity().getJoinEntityData().getFirst();
@@ -23,22 +63,48 @@ public class SelectByIdQueryBuilder {
                     .from(QueryBuildUtil.getTableName(entityData))
                     .join(QueryBuildUtil.getContainAliasTableName(joinEntityData.getTableName(), joinEntityData.getAlias()))
                     .on(QueryBuildUtil.getContainAliasColumnName(entityData.getPkNm(), entityData.getAlias()), QueryBuildUtil.getContainAliasColumnName(joinEntityData.getJoinColumnName(), joinEntityData.getAlias()))
-                    .where(QueryBuildUtil.getContainAliasColumnName(entityData.getPkNm(), entityData.getAlias()), String.valueOf(entityData.wrapString()))
+                    .where(QueryBuildUtil.getContainAliasColumnName(entityData.getPkNm(), entityData.getAlias()), QueryBuildUtil.PLACEHOLDER)
+                    .build();
+        }
+
+        return new SelectQueryBuilder()
+                .select(QueryBuildUtil.getColumnNames(entityData))
+                .from(QueryBuildUtil.getTableName(entityData))
+                .where(entityData.getPkNm(), QueryBuildUtil.PLACEHOLDER)
+                .build();
+    }
+
+    //WHERE pk IN ({values}) 쿼리문을 생성한다. {values} 는 findByIdsQuery(String, int) 로 채운다.
+    //자식이 없는 Entity 도 조회되도록 LEFT JOIN 한다.
+    static String findByIdsQuery(EntityData entityData) {
+
+        if (entityData.checkJoinAndEager()) {
+            JoinEntityData joinEntityData = entityData.getJoinEntity().getJoinEntityData().getFirst();
+            return new SelectQueryBuilder()
+                    .select(QueryBuildUtil.getColumnNames(entityData))
+                    .from(QueryBuildUtil.getTableName(entityData))
+                    .leftJoin(QueryBuildUtil.getContainAliasTableName(joinEntityData.getTableName(), joinEntityData.getAlias()))
+                    .on(QueryBuildUtil.getContainAliasColumnName(entityData.getPkNm(), entityData.getAlias()), QueryBuildUtil.getContainAliasColumnName(joinEntityData.getJoinColumnName(), joinEntityData.getAlias()))
+                    .where(QueryBuildUtil.getContainAliasColumnName(entityData.getPkNm(), entityData.getAlias()) + IN_CONDITION)
                     .build();
         }
 
         return new SelectQueryBuilder()
                 .select(QueryBuildUtil.getColumnNames(entityData))
                 .from(QueryBuildUtil.getTableName(entityData))
-                .where(entityData.getPkNm(), String.valueOf(entityData.wrapString()))
+                .where(entityData.getPkNm() + IN_CONDITION)
                 .build();
     }
 
+    static String findByIdsQuery(String findByIdsQuery, int size) {
+        return findByIdsQuery.replace(VALUES, QueryBuildUtil.getPlaceholders(size));
+    }
+
     private String findByIdQueryJoin(JoinEntityData joinEntityData) {
         return new SelectQueryBuilder()
                 .select(QueryBuildUtil.getColumnNames(joinEntityData))
                 .from(QueryBuildUtil.getTableName(joinEntityData))
-                .where(joinEntityData.getJoinColumnName(), String.valueOf(joinEntityData.wrapString()))
+                .where(joinEntityData.getJoinColumnName(), QueryBuildUtil.PLACEHOLDER)
                 .build();
     }
 
@@ -0,0 +1,97 @@
+package builder.dml.builder;
+
+import builder.dml.EntityData;
+import builder.dml.PreparedQuery;
+import builder.dml.QueryBuildUtil;
+
+import java.util.List;
+
+//전체 조회를 페이지 단위로 나누는 SELECT.
+//OFFSET 은 앞 페이지의 row 를 모두 읽고 버리므로 뒤로 갈수록 느려진다.
+//keyset 은 이전 페이지 마지막 row 의 (정렬 컬럼, PK) 보다 큰 row 부터 읽으므로 정렬 컬럼에 인덱스가 있으면 페이지 위치와 상관없이 일정하다.
+public class SelectPageQueryBuilder {
+
+    private final static String INVALID_LIMIT = "페이지 크기는 1 이상이어야 합니다. limit: ";
+    private final static String INVALID_OFFSET = "offset 은 0 이상이어야 합니다. offset: ";
+    private final static String NULL_KEYSET_VALUE = "이전 페이지 마지막 row 의 정렬 컬럼 값은 null 일 수 없습니다. orderColumn: ";
+    private final static String EAGER_JOIN_NOT_SUPPORTED = "EAGER 연관이 있는 Entity 는 페이지로 조회할 수 없습니다. class: ";
+    private final static String COMMA = ", ";
+    private final static String GREATER_THAN = " > ";
+    private final static String KEYSET_CONDITION = "{orderColumn} > ? OR ({orderColumn} = ? AND {pkName} > ?)";
+    private final static String ORDER_COLUMN = "{orderColumn}";
+    private final static String PK_NAME = "{pkName}";
+
+    private final EntitySqlTemplates entitySqlTemplates;
+
+    public SelectPageQueryBuilder() {
+        this(new EntitySqlTemplates());
+    }
+
+    public SelectPageQueryBuilder(EntitySqlTemplates entitySqlTemplates) {
+        this.entitySqlTemplates = entitySqlTemplates;
+    }
+
+    //PK 순서로 offset 번째 row 부터 limit 개를 조회한다.
+    public PreparedQuery buildOffsetQuery(EntityData entityData, int offset, int limit) {
+        validate(entityData, limit);
+        if (offset < 0) {
+            throw new IllegalArgumentException(INVALID_OFFSET + offset);
+        }
+        return new PreparedQuery(this.entitySqlTemplates.of(entityData.getClazz()).selectOffsetSql(), List.of(limit, offset));
+    }
+
+    //orderColumn, PK 순서로 (lastValue, lastId) 다음 row 부터 limit 개를 조회한다. lastId 가 null 이면 첫 페이지이다.
+    //orderColumn 이 PK 이면 PK 만으로 비교한다. null 은 > 로 비교할 수 없으므로 lastValue 는 null 일 수 없다.
+    public PreparedQuery buildKeysetQuery(EntityData entityData, String orderColumn, Object lastValue, Object lastId, int limit) {
+        validate(entityData, limit);
+        String sql = this.entitySqlTemplates.of(entityData.getClazz()).selectKeysetSql(orderColumn, lastId != null);
+        if (lastId == null) {
+            return new PreparedQuery(sql, List.of(limit));
+        }
+        if (orderColumn.equals(entityData.getPkNm())) {
+            return new PreparedQuery(sql, List.of(lastId, limit));
+        }
+        if (lastValue == null) {
+            throw new IllegalArgumentException(NULL_KEYSET_VALUE + orderColumn);
+        }
+        return new PreparedQuery(sql, List.of(lastValue, lastValue, lastId, limit));
+    }
+
+    private void validate(EntityData entityData, int limit) {
+        if (entityData.checkJoinAndEager()) {
+            throw new IllegalArgumentException(EAGER_JOIN_NOT_SUPPORTED + entityData.getClazz().getName());
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException(INVALID_LIMIT + limit);
+        }
+    }
+
+    //offset 페이지 쿼리문을 생성한다.
+    static String offsetQuery(String tableName, String columnNames, String pkName) {
+        return new SelectQueryBuilder()
+                .select(columnNames)
+                .from(tableName)
+                .orderBy(pkName)
+                .limit(QueryBuildUtil.PLACEHOLDER)
+                .offset(QueryBuildUtil.PLACEHOLDER)
+                .build();
+    }
+
+    //keyset 페이지 쿼리문을 생성한다. 정렬 컬럼 값이 같은 row 는 PK 로 순서를 정한다.
+    static String keysetQuery(String tableName, String columnNames, String pkName, String orderColumn, boolean after) {
+        boolean pkOrder = orderColumn.equals(pkName);
+        SelectQueryBuilder selectQueryBuilder = new SelectQueryBuilder()
+                .select(columnNames)
+                .from(tableName);
+        if (after) {
+            selectQueryBuilder.where(pkOrder
+                    ? pkName + GREATER_THAN + QueryBuildUtil.PLACEHOLDER
+                    : KEYSET_CONDITION.replace(ORDER_COLUMN, orderColumn).replace(PK_NAME, pkName));
+        }
+        return selectQueryBuilder
+                .orderBy(pkOrder ? pkName : orderColumn + COMMA + pkName)
+                .limit(QueryBuildUtil.PLACEHOLDER)
+                .build();
+    }
+
+}
@@ -8,7 +8,11 @@ public class SelectQueryBuilder {
     private static final String WHERE = "WHERE";
     private static final String EQUALS = "=";
     private static final String JOIN = "JOIN";
+    private static final String LEFT_JOIN = "LEFT JOIN";
     private static final String ON = "ON";
+    private static final String ORDER_BY = "ORDER BY";
+    private static final String LIMIT = "LIMIT";
+    private static final String OFFSET = "OFFSET";
     private static final String SEMI_COLON = ";";
 
     private final StringBuilder stringBuilder = new StringBuilder();
@@ -45,6 +49,46 @@ public class SelectQueryBuilder {
         return this;
     }
 
+    public SelectQueryBuilder where(String condition) {
+        stringBuilder
+                .append(BLANK)
+                .append(WHERE)
+                .append(BLANK)
+                .append(condition);
+
+        return this;
+    }
+
+    public SelectQueryBuilder orderBy(String columns) {
+        stringBuilder
+                .append(BLANK)
+                .append(ORDER_BY)
+                .append(BLANK)
+                .append(columns);
+
+        return this;
+    }
+
+    public SelectQueryBuilder limit(String limit) {
+        stringBuilder
+                .append(BLANK)
+                .append(LIMIT)
+                .append(BLANK)
+                .append(limit);
+
+        return this;
+    }
+
+    public SelectQueryBuilder offset(String offset) {
+        stringBuilder
+                .append(BLANK)
+                .append(OFFSET)
+                .append(BLANK)
+                .append(offset);
+
+        return this;
+    }
+
     public SelectQueryBuilder join(String joinTableName) {
         stringBuilder
                 .append(BLANK)
@@ -55,6 +99,17 @@ public class SelectQueryBuilder {
         return this;
     }
 
+    //연관된 row 가 없는 row 도 조회 결과에 남긴다.
+    public SelectQueryBuilder leftJoin(String joinTableName) {
+        stringBuilder
+                .append(BLANK)
+                .append(LEFT_JOIN)
+                .append(BLANK)
+                .append(joinTableName);
+
+        return this;
+    }
+
     public SelectQueryBuilder on(String mainPk, String joinPk) {
         stringBuilder
                 .append(BLANK)
@@ -1,6 +1,12 @@
 package builder.dml.builder;
 
+import builder.dml.EntityColumn;
 import builder.dml.EntityData;
+import builder.dml.PreparedQuery;
+import builder.dml.QueryBuildUtil;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class UpdateQueryBuilder {
 
@@ -9,17 +15,54 @@ public class UpdateQueryBuilder {
     private final static String VALUES = "{values}";
     private final static String ENTITY_PK_NAME = "{entityPkName}";
     private final static String COLUMN_DEFINITIONS = "{columnDefinitions}";
+    public final static int DEFAULT_MAX_DIRTY_SHAPES = 64;
+
+    private final EntitySqlTemplates entitySqlTemplates;
+
+    public UpdateQueryBuilder() {
+        this(new EntitySqlTemplates());
+    }
+
+    public UpdateQueryBuilder(EntitySqlTemplates entitySqlTemplates) {
+        this.entitySqlTemplates = entitySqlTemplates;
+    }
 
-    public String buildQuery(EntityData EntityData) {
-        return updateByIdQuery(EntityData);
+    public PreparedQuery buildQuery(EntityData EntityData) {
+        return buildQuery(EntityData, DEFAULT_MAX_DIRTY_SHAPES, false);
+    }
+
+    //변경된 컬럼 조합(dirty mask)별로 SQL 을 캐시하여, 바뀐 컬럼만 수정하면서도 SQL 종류가 늘어나지 않게 한다.
+    //Entity 별 조합이 maxShapes 개를 넘으면 fullRowFallback 이 true 일 때 전체 컬럼을 수정하고, false 이면 캐시하지 않고 SQL 을 만든다.
+    public PreparedQuery buildQuery(EntityData EntityData, int maxShapes, boolean fullRowFallback) {
+        EntitySqlTemplate template = this.entitySqlTemplates.of(EntityData.getClazz());
+        long dirtyMask = template.dirtyMask(EntityData.getEntityColumn());
+        String sql = dirtyMask == EntitySqlTemplate.NO_MASK ? null : template.updateSql(dirtyMask, maxShapes);
+        if (sql != null) {
+            return new PreparedQuery(sql, updateParameters(EntityData.getEntityColumn(), EntityData.getId()));
+        }
+        if (fullRowFallback && EntityData.getEntityInstance() != null) {
+            EntityColumn fullColumn = new EntityColumn(EntityData.getEntityInstance(), EntityData.getClazz());
+            return new PreparedQuery(template.updateSql(), updateParameters(fullColumn, EntityData.getId()));
+        }
+        return new PreparedQuery(updateByIdQuery(EntityData), updateParameters(EntityData.getEntityColumn(), EntityData.getId()));
     }
 
     //update 쿼리를 생성한다.
     private String updateByIdQuery(EntityData EntityData) {
-        // 최종 SQL 쿼리 생성
-        return UPDATE_BY_ID_QUERY.replace(TABLE_NAME, EntityData.getTableName())
-                .replace(COLUMN_DEFINITIONS, EntityData.getColumnDefinitions())
-                .replace(ENTITY_PK_NAME, EntityData.getPkNm())
-                .replace(VALUES, String.valueOf(EntityData.wrapString()));
+        return updateByIdQuery(EntityData.getTableName(), EntityData.getColumnDefinitions(), EntityData.getPkNm());
+    }
+
+    static String updateByIdQuery(String tableName, String columnDefinitions, String pkName) {
+        return UPDATE_BY_ID_QUERY.replace(TABLE_NAME, tableName)
+                .replace(COLUMN_DEFINITIONS, columnDefinitions)
+                .replace(ENTITY_PK_NAME, pkName)
+                .replace(VALUES, QueryBuildUtil.PLACEHOLDER);
+    }
+
+    //SET 절의 값들 뒤에 PK 값을 붙여 바인딩 순서를 맞춘다.
+    private List<Object> updateParameters(EntityColumn entityColumn, Object id) {
+        List<Object> parameters = new ArrayList<>(entityColumn.getNonPkColumnValues());
+        parameters.add(id);
+        return parameters;
     }
 }
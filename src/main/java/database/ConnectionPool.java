@@ -0,0 +1,225 @@
+package database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+//최대 크기가 고정된 커넥션 풀
+//대여 가능한 개수는 Semaphore 로, 쉬고 있는 커넥션은 lock-free Deque 로 관리한다.
+public class ConnectionPool implements ConnectionProvider, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private static final String CLOSED_POOL = "이미 종료된 커넥션 풀입니다.";
+    private static final String ACQUIRE_TIMEOUT = "커넥션을 가져오는데 시간이 초과되었습니다. timeout(ms): ";
+    private static final String ACQUIRE_INTERRUPTED = "커넥션을 기다리는 중 인터럽트가 발생했습니다.";
+    private static final String NOT_BORROWED_CONNECTION = "풀에서 대여한 커넥션이 아닙니다.";
+    private static final String LEAK_DETECTED = "커넥션이 반납되지 않고 있습니다. 누수가 의심됩니다. 대여시간(ms): {}";
+    private static final long VALIDATION_SKIP_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final DatabaseServer databaseServer;
+    private final ConnectionPoolProperties properties;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PooledConnection> idleConnections = new ConcurrentLinkedDeque<>();
+    private final Map<Connection, PooledConnection> borrowedConnections = new ConcurrentHashMap<>();
+    private final List<Consumer<Connection>> evictionListeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService leakDetector;
+    private volatile boolean closed;
+
+    public ConnectionPool(final DatabaseServer databaseServer, final ConnectionPoolProperties properties) {
+        this.databaseServer = databaseServer;
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getMaxSize());
+        this.leakDetector = createLeakDetector(properties);
+        prefill();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException(CLOSED_POOL);
+        }
+        acquirePermit();
+        try {
+            final PooledConnection pooledConnection = takeIdleOrCreate();
+            pooledConnection.markBorrowed(properties.isLeakDetectionEnabled() ? new Throwable() : null);
+            borrowedConnections.put(pooledConnection.getConnection(), pooledConnection);
+            return pooledConnection.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void releaseConnection(final Connection connection) {
+        final PooledConnection pooledConnection = borrowedConnections.remove(connection);
+        if (pooledConnection == null) {
+            throw new IllegalArgumentException(NOT_BORROWED_CONNECTION);
+        }
+        pooledConnection.markReturned();
+        if (closed || !resetState(connection)) {
+            evict(pooledConnection);
+        } else {
+            idleConnections.offerFirst(pooledConnection);
+        }
+        permits.release();
+    }
+
+    @Override
+    public void addEvictionListener(final Consumer<Connection> listener) {
+        evictionListeners.add(listener);
+    }
+
+    //쉬고 있는 커넥션을 모두 닫는다. 대여중인 커넥션은 반납될 때 닫힌다.
+    @Override
+    public void close() {
+        closed = true;
+        if (leakDetector != null) {
+            leakDetector.shutdownNow();
+        }
+        PooledConnection pooledConnection;
+        while ((pooledConnection = idleConnections.pollFirst()) != null) {
+            evict(pooledConnection);
+        }
+    }
+
+    @Override
+    public int getMaxConnections() {
+        return properties.getMaxSize();
+    }
+
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    public int getIdleConnections() {
+        return idleConnections.size();
+    }
+
+    public int getActiveConnections() {
+        return borrowedConnections.size();
+    }
+
+    private void prefill() {
+        try {
+            for (int i = 0; i < properties.getPrefillSize(); i++) {
+                idleConnections.offerLast(createPooledConnection());
+            }
+        } catch (SQLException e) {
+            close();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!permits.tryAcquire(properties.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException(ACQUIRE_TIMEOUT + properties.getAcquireTimeoutMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(ACQUIRE_INTERRUPTED, e);
+        }
+    }
+
+    //permit 을 가진 상태에서만 호출되므로 새로 만들어도 maxSize 를 넘지 않는다.
+    private PooledConnection takeIdleOrCreate() throws SQLException {
+        PooledConnection pooledConnection;
+        while ((pooledConnection = idleConnections.pollFirst()) != null) {
+            if (isValid(pooledConnection)) {
+                return pooledConnection;
+            }
+            evict(pooledConnection);
+        }
+        return createPooledConnection();
+    }
+
+    private PooledConnection createPooledConnection() throws SQLException {
+        final PooledConnection pooledConnection = new PooledConnection(databaseServer.getConnection());
+        totalConnections.incrementAndGet();
+        return pooledConnection;
+    }
+
+    //최근에 사용된 커넥션은 검증을 생략한다.
+    private boolean isValid(final PooledConnection pooledConnection) {
+        try {
+            final Connection connection = pooledConnection.getConnection();
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (System.nanoTime() - pooledConnection.getLastUsedNanos() < VALIDATION_SKIP_NANOS) {
+                return true;
+            }
+            return connection.isValid(properties.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    //반납된 커넥션의 트랜잭션 상태를 초기화한다.
+    private boolean resetState(final Connection connection) {
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void evict(final PooledConnection pooledConnection) {
+        final Connection connection = pooledConnection.getConnection();
+        totalConnections.decrementAndGet();
+        evictionListeners.forEach(listener -> listener.accept(connection));
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.warn("Failed to close pooled connection", e);
+        }
+    }
+
+    private ScheduledExecutorService createLeakDetector(final ConnectionPoolProperties properties) {
+        if (!properties.isLeakDetectionEnabled()) {
+            return null;
+        }
+        final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "connection-pool-leak-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long period = Math.max(1, properties.getLeakDetectionThresholdMillis() / 2);
+        executorService.scheduleAtFixedRate(this::detectLeaks, period, period, TimeUnit.MILLISECONDS);
+        return executorService;
+    }
+
+    private void detectLeaks() {
+        final long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getLeakDetectionThresholdMillis());
+        final long now = System.nanoTime();
+        for (final PooledConnection pooledConnection : borrowedConnections.values()) {
+            final long borrowedNanos = now - pooledConnection.getBorrowedAtNanos();
+            if (borrowedNanos > thresholdNanos && pooledConnection.reportLeak()) {
+                logger.warn(LEAK_DETECTED, TimeUnit.NANOSECONDS.toMillis(borrowedNanos), pooledConnection.getBorrowStackTrace());
+            }
+        }
+    }
+}
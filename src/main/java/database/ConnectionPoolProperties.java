@@ -0,0 +1,52 @@
+package database;
+
+public class ConnectionPoolProperties {
+
+    private static final String INVALID_MAX_SIZE = "maxSize는 1 이상이어야 합니다.";
+    private static final String INVALID_PREFILL_SIZE = "prefillSize는 0 이상 maxSize 이하여야 합니다.";
+
+    private final int maxSize;
+    private final int prefillSize;
+    private final long acquireTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final long leakDetectionThresholdMillis;
+
+    public ConnectionPoolProperties(final int maxSize, final int prefillSize, final long acquireTimeoutMillis,
+                                    final int validationTimeoutSeconds, final long leakDetectionThresholdMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException(INVALID_MAX_SIZE);
+        }
+        if (prefillSize < 0 || prefillSize > maxSize) {
+            throw new IllegalArgumentException(INVALID_PREFILL_SIZE);
+        }
+        this.maxSize = maxSize;
+        this.prefillSize = prefillSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getPrefillSize() {
+        return prefillSize;
+    }
+
+    public long getAcquireTimeoutMillis() {
+        return acquireTimeoutMillis;
+    }
+
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    public long getLeakDetectionThresholdMillis() {
+        return leakDetectionThresholdMillis;
+    }
+
+    public boolean isLeakDetectionEnabled() {
+        return leakDetectionThresholdMillis > 0;
+    }
+}
@@ -0,0 +1,29 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+public interface ConnectionProvider {
+
+    Connection getConnection() throws SQLException;
+
+    void releaseConnection(Connection connection);
+
+    //트랜잭션에 쓸 커넥션을 빌린다. releaseTransactionConnection 전까지 다른 호출자와 공유하지 않는다.
+    //풀처럼 빌려준 커넥션을 공유하지 않는 구현은 getConnection 과 같다.
+    default Connection getTransactionConnection() throws SQLException {
+        return getConnection();
+    }
+
+    default void releaseTransactionConnection(Connection connection) {
+        releaseConnection(connection);
+    }
+
+    //동시에 빌려줄 수 있는 최대 커넥션 수
+    int getMaxConnections();
+
+    //물리 커넥션이 닫혀 더이상 사용되지 않을 때 호출될 리스너를 등록한다.
+    default void addEvictionListener(Consumer<Connection> listener) {
+    }
+}
@@ -6,6 +6,7 @@ import java.sql.SQLException;
 
 public class H2DBConnection {
     private final DatabaseServer server;
+    private ConnectionPool connectionPool;
 
     public H2DBConnection() {
         try {
@@ -24,7 +25,21 @@ public class H2DBConnection {
         }
     }
 
+    //커넥션 풀을 생성하여 작업마다 커넥션을 빌려쓰는 JdbcTemplate 을 돌려준다.
+    public JdbcTemplate start(ConnectionPoolProperties connectionPoolProperties) {
+        try {
+            server.start();
+            this.connectionPool = new ConnectionPool(server, connectionPoolProperties);
+            return new JdbcTemplate(connectionPool);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public void stop() {
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
         server.stop();
     }
 }
@@ -0,0 +1,54 @@
+package database;
+
+import java.sql.Connection;
+
+//풀이 관리하는 물리 커넥션과 대여 상태
+class PooledConnection {
+
+    private final Connection connection;
+    private volatile long lastUsedNanos;
+    private volatile long borrowedAtNanos;
+    private volatile Throwable borrowStackTrace;
+    private volatile boolean leakReported;
+
+    PooledConnection(Connection connection) {
+        this.connection = connection;
+        this.lastUsedNanos = System.nanoTime();
+    }
+
+    void markBorrowed(Throwable borrowStackTrace) {
+        this.borrowedAtNanos = System.nanoTime();
+        this.borrowStackTrace = borrowStackTrace;
+        this.leakReported = false;
+    }
+
+    void markReturned() {
+        this.lastUsedNanos = System.nanoTime();
+        this.borrowStackTrace = null;
+    }
+
+    //누수로 한번만 보고되도록 처음 호출된 경우에만 true 를 돌려준다.
+    boolean reportLeak() {
+        if (leakReported) {
+            return false;
+        }
+        leakReported = true;
+        return true;
+    }
+
+    Connection getConnection() {
+        return connection;
+    }
+
+    long getLastUsedNanos() {
+        return lastUsedNanos;
+    }
+
+    long getBorrowedAtNanos() {
+        return borrowedAtNanos;
+    }
+
+    Throwable getBorrowStackTrace() {
+        return borrowStackTrace;
+    }
+}
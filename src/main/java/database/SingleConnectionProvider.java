@@ -0,0 +1,106 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+//하나의 커넥션을 모든 호출자가 공유한다.
+//트랜잭션이 커넥션을 빌리면 트랜잭션이 끝날때까지 다른 호출자는 기다린다. 공유된 채로 autoCommit 을 끄면 다른 호출자의 Statement 가 트랜잭션에 섞이기 때문이다.
+public class SingleConnectionProvider implements ConnectionProvider {
+
+    private static final long DEFAULT_ACQUIRE_TIMEOUT_MILLIS = 30_000;
+    private static final String ACQUIRE_TIMEOUT = "커넥션을 가져오는데 시간이 초과되었습니다. timeout(ms): ";
+    private static final String ACQUIRE_INTERRUPTED = "커넥션을 기다리는 중 인터럽트가 발생했습니다.";
+
+    private final Connection connection;
+    private final long acquireTimeoutMillis;
+    //가상 스레드가 기다리는 동안 캐리어 스레드를 붙잡지 않도록 synchronized 대신 ReentrantLock 을 쓴다.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = this.lock.newCondition();
+    private int sharedCount;
+    private boolean transactional;
+
+    public SingleConnectionProvider(Connection connection) {
+        this(connection, DEFAULT_ACQUIRE_TIMEOUT_MILLIS);
+    }
+
+    public SingleConnectionProvider(Connection connection, long acquireTimeoutMillis) {
+        this.connection = connection;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    //트랜잭션이 사용중이면 끝날때까지 기다린다.
+    @Override
+    public Connection getConnection() throws SQLException {
+        this.lock.lock();
+        try {
+            awaitUntil(() -> !this.transactional);
+            this.sharedCount++;
+            return this.connection;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void releaseConnection(Connection connection) {
+        this.lock.lock();
+        try {
+            if (this.sharedCount > 0) {
+                this.sharedCount--;
+            }
+            this.released.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    //공유중인 Statement 가 모두 끝나고 다른 트랜잭션이 없을때 빌려준다.
+    @Override
+    public Connection getTransactionConnection() throws SQLException {
+        this.lock.lock();
+        try {
+            awaitUntil(() -> !this.transactional && this.sharedCount == 0);
+            this.transactional = true;
+            return this.connection;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void releaseTransactionConnection(Connection connection) {
+        this.lock.lock();
+        try {
+            this.transactional = false;
+            this.released.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int getMaxConnections() {
+        return 1;
+    }
+
+    //lock 을 잡은 상태에서 호출한다.
+    private void awaitUntil(BooleanSupplier condition) throws SQLException {
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(this.acquireTimeoutMillis);
+        try {
+            while (!condition.getAsBoolean()) {
+                if (remainingNanos <= 0) {
+                    throw new SQLTimeoutException(ACQUIRE_TIMEOUT + this.acquireTimeoutMillis);
+                }
+                remainingNanos = this.released.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(ACQUIRE_INTERRUPTED, e);
+        }
+    }
+}
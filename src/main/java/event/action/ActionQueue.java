@@ -1,6 +1,11 @@
 package event.action;
 
+import builder.dml.EntityData;
+import persistence.EntityPersister;
+
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 
 public class ActionQueue {
@@ -26,21 +31,44 @@ public class ActionQueue {
         deleteActionExecute();
     }
 
+    public boolean isEmpty() {
+        return entityPersistActions.isEmpty() && entityMergeActions.isEmpty() && entityDeleteActions.isEmpty();
+    }
+
+    //실행하지 않은 동작들을 모두 버린다.
+    public void clear() {
+        entityPersistActions.clear();
+        entityMergeActions.clear();
+        entityDeleteActions.clear();
+    }
+
     private void persistActionExecute() {
         while (!entityPersistActions.isEmpty()) {
-            entityPersistActions.poll().execute();
+            EntityPersister entityPersister = entityPersistActions.peek().getEntityPersister();
+            entityPersister.persistAll(pollSamePersister(entityPersistActions, entityPersister));
         }
     }
 
     private void mergeActionExecute() {
         while (!entityMergeActions.isEmpty()) {
-            entityMergeActions.poll().execute();
+            EntityPersister entityPersister = entityMergeActions.peek().getEntityPersister();
+            entityPersister.mergeAll(pollSamePersister(entityMergeActions, entityPersister));
         }
     }
 
     private void deleteActionExecute() {
         while (!entityDeleteActions.isEmpty()) {
-            entityDeleteActions.poll().execute();
+            EntityPersister entityPersister = entityDeleteActions.peek().getEntityPersister();
+            entityPersister.removeAll(pollSamePersister(entityDeleteActions, entityPersister));
+        }
+    }
+
+    //같은 Persister 로 처리할 연속된 동작들을 꺼내 한번에 배치로 실행할 수 있게 한다.
+    private static List<EntityData> pollSamePersister(Queue<? extends EntityAction> actions, EntityPersister entityPersister) {
+        List<EntityData> entityDataList = new ArrayList<>();
+        while (!actions.isEmpty() && actions.peek().getEntityPersister() == entityPersister) {
+            entityDataList.add(actions.poll().getEntityData());
         }
+        return entityDataList;
     }
 }
@@ -1,7 +1,14 @@
 package event.action;
 
+import builder.dml.EntityData;
+import persistence.EntityPersister;
+
 public interface EntityAction {
 
     void execute();
 
+    EntityData getEntityData();
+
+    EntityPersister getEntityPersister();
+
 }
@@ -17,4 +17,14 @@ public class EntityDeleteAction implements EntityAction{
     public void execute() {
         this.entityPersister.remove(entityData);
     }
+
+    @Override
+    public EntityData getEntityData() {
+        return entityData;
+    }
+
+    @Override
+    public EntityPersister getEntityPersister() {
+        return entityPersister;
+    }
 }
@@ -17,4 +17,14 @@ public class EntityMergeAction implements EntityAction{
     public void execute() {
         this.entityPersister.merge(entityData);
     }
+
+    @Override
+    public EntityData getEntityData() {
+        return entityData;
+    }
+
+    @Override
+    public EntityPersister getEntityPersister() {
+        return entityPersister;
+    }
 }
@@ -17,4 +17,14 @@ public class EntityPersistAction implements EntityAction{
     public void execute() {
         this.entityPersister.persist(entityData);
     }
+
+    @Override
+    public EntityData getEntityData() {
+        return entityData;
+    }
+
+    @Override
+    public EntityPersister getEntityPersister() {
+        return entityPersister;
+    }
 }
@@ -18,6 +18,11 @@ public class PersistEventListenerImpl implements PersistEventListener {
 
     @Override
     public void onPersist(EntityData entityData) {
+        //IDENTITY 전략으로 PK 가 없으면 id 를 알기 위해 flush 를 기다리지 않고 바로 insert 한다.
+        if (entityData.getEntityColumn().isPkEmpty()) {
+            this.metamodel.entityPersister().persist(entityData);
+            return;
+        }
         this.actionQueue.addAction(new EntityPersistAction(entityData, this.metamodel.entityPersister()));
     }
 
@@ -1,6 +1,7 @@
 package hibernate;
 
 import jdbc.JdbcTemplate;
+import jdbc.stat.Statistics;
 import persistence.EntityManager;
 
 public interface EntityManagerFactory {
@@ -11,4 +12,8 @@ public interface EntityManagerFactory {
 
     JdbcTemplate getJdbcTemplate();
 
+    Statistics getStatistics();
+
+    void close();
+
 }
@@ -3,9 +3,12 @@ package hibernate;
 import boot.Metamodel;
 import boot.MetamodelImpl;
 import builder.dml.builder.DMLQueryBuilder;
+import database.ConnectionPool;
+import database.DatabaseServer;
 import event.EventListenerRegistry;
 import event.action.ActionQueue;
 import jdbc.JdbcTemplate;
+import jdbc.stat.Statistics;
 import persistence.*;
 
 public class EntityManagerFactoryImpl implements EntityManagerFactory {
@@ -14,13 +17,46 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory {
     private final JdbcTemplate jdbcTemplate;
     private final Metamodel metamodel;
     private final DMLQueryBuilder dmlQueryBuilder;
+    private final Settings settings;
+    private final ConnectionPool connectionPool;
+    private final boolean jdbcTemplateOwner;
 
     public EntityManagerFactoryImpl(CurrentSessionContext currentSessionContext, JdbcTemplate jdbcTemplate, DMLQueryBuilder dmlQueryBuilder) {
+        this(currentSessionContext, jdbcTemplate, dmlQueryBuilder, Settings.createDefaultSettings());
+    }
+
+    //외부에서 받은 JdbcTemplate 은 설정값을 적용하지 않고 그대로 쓰며, 팩토리를 닫아도 닫지 않는다.
+    public EntityManagerFactoryImpl(CurrentSessionContext currentSessionContext, JdbcTemplate jdbcTemplate, DMLQueryBuilder dmlQueryBuilder, Settings settings) {
+        this(currentSessionContext, jdbcTemplate, null, dmlQueryBuilder, settings);
+    }
+
+    //설정값으로 커넥션 풀을 생성하여 세션들이 작업마다 커넥션을 빌려쓰도록 한다.
+    public EntityManagerFactoryImpl(CurrentSessionContext currentSessionContext, DatabaseServer databaseServer, DMLQueryBuilder dmlQueryBuilder, Settings settings) {
+        this(currentSessionContext, new ConnectionPool(databaseServer, settings.getConnectionPoolProperties()), dmlQueryBuilder, settings);
+    }
+
+    private EntityManagerFactoryImpl(CurrentSessionContext currentSessionContext, ConnectionPool connectionPool, DMLQueryBuilder dmlQueryBuilder, Settings settings) {
+        this(currentSessionContext, new JdbcTemplate(connectionPool), connectionPool, dmlQueryBuilder, settings);
+    }
+
+    private EntityManagerFactoryImpl(CurrentSessionContext currentSessionContext, JdbcTemplate jdbcTemplate, ConnectionPool connectionPool, DMLQueryBuilder dmlQueryBuilder, Settings settings) {
         this.currentSessionContext = currentSessionContext;
         this.jdbcTemplate = jdbcTemplate;
+        this.connectionPool = connectionPool;
+        this.jdbcTemplateOwner = connectionPool != null;
+        this.settings = settings;
+        if (this.jdbcTemplateOwner) {
+            configureJdbcTemplate();
+        }
 
         this.metamodel = new MetamodelImpl(this.jdbcTemplate);
         this.metamodel.init();
+        this.metamodel.entityLoader().setParallelDecodeChunkSize(settings.getParallelDecodeChunkSize());
+        this.metamodel.entityLoader().setMultiLoadBatchSize(settings.getMultiLoadBatchSize());
+        this.metamodel.entityPersister().setMultiRowInsertLimit(settings.getMultiRowInsertSize(), settings.getMultiRowInsertMaxParameters());
+        this.metamodel.entityPersister().setDeleteInBatchSize(settings.getDeleteInBatchSize());
+        this.metamodel.entityPersister().setUpdateShapeLimit(settings.getUpdateShapeLimit(), settings.isUpdateFullRowFallback());
+        this.metamodel.collectionPersister().setMultiRowInsertLimit(settings.getMultiRowInsertSize(), settings.getMultiRowInsertMaxParameters());
 
         this.dmlQueryBuilder = dmlQueryBuilder;
     }
@@ -44,13 +80,38 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory {
         return this.jdbcTemplate;
     }
 
+    @Override
+    public Statistics getStatistics() {
+        return this.jdbcTemplate.getStatistics();
+    }
+
+    //팩토리가 생성한 JdbcTemplate 과 커넥션 풀만 닫는다. 외부에서 받은 JdbcTemplate 은 호출한 쪽이 닫는다.
+    @Override
+    public void close() {
+        if (!this.jdbcTemplateOwner) {
+            return;
+        }
+        this.jdbcTemplate.close();
+        this.connectionPool.close();
+    }
+
+    //팩토리가 생성한 JdbcTemplate 에만 설정값을 적용한다. 외부에서 받은 JdbcTemplate 의 설정은 바꾸지 않는다.
+    private void configureJdbcTemplate() {
+        this.jdbcTemplate.setStatementCacheSize(this.settings.getStatementCacheSize());
+        this.jdbcTemplate.setBatchSize(this.settings.getBatchSize());
+        this.jdbcTemplate.setQueryTimeout(this.settings.getQueryTimeout());
+        this.jdbcTemplate.getStatistics().setEnabled(this.settings.isStatisticsEnabled());
+        this.jdbcTemplate.getSlowQueryLog().setThreshold(this.settings.getSlowQueryThreshold());
+    }
+
     private EntityManager createEntityManager() {
         ActionQueue actionQueue = new ActionQueue();
         return new EntityManagerImpl(
                 createPersistenceContext(),
                 metamodel,
-                EventListenerRegistry.createEventListenerRegistry(metamodel, new EntityLoader(jdbcTemplate, dmlQueryBuilder), actionQueue),
-                actionQueue
+                EventListenerRegistry.createEventListenerRegistry(metamodel, metamodel.entityLoader(), actionQueue),
+                actionQueue,
+                settings.getFlushTimeout()
         );
     }
 
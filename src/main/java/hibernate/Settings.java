@@ -0,0 +1,150 @@
+package hibernate;
+
+import builder.dml.builder.UpdateQueryBuilder;
+import database.ConnectionPoolProperties;
+import jdbc.JdbcTemplate;
+import jdbc.StatementCache;
+import persistence.EntityLoader;
+
+import java.time.Duration;
+import java.util.Properties;
+
+public class Settings {
+
+    public static final String STATEMENT_CACHE_SIZE = "hibernate.jdbc.statement_cache_size";
+    public static final String BATCH_SIZE = "hibernate.jdbc.batch_size";
+    public static final String PARALLEL_DECODE_CHUNK_SIZE = "hibernate.jdbc.parallel_decode_chunk_size";
+    public static final String MULTI_ROW_INSERT_SIZE = "hibernate.jdbc.multi_row_insert_size";
+    public static final String MULTI_ROW_INSERT_MAX_PARAMETERS = "hibernate.jdbc.multi_row_insert_max_parameters";
+    public static final String DELETE_IN_BATCH_SIZE = "hibernate.jdbc.delete_in_batch_size";
+    public static final String UPDATE_SHAPE_LIMIT = "hibernate.jdbc.update_shape_limit";
+    public static final String UPDATE_FULL_ROW_FALLBACK = "hibernate.jdbc.update_full_row_fallback";
+    public static final String MULTI_LOAD_BATCH_SIZE = "hibernate.jdbc.multi_load_batch_size";
+    public static final String QUERY_TIMEOUT = "hibernate.jdbc.query_timeout";
+    public static final String FLUSH_TIMEOUT = "hibernate.flush_timeout";
+    public static final String SLOW_QUERY_THRESHOLD = "hibernate.slow_query_threshold";
+    public static final String GENERATE_STATISTICS = "hibernate.generate_statistics";
+    public static final String POOL_SIZE = "hibernate.connection.pool_size";
+    public static final String POOL_PREFILL_SIZE = "hibernate.connection.pool_prefill_size";
+    public static final String POOL_ACQUIRE_TIMEOUT = "hibernate.connection.acquire_timeout";
+    public static final String POOL_VALIDATION_TIMEOUT = "hibernate.connection.validation_timeout";
+    public static final String POOL_LEAK_DETECTION_THRESHOLD = "hibernate.connection.leak_detection_threshold";
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final long DEFAULT_ACQUIRE_TIMEOUT_MILLIS = 30_000;
+    private static final int DEFAULT_VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final int DEFAULT_MULTI_ROW_INSERT_MAX_PARAMETERS = 1_000;
+
+    private static final String NOT_NUMBER_SETTING = "숫자 형식의 설정값이 아닙니다. key: ";
+
+    private final Properties properties;
+
+    public Settings(Properties properties) {
+        this.properties = properties;
+    }
+
+    public static Settings createDefaultSettings() {
+        return new Settings(new Properties());
+    }
+
+    //Connection 별로 캐시할 PreparedStatement 의 최대 개수
+    public int getStatementCacheSize() {
+        return getInt(STATEMENT_CACHE_SIZE, StatementCache.DEFAULT_MAX_SIZE);
+    }
+
+    //flush 시 한번의 executeBatch 로 보낼 최대 Statement 개수
+    public int getBatchSize() {
+        return getInt(BATCH_SIZE, JdbcTemplate.DEFAULT_BATCH_SIZE);
+    }
+
+    //전체 조회 결과를 이 row 수 단위로 나눠 여러 스레드에서 Entity 로 만든다. 0 이면 조회 스레드 하나로 만든다.
+    public int getParallelDecodeChunkSize() {
+        return getInt(PARALLEL_DECODE_CHUNK_SIZE, 0);
+    }
+
+    //flush 시 연속된 같은 Entity 의 insert 를 이 row 수까지 한 Statement 로 묶는다. 1 이하이면 묶지 않는다.
+    public int getMultiRowInsertSize() {
+        return getInt(MULTI_ROW_INSERT_SIZE, 0);
+    }
+
+    //multi row insert 한 Statement 의 최대 바인딩 파라미터 수
+    public int getMultiRowInsertMaxParameters() {
+        return getInt(MULTI_ROW_INSERT_MAX_PARAMETERS, DEFAULT_MULTI_ROW_INSERT_MAX_PARAMETERS);
+    }
+
+    //flush 시 같은 Entity 의 delete 를 이 개수까지 WHERE pk IN (...) 하나로 묶는다. 1 이하이면 묶지 않는다.
+    public int getDeleteInBatchSize() {
+        return getInt(DELETE_IN_BATCH_SIZE, 0);
+    }
+
+    //Entity 별로 캐시할 UPDATE SQL(변경된 컬럼 조합)의 최대 개수
+    public int getUpdateShapeLimit() {
+        return getInt(UPDATE_SHAPE_LIMIT, UpdateQueryBuilder.DEFAULT_MAX_DIRTY_SHAPES);
+    }
+
+    //UPDATE SQL 조합이 update_shape_limit 를 넘으면 전체 컬럼을 수정할지 여부
+    public boolean isUpdateFullRowFallback() {
+        return Boolean.parseBoolean(properties.getProperty(UPDATE_FULL_ROW_FALLBACK, Boolean.FALSE.toString()));
+    }
+
+    //findMultiple 이 WHERE pk IN (...) 한번에 조회할 최대 id 수
+    public int getMultiLoadBatchSize() {
+        return getInt(MULTI_LOAD_BATCH_SIZE, EntityLoader.DEFAULT_MULTI_LOAD_BATCH_SIZE);
+    }
+
+    //커넥션 풀 설정. 시간 단위는 acquire_timeout, leak_detection_threshold 가 ms, validation_timeout 이 초이다.
+    public ConnectionPoolProperties getConnectionPoolProperties() {
+        int poolSize = getInt(POOL_SIZE, DEFAULT_POOL_SIZE);
+        return new ConnectionPoolProperties(
+                poolSize,
+                getInt(POOL_PREFILL_SIZE, poolSize),
+                getLong(POOL_ACQUIRE_TIMEOUT, DEFAULT_ACQUIRE_TIMEOUT_MILLIS),
+                getInt(POOL_VALIDATION_TIMEOUT, DEFAULT_VALIDATION_TIMEOUT_SECONDS),
+                getLong(POOL_LEAK_DETECTION_THRESHOLD, 0)
+        );
+    }
+
+    //Statement 하나의 기본 timeout(초). 0 이면 제한하지 않는다.
+    public int getQueryTimeout() {
+        return getInt(QUERY_TIMEOUT, 0);
+    }
+
+    //flush 한번에 허용하는 전체 시간(ms). 0 이면 제한하지 않는다.
+    public Duration getFlushTimeout() {
+        return Duration.ofMillis(getLong(FLUSH_TIMEOUT, 0));
+    }
+
+    //이 시간(ms)을 넘긴 Statement 를 slow query 로 기록한다. 0 이면 기록하지 않는다.
+    public Duration getSlowQueryThreshold() {
+        return Duration.ofMillis(getLong(SLOW_QUERY_THRESHOLD, 0));
+    }
+
+    //Statement 실행 통계를 수집할지 여부
+    public boolean isStatisticsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty(GENERATE_STATISTICS, Boolean.FALSE.toString()));
+    }
+
+    private int getInt(String key, int defaultValue) {
+        String value = this.properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(NOT_NUMBER_SETTING + key, e);
+        }
+    }
+
+    private long getLong(String key, long defaultValue) {
+        String value = this.properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(NOT_NUMBER_SETTING + key, e);
+        }
+    }
+}
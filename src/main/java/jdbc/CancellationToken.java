@@ -0,0 +1,57 @@
+package jdbc;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+//동기로 실행되는 작업을 다른 스레드에서 중단시키는 핸들
+//JdbcTemplate.withCancellation 안에서 실행중인 Statement 를 Statement.cancel() 로 중단시키고, 이후의 Statement 는 실행하지 않는다.
+public class CancellationToken {
+
+    private static final String CANCELLED = "취소된 작업입니다.";
+
+    private final Set<Statement> runningStatements = new HashSet<>();
+    private boolean cancelled;
+
+    //실행중인 Statement 를 모두 중단시킨다. 이미 취소되었으면 아무것도 하지 않는다.
+    public synchronized void cancel() {
+        if (this.cancelled) {
+            return;
+        }
+        this.cancelled = true;
+        for (Statement statement : this.runningStatements) {
+            try {
+                statement.cancel();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    //실행할 Statement 를 등록한다. 이미 취소되었으면 실행하지 않는다.
+    synchronized void attach(Statement statement) {
+        if (this.cancelled) {
+            throw new CancellationException(CANCELLED);
+        }
+        this.runningStatements.add(statement);
+    }
+
+    synchronized void detach(Statement statement) {
+        this.runningStatements.remove(statement);
+    }
+
+    //취소로 중단된 Statement 의 예외를 CancellationException 으로 바꾼다.
+    CancellationException cancelledException(Throwable cause) {
+        if (cause instanceof CancellationException cancellationException) {
+            return cancellationException;
+        }
+        CancellationException exception = new CancellationException(CANCELLED);
+        exception.initCause(cause);
+        return exception;
+    }
+}
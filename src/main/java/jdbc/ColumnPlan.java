@@ -0,0 +1,81 @@
+package jdbc;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+//ResultSet 의 컬럼 label 을 Entity 필드에 대응시킨 결과.
+//indexes[i] 는 i 번째 ColumnReader 가 읽을 컬럼 위치이고, select 되지 않은 필드는 0 이다.
+final class ColumnPlan {
+
+    private final int[] indexes;
+    private final int lastIndex;
+
+    private ColumnPlan(int[] indexes, int lastIndex) {
+        this.indexes = indexes;
+        this.lastIndex = lastIndex;
+    }
+
+    //fromIndex 이후의 컬럼 중 label 이 같은 첫 컬럼을 고른다.
+    //metaData 가 테이블 이름을 알려주면 tableName 의 컬럼만 고르므로, 조인 결과에서 같은 이름의 컬럼도 구분된다.
+    static ColumnPlan resolve(ResultSetMetaData metaData, List<String> columnNames, String tableName, int fromIndex) throws SQLException {
+        final int columnCount = metaData.getColumnCount();
+        final boolean[] claimed = new boolean[columnCount + 1];
+        final int[] indexes = new int[columnNames.size()];
+        int lastIndex = fromIndex - 1;
+        for (int attribute = 0; attribute < indexes.length; attribute++) {
+            final String columnName = columnNames.get(attribute);
+            for (int column = fromIndex; column <= columnCount; column++) {
+                if (!claimed[column] && columnName.equalsIgnoreCase(metaData.getColumnLabel(column))
+                        && isSameTable(metaData.getTableName(column), tableName)) {
+                    claimed[column] = true;
+                    indexes[attribute] = column;
+                    lastIndex = Math.max(lastIndex, column);
+                    break;
+                }
+            }
+        }
+        return new ColumnPlan(indexes, lastIndex);
+    }
+
+    int index(int attribute) {
+        return indexes[attribute];
+    }
+
+    //select 된 필드의 순번을 필드 순서대로 돌려준다.
+    int[] selected() {
+        int count = 0;
+        for (final int index : indexes) {
+            if (index > 0) {
+                count++;
+            }
+        }
+        final int[] selected = new int[count];
+        int position = 0;
+        for (int attribute = 0; attribute < indexes.length; attribute++) {
+            if (indexes[attribute] > 0) {
+                selected[position++] = attribute;
+            }
+        }
+        return selected;
+    }
+
+    //select 된 필드가 하나도 없으면 true
+    boolean isEmpty() {
+        for (final int index : indexes) {
+            if (index > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //이 plan 이 사용한 마지막 컬럼 위치. 조인된 Entity 는 그 다음 컬럼부터 찾는다.
+    int lastIndex() {
+        return lastIndex;
+    }
+
+    private static boolean isSameTable(String columnTableName, String tableName) {
+        return columnTableName == null || columnTableName.isEmpty() || columnTableName.equalsIgnoreCase(tableName);
+    }
+}
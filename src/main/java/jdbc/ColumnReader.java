@@ -0,0 +1,11 @@
+package jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+//ResultSet 의 컬럼 하나를 읽어 Entity 필드 하나에 넣는다.
+//필드 타입에 맞는 getter 를 사용하므로 primitive 필드는 박싱 없이 채워진다.
+@FunctionalInterface
+public interface ColumnReader {
+    void read(ResultSet resultSet, int index, Object entityInstance) throws SQLException;
+}
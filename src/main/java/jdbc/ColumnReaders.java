@@ -0,0 +1,189 @@
+package jdbc;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Transient;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+
+//Entity 클래스별로 컬럼 순서대로 ColumnReader 를 만든다.
+//필드 타입으로 reader 를 한번만 고르고 클래스별로 캐시한다. 필드는 VarHandle 로 접근한다.
+public class ColumnReaders {
+
+    private static final String NOT_COLUMN_ATTRIBUTE = "Entity 의 컬럼 필드가 아닙니다. attribute: ";
+    private static final String FAILED_ACCESS_FIELD = "필드에 접근을 실패했습니다. field: ";
+
+    private static final ClassValue<List<ColumnReader>> READERS = new ClassValue<>() {
+        @Override
+        protected List<ColumnReader> computeValue(Class<?> entityClass) {
+            return Arrays.stream(entityClass.getDeclaredFields())
+                    .filter(ColumnReaders::isColumn)
+                    .map(ColumnReaders::forField)
+                    .toList();
+        }
+    };
+
+    private static final ClassValue<List<String>> COLUMN_NAMES = new ClassValue<>() {
+        @Override
+        protected List<String> computeValue(Class<?> entityClass) {
+            return Arrays.stream(entityClass.getDeclaredFields())
+                    .filter(ColumnReaders::isColumn)
+                    .map(ColumnReaders::columnName)
+                    .toList();
+        }
+    };
+
+    private ColumnReaders() {
+    }
+
+    //@Transient, @OneToMany 를 제외한 필드의 reader 를 select 컬럼 순서대로 돌려준다.
+    public static List<ColumnReader> of(Class<?> entityClass) {
+        return READERS.get(entityClass);
+    }
+
+    //of 와 같은 순서의 컬럼 이름. @Column 의 name 이 있으면 그 이름을, 없으면 필드 이름을 쓴다.
+    public static List<String> columnNames(Class<?> entityClass) {
+        return COLUMN_NAMES.get(entityClass);
+    }
+
+    static ColumnReader forField(Field field) {
+        VarHandle handle = varHandle(field);
+        Class<?> type = field.getType();
+
+        if (type == long.class) {
+            return (resultSet, index, entityInstance) -> handle.set(entityInstance, resultSet.getLong(index));
+        }
+        if (type == int.class) {
+            return (resultSet, index, entityInstance) -> handle.set(entityInstance, resultSet.getInt(index));
+        }
+        if (type == double.class) {
+            return (resultSet, index, entityInstance) -> handle.set(entityInstance, resultSet.getDouble(index));
+        }
+        if (type == boolean.class) {
+            return (resultSet, index, entityInstance) -> handle.set(entityInstance, resultSet.getBoolean(index));
+        }
+        if (type == Long.class) {
+            return (resultSet, index, entityInstance) -> {
+                long value = resultSet.getLong(index);
+                handle.set(entityInstance, resultSet.wasNull() ? null : (Long) value);
+            };
+        }
+        if (type == Integer.class) {
+            return (resultSet, index, entityInstance) -> {
+                int value = resultSet.getInt(index);
+                handle.set(entityInstance, resultSet.wasNull() ? null : (Integer) value);
+            };
+        }
+        if (type == Double.class) {
+            return (resultSet, index, entityInstance) -> {
+                double value = resultSet.getDouble(index);
+                handle.set(entityInstance, resultSet.wasNull() ? null : (Double) value);
+            };
+        }
+        if (type == Boolean.class) {
+            return (resultSet, index, entityInstance) -> {
+                boolean value = resultSet.getBoolean(index);
+                handle.set(entityInstance, resultSet.wasNull() ? null : (Boolean) value);
+            };
+        }
+        if (type == String.class) {
+            return (resultSet, index, entityInstance) -> handle.set(entityInstance, resultSet.getString(index));
+        }
+        if (type == BigDecimal.class) {
+            return (resultSet, index, entityInstance) -> handle.set(entityInstance, resultSet.getBigDecimal(index));
+        }
+        return (resultSet, index, entityInstance) -> handle.set(entityInstance, resultSet.getObject(index, type));
+    }
+
+    //type 에 맞는 getter 로 읽어 박싱된 값을 돌려준다. primitive 타입은 NULL 컬럼을 기본값으로 읽는다.
+    static ValueReader valueReader(Class<?> type) {
+        if (type == long.class) {
+            return ResultSet::getLong;
+        }
+        if (type == int.class) {
+            return ResultSet::getInt;
+        }
+        if (type == double.class) {
+            return ResultSet::getDouble;
+        }
+        if (type == boolean.class) {
+            return ResultSet::getBoolean;
+        }
+        if (type == Long.class) {
+            return (resultSet, index) -> {
+                long value = resultSet.getLong(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        }
+        if (type == Integer.class) {
+            return (resultSet, index) -> {
+                int value = resultSet.getInt(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        }
+        if (type == Double.class) {
+            return (resultSet, index) -> {
+                double value = resultSet.getDouble(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        }
+        if (type == Boolean.class) {
+            return (resultSet, index) -> {
+                boolean value = resultSet.getBoolean(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        }
+        if (type == String.class) {
+            return ResultSet::getString;
+        }
+        if (type == BigDecimal.class) {
+            return ResultSet::getBigDecimal;
+        }
+        return (resultSet, index) -> resultSet.getObject(index, type);
+    }
+
+    //private 필드도 reflection 검사 없이 쓸 수 있도록 선언 클래스 기준의 VarHandle 을 만든다.
+    static VarHandle varHandle(Field field) {
+        try {
+            return MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectVarHandle(field);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(FAILED_ACCESS_FIELD + field.getName(), e);
+        }
+    }
+
+    //entityClass 의 attribute 필드가 매핑된 컬럼 이름
+    public static String columnName(Class<?> entityClass, String attribute) {
+        return columnName(columnField(entityClass, attribute));
+    }
+
+    static Field columnField(Class<?> entityClass, String attribute) {
+        try {
+            Field field = entityClass.getDeclaredField(attribute);
+            if (!isColumn(field)) {
+                throw new IllegalArgumentException(NOT_COLUMN_ATTRIBUTE + attribute);
+            }
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException(NOT_COLUMN_ATTRIBUTE + attribute);
+        }
+    }
+
+    static String columnName(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        if (column == null || column.name().isEmpty()) {
+            return field.getName();
+        }
+        return column.name();
+    }
+
+    static boolean isColumn(Field field) {
+        return !field.isAnnotationPresent(Transient.class) && !field.isAnnotationPresent(OneToMany.class);
+    }
+}
@@ -3,154 +3,40 @@ package jdbc;
 import builder.dml.EntityData;
 import builder.dml.EntityMetaData;
 import builder.dml.EntityObjectData;
-import jakarta.persistence.OneToMany;
-import jakarta.persistence.Transient;
-import proxy.LazyProxyBuilder;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.ParameterizedType;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 
-public class EntityMapper {
+//EntityRowMapper 로 row 하나를 Entity 로 바꾼다.
+//호출마다 매퍼를 새로 만들고 컬럼 label 을 다시 확인하므로, 여러 row 를 읽을 때는 Metamodel 의 EntityRowMapper 를 사용한다.
+//매핑 상태를 필드에 두지 않고 호출마다 만들므로 여러 스레드가 동시에 매핑해도 섞이지 않는다.
+public final class EntityMapper {
 
     private final static String FAILED_GET_COLUMN = "컬럼 데이터를 가져오는데 실패했습니다.";
-    private final static String FAILED_ACCESS_FIELD = "필드에 접근을 실패했습니다.";
-    private final static String FAILED_CREATE_INSTANCE = "인스턴스를 생성하는데 실패하였습니다.";
 
-    private static int joinIndex = 0;
-    private static EntityData entityData;
+    private EntityMapper() {
+    }
 
     @SuppressWarnings("unchecked")
     public static <T> T mapRow(ResultSet rs, EntityData entityData) {
-        EntityMapper.entityData = entityData;
-        if (entityData.getJoinEntity().checkJoin()) {
-            return (T) confirmAnnotationSetColumnContainJoinEntity(rs, entityData.getClazz());
-        }
-        return (T) confirmAnnotationSetColumnMainEntity(rs, entityData.getClazz());
+        EntityRowMapper<T> entityRowMapper = (EntityRowMapper<T>) new EntityRowMappers().of(entityData.getClazz());
+        return mapRow(rs, entityRowMapper.rowMapper(null, entityData, null));
     }
 
     public static <T> T mapRow(ResultSet rs, Class<T> entityClass) {
-        EntityMetaData entityMetaData = new EntityMetaData(entityClass);
-        EntityObjectData entityObjectData = new EntityObjectData(entityClass);
-
-        entityData = new EntityData(entityMetaData, entityObjectData);
-
-        if (entityData.getJoinEntity().checkJoin()) {
-            return confirmAnnotationSetColumnContainJoinEntity(rs, entityClass);
-        }
-        return confirmAnnotationSetColumnMainEntity(rs, entityClass);
-    }
-
-    private static <T> T confirmAnnotationSetColumnContainJoinEntity(ResultSet rs, Class<T> entityClass) {
-        T entityInstance = confirmAnnotationSetColumnMainEntity(rs, entityClass);
-
-        Arrays.stream(entityClass.getDeclaredFields())
-                .filter(field -> field.isAnnotationPresent(OneToMany.class))
-                .forEach(field -> setJoinEntity(field, rs, entityInstance));
-
-        return entityInstance;
-    }
-
-    private static <T> void setJoinEntity(Field field, ResultSet rs, T entityInstance) {
-        if (entityData.getJoinEntity().checkFetchEager()) {
-            setListValueInField(field, entityInstance, fetchRelatedEntities(field, rs));
-            return;
+        EntityRowMapper<T> entityRowMapper = new EntityRowMappers().of(entityClass);
+        if (!entityRowMapper.hasJoin()) {
+            return mapRow(rs, entityRowMapper.rowMapper(null));
         }
-        setListValueInField(field, entityInstance, fetchRelatedEntitiesProxy(field));
+        EntityData entityData = new EntityData(new EntityMetaData(entityClass), new EntityObjectData(entityClass));
+        return mapRow(rs, entityRowMapper.rowMapper(null, entityData, null));
     }
 
-
-    @SuppressWarnings("unchecked")
-    private static <T> List<T> fetchRelatedEntitiesProxy(Field field) {
-        ParameterizedType parameterizedType = (ParameterizedType) field.getGenericType();
-        Class<?> joinEntityClass = (Class<?>) parameterizedType.getActualTypeArguments()[0];
-
-        return (List<T>) new LazyProxyBuilder<>().createProxy(entityData.getJoinEntity().findJoinEntityData(joinEntityClass));
-    }
-
-
-    @SuppressWarnings("unchecked")
-    private static <T> List<T> fetchRelatedEntities(Field field, ResultSet rs) {
-        List<T> relatedEntities = new ArrayList<>();
-
-        ParameterizedType parameterizedType = (ParameterizedType) field.getGenericType();
-        Class<?> joinEntityClass = (Class<?>) parameterizedType.getActualTypeArguments()[0];
-
+    private static <T> T mapRow(ResultSet rs, RowMapper<T> rowMapper) {
         try {
-            do {
-                T relatedEntity = (T) createAndPopulateEntity(rs, joinEntityClass);
-                relatedEntities.add(relatedEntity);
-            }
-            while (rs.next());
-        } catch (SQLException | InstantiationException | IllegalAccessException | NoSuchMethodException |
-                 InvocationTargetException e) {
-            throw new RuntimeException(FAILED_CREATE_INSTANCE);
-        }
-
-        return relatedEntities;
-    }
-
-    private static <T> T createAndPopulateEntity(ResultSet rs, Class<T> entityClass) throws InstantiationException, IllegalAccessException, NoSuchMethodException, InvocationTargetException, SQLException {
-        T entityInstance = entityClass.getDeclaredConstructor().newInstance();
-        int index = joinIndex;
-
-        for (Field field : entityClass.getDeclaredFields()) {
-            setValueInField(rs, field, entityInstance, index);
-            index++;
-        }
-
-        return entityInstance;
-    }
-
-    private static <T> T confirmAnnotationSetColumnMainEntity(ResultSet rs, Class<T> entityClass) {
-        Field[] fields = entityClass.getDeclaredFields();
-        T entityInstance = createNewInstance(entityClass);
-        int index = 1;
-        for (Field field : fields) {
-            if (noCheckAnnotation(field)) continue;
-            setValueInField(rs, field, entityInstance, index);
-            index++;
-        }
-        joinIndex = index;
-        return entityInstance;
-    }
-
-    private static <T> T createNewInstance(Class<T> entityClass) {
-        try {
-            return entityClass.getDeclaredConstructor().newInstance();
-        } catch (InstantiationException | IllegalAccessException | NoSuchMethodException |
-                 InvocationTargetException e) {
-            throw new RuntimeException(FAILED_CREATE_INSTANCE);
-        }
-    }
-
-    private static <T> void setListValueInField(Field field, T entityInstance, List<T> listObject) {
-        try {
-            field.setAccessible(true);
-            field.set(entityInstance, listObject);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(FAILED_ACCESS_FIELD);
-        }
-    }
-
-    private static <T> void setValueInField(ResultSet rs, Field field, T entityInstance, int index) {
-        try {
-            field.setAccessible(true);
-            Object value = rs.getObject(index);
-            field.set(entityInstance, value);
+            return rowMapper.mapRow(rs);
         } catch (SQLException e) {
             throw new RuntimeException(FAILED_GET_COLUMN);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(FAILED_ACCESS_FIELD);
         }
     }
-
-    private static boolean noCheckAnnotation(Field field) {
-        return field.isAnnotationPresent(Transient.class) || field.isAnnotationPresent(OneToMany.class);
-    }
 }
@@ -0,0 +1,364 @@
+package jdbc;
+
+import builder.dml.EntityData;
+import builder.dml.JoinEntityData;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import proxy.LazyProxyBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+//Entity 클래스 하나를 row 로부터 만드는 매퍼.
+//생성자와 필드 접근을 MethodHandle/VarHandle 로 한번만 찾아두고, row 마다 컬럼 순서대로 읽어 넣기만 한다.
+//불변 객체라 여러 스레드가 같은 매퍼를 동시에 사용해도 된다. EntityRowMappers 가 Metamodel 마다 클래스별로 하나씩 가진다.
+public final class EntityRowMapper<T> {
+
+    private static final String FAILED_GET_COLUMN = "컬럼 데이터를 가져오는데 실패했습니다.";
+    private static final String FAILED_ACCESS_FIELD = "필드에 접근을 실패했습니다.";
+    private static final String FAILED_CREATE_INSTANCE = "인스턴스를 생성하는데 실패하였습니다.";
+    private static final String NO_DEFAULT_CONSTRUCTOR = "기본 생성자가 없는 Entity 입니다. class: ";
+    private static final int MAX_CACHED_PLANS = 256;
+    private static final int NOT_SELECTED = -1;
+
+    private final Class<T> entityClass;
+    private final String tableName;
+    private final MethodHandle constructor;
+    private final ColumnReader[] columnReaders;
+    private final ValueReader[] valueReaders;
+    private final VarHandle[] fieldHandles;
+    private final List<String> columnNames;
+    private final int pkAttribute;
+    private final JoinField[] joinFields;
+    private final Map<String, QueryPlan> queryPlans = new ConcurrentHashMap<>();
+
+    //연관 필드의 원소 매퍼는 entityRowMappers 에서 찾는다.
+    EntityRowMapper(Class<T> entityClass, EntityRowMappers entityRowMappers) {
+        this.entityClass = entityClass;
+        this.tableName = entityClass.isAnnotationPresent(Table.class)
+                ? entityClass.getAnnotation(Table.class).name()
+                : entityClass.getSimpleName();
+        this.constructor = findConstructor(entityClass);
+        final Field[] columnFields = Arrays.stream(entityClass.getDeclaredFields())
+                .filter(ColumnReaders::isColumn)
+                .toArray(Field[]::new);
+        this.columnReaders = ColumnReaders.of(entityClass).toArray(ColumnReader[]::new);
+        this.valueReaders = Arrays.stream(columnFields)
+                .map(field -> ColumnReaders.valueReader(field.getType()))
+                .toArray(ValueReader[]::new);
+        this.fieldHandles = Arrays.stream(columnFields)
+                .map(ColumnReaders::varHandle)
+                .toArray(VarHandle[]::new);
+        this.columnNames = ColumnReaders.columnNames(entityClass);
+        this.pkAttribute = findPkAttribute(columnFields);
+        this.joinFields = Arrays.stream(entityClass.getDeclaredFields())
+                .filter(field -> field.isAnnotationPresent(OneToMany.class))
+                .map(field -> new JoinField(field, entityRowMappers))
+                .toArray(JoinField[]::new);
+    }
+
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    public int getColumnCount() {
+        return columnReaders.length;
+    }
+
+    public boolean hasJoin() {
+        return joinFields.length > 0;
+    }
+
+    //컬럼 label 로 필드를 찾는 RowMapper. 일부 컬럼만 select 하거나 순서가 달라도 된다.
+    //label 과 필드의 대응은 sql 마다 처음 한번만 ResultSetMetaData 로 구하고, 이후 row 는 배열 순회만 한다.
+    public RowMapper<T> rowMapper(String sql) {
+        return rowMapper(sql, null, null);
+    }
+
+    //entityData 가 있으면 연관 필드까지 채운다. EAGER 조인 컬럼은 주 Entity 컬럼 뒤에서 찾는다.
+    public RowMapper<T> rowMapper(String sql, EntityData entityData, LazyProxyBuilder<?> lazyProxyBuilder) {
+        return new PlannedRowMapper(sql, entityData, lazyProxyBuilder);
+    }
+
+    //조인 결과 전체를 한번 훑어 루트 Entity 목록을 만든다.
+    //row 를 루트 PK 로 묶어 같은 루트는 한번만 만들고, EAGER 컬렉션에는 row 마다 자식 하나를 더한다.
+    //LAZY 컬렉션은 루트마다 자기 PK 로 조회하는 프록시를 넣는다.
+    public ResultSetExtractor<List<T>> listExtractor(String sql, LazyProxyBuilder<?> lazyProxyBuilder) {
+        return resultSet -> assemble(resultSet, sql, lazyProxyBuilder);
+    }
+
+    //ResultSet 을 읽는 스레드는 컬럼 값만 chunkSize row 씩 버퍼에 복사하고, Entity 생성과 필드 채우기는 pool 에서 chunk 단위로 나눠 한다.
+    //결과 순서는 row 순서와 같다. 연관 필드는 채우지 않으므로 연관이 없는 Entity 의 대량 조회에 사용한다.
+    public ResultSetExtractor<List<T>> parallelExtractor(String sql, ForkJoinPool pool, int chunkSize) {
+        return new ParallelRowDecoder<>(this, sql, pool, chunkSize);
+    }
+
+    //현재 row 의 첫 컬럼부터 읽어 Entity 를 만든다. 연관 필드는 채우지 않는다.
+    public T mapRow(ResultSet resultSet) {
+        return readEntity(resultSet, 1);
+    }
+
+    //index 번째 컬럼부터 필드 순서대로 읽어 Entity 를 만든다.
+    T readEntity(ResultSet resultSet, int index) {
+        final T entityInstance = newInstance();
+        try {
+            for (final ColumnReader columnReader : columnReaders) {
+                columnReader.read(resultSet, index++, entityInstance);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(FAILED_GET_COLUMN);
+        }
+        return entityInstance;
+    }
+
+    //plan 이 가리키는 컬럼만 읽어 Entity 를 만든다.
+    T readEntity(ResultSet resultSet, ColumnPlan columnPlan) {
+        final T entityInstance = newInstance();
+        try {
+            for (int attribute = 0; attribute < columnReaders.length; attribute++) {
+                final int index = columnPlan.index(attribute);
+                if (index > 0) {
+                    columnReaders[attribute].read(resultSet, index, entityInstance);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(FAILED_GET_COLUMN);
+        }
+        return entityInstance;
+    }
+
+    //버퍼의 offset 부터 selected 순서로 담긴 값으로 Entity 를 만든다. ResultSet 을 읽지 않으므로 어느 스레드에서나 호출할 수 있다.
+    T buildEntity(Object[] values, int offset, int[] selected) {
+        final T entityInstance = newInstance();
+        for (int i = 0; i < selected.length; i++) {
+            fieldHandles[selected[i]].set(entityInstance, values[offset + i]);
+        }
+        return entityInstance;
+    }
+
+    //plan 이 가리키는 컬럼 값을 selected 순서로 버퍼의 offset 부터 복사한다.
+    void copyValues(ResultSet resultSet, ColumnPlan columnPlan, int[] selected, Object[] values, int offset) throws SQLException {
+        for (int i = 0; i < selected.length; i++) {
+            values[offset + i] = valueReaders[selected[i]].read(resultSet, columnPlan.index(selected[i]));
+        }
+    }
+
+    //sql 의 루트 Entity plan. 첫 row 를 읽은 뒤 호출한다.
+    ColumnPlan rootPlan(String sql, ResultSetMetaData metaData) throws SQLException {
+        return queryPlan(sql, metaData).root();
+    }
+
+    private List<T> assemble(ResultSet resultSet, String sql, LazyProxyBuilder<?> lazyProxyBuilder) throws SQLException {
+        final List<T> roots = new ArrayList<>();
+        if (!resultSet.next()) {
+            return roots;
+        }
+        final QueryPlan queryPlan = queryPlan(sql, resultSet.getMetaData());
+        final int pkIndex = pkIndex(queryPlan.root());
+        final int[] childPkIndexes = new int[joinFields.length];
+        for (int i = 0; i < joinFields.length; i++) {
+            childPkIndexes[i] = queryPlan.joins()[i].isEmpty()
+                    ? NOT_SELECTED
+                    : joinFields[i].elementMapper().pkIndex(queryPlan.joins()[i]);
+        }
+        final IdIndex rootIndex = new IdIndex(64);
+        final List<List<Object>[]> childLists = new ArrayList<>();
+        do {
+            final Object id = pkIndex > 0 ? resultSet.getObject(pkIndex) : null;
+            int position = id == null ? IdIndex.ABSENT : rootIndex.putIfAbsent(id, roots.size());
+            if (position == IdIndex.ABSENT) {
+                position = roots.size();
+                final T root = readEntity(resultSet, queryPlan.root());
+                roots.add(root);
+                childLists.add(attachCollections(root, id, lazyProxyBuilder));
+            }
+            appendChildren(resultSet, queryPlan, childPkIndexes, childLists.get(position));
+        } while (resultSet.next());
+        return roots;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object>[] attachCollections(T root, Object id, LazyProxyBuilder<?> lazyProxyBuilder) {
+        final List<Object>[] lists = new List[joinFields.length];
+        for (int i = 0; i < joinFields.length; i++) {
+            final JoinField joinField = joinFields[i];
+            if (joinField.fetchType == FetchType.EAGER) {
+                lists[i] = new ArrayList<>();
+                joinField.handle.set(root, lists[i]);
+                continue;
+            }
+            final LazyProxyBuilder<?> builder = lazyProxyBuilder != null ? lazyProxyBuilder : new LazyProxyBuilder<>();
+            joinField.handle.set(root, builder.createProxy(new JoinEntityData(joinField.elementClass, joinField.joinColumnName, id)));
+        }
+        return lists;
+    }
+
+    //자식 컬럼이 select 되지 않았거나 자식 PK 가 NULL 인 row 는 자식을 더하지 않는다.
+    private void appendChildren(ResultSet resultSet, QueryPlan queryPlan, int[] childPkIndexes, List<Object>[] lists) throws SQLException {
+        for (int i = 0; i < lists.length; i++) {
+            if (lists[i] == null || childPkIndexes[i] == NOT_SELECTED) {
+                continue;
+            }
+            if (childPkIndexes[i] > 0 && resultSet.getObject(childPkIndexes[i]) == null) {
+                continue;
+            }
+            lists[i].add(joinFields[i].elementMapper().readEntity(resultSet, queryPlan.joins()[i]));
+        }
+    }
+
+    //PK 컬럼 위치. PK 가 없거나 select 되지 않았으면 0 이다.
+    private int pkIndex(ColumnPlan columnPlan) {
+        return pkAttribute < 0 ? 0 : columnPlan.index(pkAttribute);
+    }
+
+    private QueryPlan queryPlan(String sql, ResultSetMetaData metaData) throws SQLException {
+        if (sql == null) {
+            return resolveQueryPlan(metaData);
+        }
+        final QueryPlan cached = queryPlans.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        final QueryPlan queryPlan = resolveQueryPlan(metaData);
+        if (queryPlans.size() < MAX_CACHED_PLANS) {
+            queryPlans.putIfAbsent(sql, queryPlan);
+        }
+        return queryPlan;
+    }
+
+    private QueryPlan resolveQueryPlan(ResultSetMetaData metaData) throws SQLException {
+        final ColumnPlan root = ColumnPlan.resolve(metaData, columnNames, tableName, 1);
+        final ColumnPlan[] joins = new ColumnPlan[joinFields.length];
+        int fromIndex = root.lastIndex() + 1;
+        for (int i = 0; i < joinFields.length; i++) {
+            final EntityRowMapper<?> elementMapper = joinFields[i].elementMapper();
+            joins[i] = ColumnPlan.resolve(metaData, elementMapper.columnNames, elementMapper.tableName, fromIndex);
+            fromIndex = joins[i].lastIndex() + 1;
+        }
+        return new QueryPlan(root, joins);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        try {
+            return (T) (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw new RuntimeException(FAILED_CREATE_INSTANCE);
+        }
+    }
+
+    private static int findPkAttribute(Field[] columnFields) {
+        for (int i = 0; i < columnFields.length; i++) {
+            if (columnFields[i].isAnnotationPresent(Id.class)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static MethodHandle findConstructor(Class<?> entityClass) {
+        try {
+            return MethodHandles.privateLookupIn(entityClass, MethodHandles.lookup())
+                    .findConstructor(entityClass, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(NO_DEFAULT_CONSTRUCTOR + entityClass.getName());
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(FAILED_ACCESS_FIELD);
+        }
+    }
+
+    private record QueryPlan(ColumnPlan root, ColumnPlan[] joins) {
+    }
+
+    //조회 한번에 쓰이는 RowMapper. 첫 row 에서 plan 을 정하고 이후 row 는 그대로 사용한다.
+    private final class PlannedRowMapper implements RowMapper<T> {
+        private final String sql;
+        private final EntityData entityData;
+        private final LazyProxyBuilder<?> lazyProxyBuilder;
+        private QueryPlan queryPlan;
+
+        private PlannedRowMapper(String sql, EntityData entityData, LazyProxyBuilder<?> lazyProxyBuilder) {
+            this.sql = sql;
+            this.entityData = entityData;
+            this.lazyProxyBuilder = lazyProxyBuilder;
+        }
+
+        @Override
+        public T mapRow(ResultSet resultSet) throws SQLException {
+            if (queryPlan == null) {
+                queryPlan = queryPlan(sql, resultSet.getMetaData());
+            }
+            final T entityInstance = readEntity(resultSet, queryPlan.root());
+            if (entityData == null || !entityData.getJoinEntity().checkJoin()) {
+                return entityInstance;
+            }
+            final boolean eager = entityData.getJoinEntity().checkFetchEager();
+            for (int i = 0; i < joinFields.length; i++) {
+                final JoinField joinField = joinFields[i];
+                joinField.handle.set(entityInstance, eager
+                        ? joinField.readAll(resultSet, queryPlan.joins()[i])
+                        : createProxy(joinField));
+            }
+            return entityInstance;
+        }
+
+        //LAZY 프록시는 lazyProxyBuilder 로 조회한다. null 이면 프록시마다 새 DB 연결을 만든다.
+        private List<?> createProxy(JoinField joinField) {
+            final LazyProxyBuilder<?> builder = lazyProxyBuilder != null ? lazyProxyBuilder : new LazyProxyBuilder<>();
+            return builder.createProxy(entityData.getJoinEntity().findJoinEntityData(joinField.elementClass));
+        }
+    }
+
+    //@OneToMany List 필드와 원소 타입의 매퍼
+    private static final class JoinField {
+        private final VarHandle handle;
+        private final Class<?> elementClass;
+        private final FetchType fetchType;
+        private final String joinColumnName;
+        private final EntityRowMappers entityRowMappers;
+
+        private JoinField(Field field, EntityRowMappers entityRowMappers) {
+            this.handle = ColumnReaders.varHandle(field);
+            this.elementClass = (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+            this.fetchType = field.getAnnotation(OneToMany.class).fetch();
+            JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+            this.joinColumnName = joinColumn == null ? field.getName() : joinColumn.name();
+            this.entityRowMappers = entityRowMappers;
+        }
+
+        private EntityRowMapper<?> elementMapper() {
+            return entityRowMappers.of(elementClass);
+        }
+
+        //plan 이 가리키는 컬럼을 원소로 읽으며 ResultSet 끝까지 진행한다.
+        private List<Object> readAll(ResultSet resultSet, ColumnPlan columnPlan) {
+            final EntityRowMapper<?> elementMapper = elementMapper();
+            final List<Object> elements = new ArrayList<>();
+            try {
+                do {
+                    elements.add(elementMapper.readEntity(resultSet, columnPlan));
+                } while (resultSet.next());
+            } catch (SQLException e) {
+                throw new RuntimeException(FAILED_CREATE_INSTANCE);
+            }
+            return elements;
+        }
+    }
+}
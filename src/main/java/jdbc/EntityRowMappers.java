@@ -0,0 +1,39 @@
+package jdbc;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//Metamodel 하나가 가지는 Entity 클래스별 EntityRowMapper.
+//init 에서 등록한 클래스의 매퍼는 바뀌지 않는 Map 에 두고, 등록되지 않은 클래스는 처음 요청될 때 만들어 이 객체에만 캐시한다.
+//매퍼가 sql 마다 캐시하는 컬럼 plan 도 이 객체를 가진 Metamodel 에만 속한다.
+public final class EntityRowMappers {
+
+    private final Map<Class<?>, EntityRowMapper<?>> mappers;
+    private final Map<Class<?>, EntityRowMapper<?>> lazyMappers = new ConcurrentHashMap<>();
+
+    public EntityRowMappers() {
+        this.mappers = Map.of();
+    }
+
+    public EntityRowMappers(Collection<Class<?>> entityClasses) {
+        this.mappers = entityClasses.stream()
+                .distinct()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), this::create));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> EntityRowMapper<T> of(Class<T> entityClass) {
+        EntityRowMapper<?> mapper = this.mappers.get(entityClass);
+        if (mapper == null) {
+            mapper = this.lazyMappers.computeIfAbsent(entityClass, this::create);
+        }
+        return (EntityRowMapper<T>) mapper;
+    }
+
+    private <T> EntityRowMapper<T> create(Class<T> entityClass) {
+        return new EntityRowMapper<>(entityClass, this);
+    }
+}
@@ -0,0 +1,65 @@
+package jdbc;
+
+//id 로 위치(0 이상)를 찾는 open addressing 해시 테이블.
+//조인 결과를 한번 훑는 동안만 쓰이므로 삭제는 지원하지 않고, 선형 탐사로 Entry 객체 없이 배열 두개만 사용한다.
+final class IdIndex {
+
+    static final int ABSENT = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private Object[] keys;
+    private int[] values;
+    private int size;
+
+    IdIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2) - 1) << 1;
+        this.keys = new Object[capacity];
+        this.values = new int[capacity];
+    }
+
+    //없는 id 만 넣는다. 이미 있으면 기존 위치를 돌려준다.
+    int putIfAbsent(Object id, int value) {
+        final int mask = keys.length - 1;
+        int slot = hash(id) & mask;
+        for (; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(id)) {
+                return values[slot];
+            }
+        }
+        keys[slot] = id;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+        return ABSENT;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        final Object[] oldKeys = keys;
+        final int[] oldValues = values;
+        keys = new Object[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        final int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+            int slot = hash(oldKeys[i]) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    //연속된 id 가 인접 슬롯에 몰리지 않도록 섞는다.
+    private static int hash(Object id) {
+        final int h = id.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
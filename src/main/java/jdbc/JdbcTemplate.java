@@ -1,43 +1,683 @@
 package jdbc;
 
+import database.ConnectionProvider;
+import database.SingleConnectionProvider;
+import jdbc.columnar.ColumnBatchIterator;
+import jdbc.stat.SlowQueryLog;
+import jdbc.stat.Statistics;
+
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.sql.Statement;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class JdbcTemplate {
-    private final Connection connection;
+    public static final int DEFAULT_BATCH_SIZE = 50;
+    private static final String INVALID_BATCH_SIZE = "batchSize는 1 이상이어야 합니다. batchSize: ";
+    private static final String TRANSACTION_NOT_ACTIVE = "진행중인 트랜잭션이 없습니다.";
+    private static final String DEADLINE_EXCEEDED = "허용된 실행 시간을 초과했습니다.";
+    private static final String INVALID_QUERY_TIMEOUT = "queryTimeout은 0 이상이어야 합니다. queryTimeout: ";
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final String GENERATED_KEY_COUNT_MISMATCH = "생성된 키의 개수가 insert 한 row 수와 다릅니다. expected: %d, actual: %d";
+
+    private final ConnectionProvider connectionProvider;
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private final LongAdder retiredHitCount = new LongAdder();
+    private final LongAdder retiredMissCount = new LongAdder();
+    private final Set<Connection> transactionConnections = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<JdbcTransaction> currentTransaction = new ThreadLocal<>();
+    private final ThreadLocal<Long> deadlineNanos = new ThreadLocal<>();
+    private final ThreadLocal<CancellationToken> cancellationToken = new ThreadLocal<>();
+    private final ExecutorService asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore asyncPermits;
+    private final Statistics statistics = new Statistics();
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog(this::explain);
+    private volatile int statementCacheSize;
+    private volatile int batchSize = DEFAULT_BATCH_SIZE;
+    private volatile int queryTimeoutSeconds;
 
     public JdbcTemplate(final Connection connection) {
-        this.connection = connection;
+        this(new SingleConnectionProvider(connection));
+    }
+
+    public JdbcTemplate(final Connection connection, final int statementCacheSize) {
+        this(new SingleConnectionProvider(connection), statementCacheSize);
+    }
+
+    public JdbcTemplate(final ConnectionProvider connectionProvider) {
+        this(connectionProvider, StatementCache.DEFAULT_MAX_SIZE);
+    }
+
+    public JdbcTemplate(final ConnectionProvider connectionProvider, final int statementCacheSize) {
+        this.connectionProvider = connectionProvider;
+        this.statementCacheSize = statementCacheSize;
+        this.asyncPermits = new Semaphore(connectionProvider.getMaxConnections());
+        this.connectionProvider.addEvictionListener(this::retireStatementCache);
     }
 
     public void execute(final String sql) {
+        final Connection connection = acquireConnection();
         try (final Statement statement = connection.createStatement()) {
+            applyTimeout(statement);
+            final long startNanos = startTiming();
             statement.execute(sql);
+            observe(sql, NO_ARGS, startNanos, 0);
         } catch (Exception e) {
             throw new RuntimeException(e);
+        } finally {
+            releaseConnection(connection);
+        }
+    }
+
+    public int update(final String sql, final Object... args) {
+        return executeStatement(sql, args, preparedStatement -> {
+            ParameterBinder.bind(preparedStatement, args);
+            return preparedStatement.executeUpdate();
+        });
+    }
+
+    public int[] batchUpdate(final String sql, final List<Object[]> rows) {
+        return batchUpdate(sql, rows, this.batchSize);
+    }
+
+    //rows 를 batchSize 단위로 addBatch 하여 실행하고, row 별 update count 를 돌려준다.
+    public int[] batchUpdate(final String sql, final List<Object[]> rows, final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(INVALID_BATCH_SIZE + batchSize);
+        }
+        return executeStatement(sql, sampleRow(rows), preparedStatement -> {
+            final int[] updateCounts = new int[rows.size()];
+            int executedCount = 0;
+            int pendingCount = 0;
+            for (final Object[] row : rows) {
+                ParameterBinder.bind(preparedStatement, row);
+                preparedStatement.addBatch();
+                if (++pendingCount == batchSize) {
+                    executedCount = copyUpdateCounts(preparedStatement.executeBatch(), updateCounts, executedCount);
+                    pendingCount = 0;
+                }
+            }
+            if (pendingCount > 0) {
+                copyUpdateCounts(preparedStatement.executeBatch(), updateCounts, executedCount);
+            }
+            return updateCounts;
+        });
+    }
+
+    //insert 후 DB 가 생성한 키를 keyMapper 로 읽어 돌려준다.
+    public <K> K updateForGeneratedKey(final String sql, final RowMapper<K> keyMapper, final Object... args) {
+        return executeStatement(sql, Statement.RETURN_GENERATED_KEYS, args, preparedStatement -> {
+            ParameterBinder.bind(preparedStatement, args);
+            preparedStatement.executeUpdate();
+            final List<K> keys = new ArrayList<>(1);
+            readGeneratedKeys(preparedStatement, keyMapper, keys);
+            checkGeneratedKeyCount(1, keys.size());
+            return keys.getFirst();
+        });
+    }
+
+    //여러 row 를 넣는 insert 하나를 실행하고 생성된 키를 row 순서대로 돌려준다.
+    public <K> List<K> updateForGeneratedKeys(final String sql, final RowMapper<K> keyMapper, final Object... args) {
+        return executeStatement(sql, Statement.RETURN_GENERATED_KEYS, args, preparedStatement -> {
+            ParameterBinder.bind(preparedStatement, args);
+            final int updateCount = preparedStatement.executeUpdate();
+            final List<K> keys = new ArrayList<>(updateCount);
+            readGeneratedKeys(preparedStatement, keyMapper, keys);
+            checkGeneratedKeyCount(updateCount, keys.size());
+            return keys;
+        });
+    }
+
+    public <K> List<K> batchUpdateForGeneratedKeys(final String sql, final List<Object[]> rows, final RowMapper<K> keyMapper) {
+        return batchUpdateForGeneratedKeys(sql, rows, keyMapper, this.batchSize);
+    }
+
+    //rows 를 batchSize 단위로 실행하면서 배치마다 생성된 키를 읽어 row 순서대로 돌려준다.
+    public <K> List<K> batchUpdateForGeneratedKeys(final String sql, final List<Object[]> rows, final RowMapper<K> keyMapper, final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(INVALID_BATCH_SIZE + batchSize);
+        }
+        return executeStatement(sql, Statement.RETURN_GENERATED_KEYS, sampleRow(rows), preparedStatement -> {
+            final List<K> keys = new ArrayList<>(rows.size());
+            int pendingCount = 0;
+            for (final Object[] row : rows) {
+                ParameterBinder.bind(preparedStatement, row);
+                preparedStatement.addBatch();
+                if (++pendingCount == batchSize) {
+                    preparedStatement.executeBatch();
+                    readGeneratedKeys(preparedStatement, keyMapper, keys);
+                    pendingCount = 0;
+                }
+            }
+            if (pendingCount > 0) {
+                preparedStatement.executeBatch();
+                readGeneratedKeys(preparedStatement, keyMapper, keys);
+            }
+            checkGeneratedKeyCount(rows.size(), keys.size());
+            return keys;
+        });
+    }
+
+    public <T> T queryForObject(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+        return singleResult(query(sql, rowMapper, args));
+    }
+
+    public <T> List<T> query(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+        return executeStatement(sql, args, queryCallback(rowMapper, args));
+    }
+
+    //커서를 넘기는 것은 extractor 가 맡는다. 처음에는 첫 row 앞에 있다.
+    public <T> T extract(final String sql, final ResultSetExtractor<T> extractor, final Object... args) {
+        return executeStatement(sql, args, preparedStatement -> {
+            ParameterBinder.bind(preparedStatement, args);
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                return extractor.extractData(resultSet);
+            }
+        });
+    }
+
+    //가상 스레드에서 조회한다. 동시에 실행되는 Statement 수는 최대 커넥션 수로 제한된다.
+    //비동기 작업은 호출한 쪽의 트랜잭션에 참여하지 않는다.
+    public <T> CompletableFuture<List<T>> queryAsync(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+        return executeAsync(sql, args, queryCallback(rowMapper, args));
+    }
+
+    public <T> CompletableFuture<T> queryForObjectAsync(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+        final StatementCallback<List<T>> callback = queryCallback(rowMapper, args);
+        return executeAsync(sql, args, preparedStatement -> singleResult(callback.doInStatement(preparedStatement)));
+    }
+
+    public CompletableFuture<Integer> updateAsync(final String sql, final Object... args) {
+        return executeAsync(sql, args, preparedStatement -> {
+            ParameterBinder.bind(preparedStatement, args);
+            return preparedStatement.executeUpdate();
+        });
+    }
+
+    //ResultSet 을 열어둔 채 row 를 요청할 때마다 읽는 Stream 을 돌려준다.
+    //Stream 을 close 해야 ResultSet 이 닫히고 PreparedStatement 가 캐시로 돌아가므로 try-with-resources 로 사용한다.
+    public <T> Stream<T> queryForStream(final String sql, final RowMapper<T> rowMapper, final int fetchSize, final Object... args) {
+        return openQuery(sql, fetchSize, args, (resultSet, onClose) ->
+                StreamSupport.stream(new ResultSetSpliterator<>(resultSet, rowMapper), false).onClose(onClose));
+    }
+
+    //row 를 객체로 만들지 않고 batchSize 개씩 컬럼별 배열(ColumnBatch)에 채워 읽는다.
+    //집계처럼 몇개 컬럼만 훑는 대량 조회용이며, 다 읽은 뒤 try-with-resources 로 close 해야 한다.
+    public ColumnBatchIterator queryForColumnBatches(final String sql, final int batchSize, final Object... args) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(INVALID_BATCH_SIZE + batchSize);
+        }
+        return openQuery(sql, batchSize, args, (resultSet, onClose) -> new ColumnBatchIterator(resultSet, batchSize, onClose));
+    }
+
+    //비동기 실행에 쓰는 executor 를 닫는다. 실행중인 비동기 작업은 끝날때까지 기다리고, 이후의 비동기 호출은 거절된다.
+    //커넥션은 ConnectionProvider 가 관리하므로 닫지 않는다.
+    public void close() {
+        asyncExecutor.close();
+    }
+
+    //트랜잭션에 쓸 커넥션 하나를 빌려 autoCommit 을 끄고, 그 커넥션을 가진 JdbcTransaction 을 돌려준다.
+    //트랜잭션은 스레드가 아니라 돌려받은 객체에 묶인다. inTransaction 으로 실행한 작업만 이 트랜잭션에 참여한다.
+    public JdbcTransaction beginTransaction() {
+        final Connection connection;
+        try {
+            connection = connectionProvider.getTransactionConnection();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            connectionProvider.releaseTransactionConnection(connection);
+            throw new RuntimeException(e);
+        }
+        transactionConnections.add(connection);
+        return new JdbcTransaction(connection);
+    }
+
+    public void commitTransaction(final JdbcTransaction transaction) {
+        completeTransaction(transaction, true);
+    }
+
+    public void rollbackTransaction(final JdbcTransaction transaction) {
+        completeTransaction(transaction, false);
+    }
+
+    //action 안에서 현재 스레드가 실행하는 모든 Statement 를 transaction 의 커넥션에서 실행한다.
+    //action 이 끝나면 이전 상태로 돌아가므로, 같은 스레드의 다른 작업은 이 트랜잭션에 섞이지 않는다.
+    public <T> T inTransaction(final JdbcTransaction transaction, final Supplier<T> action) {
+        if (!transaction.isActive()) {
+            throw new IllegalStateException(TRANSACTION_NOT_ACTIVE);
+        }
+        final JdbcTransaction previous = currentTransaction.get();
+        currentTransaction.set(transaction);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                currentTransaction.remove();
+            } else {
+                currentTransaction.set(previous);
+            }
+        }
+    }
+
+    //action 안에서 실행되는 모든 Statement 가 timeout 안에 끝나야 한다.
+    //남은 시간이 Statement 의 queryTimeout 으로 설정되고, 시간이 지나면 다음 Statement 는 실행하지 않는다.
+    //중첩되면 더 이른 기한을 따른다.
+    public <T> T withTimeout(final Duration timeout, final Supplier<T> action) {
+        final Long previous = deadlineNanos.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        if (previous != null && previous - deadline < 0) {
+            deadline = previous;
+        }
+        deadlineNanos.set(deadline);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                deadlineNanos.remove();
+            } else {
+                deadlineNanos.set(previous);
+            }
+        }
+    }
+
+    //action 안에서 실행되는 Statement 를 다른 스레드에서 token.cancel() 로 중단시킬 수 있다.
+    //취소되면 실행중인 Statement 는 중단되고 다음 Statement 는 실행하지 않으며, CancellationException 이 발생한다.
+    public <T> T withCancellation(final CancellationToken token, final Supplier<T> action) {
+        final CancellationToken previous = cancellationToken.get();
+        cancellationToken.set(token);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                cancellationToken.remove();
+            } else {
+                cancellationToken.set(previous);
+            }
+        }
+    }
+
+    public int getQueryTimeout() {
+        return queryTimeoutSeconds;
+    }
+
+    //Statement 하나의 기본 timeout(초)을 설정한다. 0 이면 제한하지 않는다.
+    public void setQueryTimeout(final int queryTimeoutSeconds) {
+        if (queryTimeoutSeconds < 0) {
+            throw new IllegalArgumentException(INVALID_QUERY_TIMEOUT + queryTimeoutSeconds);
+        }
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+    }
+
+    //캐시 크기를 변경한다. 기존에 캐시된 Statement 는 모두 닫는다.
+    public void setStatementCacheSize(final int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+        statementCaches.keySet().forEach(this::retireStatementCache);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(INVALID_BATCH_SIZE + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    //SQL 형태별 실행 통계. 기본으로 꺼져있다.
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    //threshold 를 넘긴 Statement 를 EXPLAIN 결과와 함께 기록한다. 기본으로 꺼져있다.
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
+    public long getStatementCacheHitCount() {
+        return retiredHitCount.sum() + statementCaches.values().stream()
+                .mapToLong(StatementCache::getHitCount)
+                .sum();
+    }
+
+    public long getStatementCacheMissCount() {
+        return retiredMissCount.sum() + statementCaches.values().stream()
+                .mapToLong(StatementCache::getMissCount)
+                .sum();
+    }
+
+    private <T> T executeStatement(final String sql, final Object[] args, final StatementCallback<T> callback) {
+        return executeStatement(sql, Statement.NO_GENERATED_KEYS, args, callback);
+    }
+
+    //작업을 가상 스레드에 맡기고, permit 을 얻은 뒤 실행한다.
+    //돌려준 Future 를 cancel 하면 실행중인 Statement 도 cancel 된다.
+    private <T> CompletableFuture<T> executeAsync(final String sql, final Object[] args, final StatementCallback<T> callback) {
+        final StatementFuture<T> future = new StatementFuture<>();
+        final Long callerDeadline = deadlineNanos.get();
+        final CancellationToken callerToken = cancellationToken.get();
+        asyncExecutor.execute(() -> {
+            if (callerDeadline != null) {
+                deadlineNanos.set(callerDeadline);
+            }
+            if (callerToken != null) {
+                cancellationToken.set(callerToken);
+            }
+            try {
+                asyncPermits.acquire();
+            } catch (InterruptedException e) {
+                future.completeExceptionally(e);
+                return;
+            }
+            try {
+                if (!future.isDone()) {
+                    future.complete(executeStatement(sql, args, preparedStatement -> {
+                        future.attach(preparedStatement);
+                        try {
+                            return callback.doInStatement(preparedStatement);
+                        } finally {
+                            future.detach();
+                        }
+                    }));
+                }
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                asyncPermits.release();
+            }
+        });
+        return future;
+    }
+
+    //ResultSet 을 연 채로 callback 에 넘긴다. onClose 가 호출되어야 ResultSet, Statement, 커넥션이 반납된다.
+    private <R> R openQuery(final String sql, final int fetchSize, final Object[] args, final OpenedResultSetCallback<R> callback) {
+        final Connection connection = acquireConnection();
+        final StatementCache cache = statementCache(connection);
+        final CancellationToken token = cancellationToken.get();
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        try {
+            preparedStatement = cache.acquire(sql);
+            applyTimeout(preparedStatement);
+            preparedStatement.setFetchSize(fetchSize);
+            ParameterBinder.bind(preparedStatement, args);
+            final long startNanos = startTiming();
+            attach(token, preparedStatement);
+            try {
+                resultSet = preparedStatement.executeQuery();
+            } finally {
+                detach(token, preparedStatement);
+            }
+            observe(sql, args, startNanos, 0);
+
+            final PreparedStatement openedStatement = preparedStatement;
+            final ResultSet openedResultSet = resultSet;
+            return callback.doWithResultSet(resultSet, () -> {
+                closeQuietly(openedResultSet);
+                cache.release(sql, openedStatement);
+                releaseConnection(connection);
+            });
+        } catch (Exception e) {
+            if (resultSet != null) {
+                closeQuietly(resultSet);
+            }
+            cache.release(sql, preparedStatement);
+            releaseConnection(connection);
+            throw translate(token, e);
         }
     }
 
-    public <T> T queryForObject(final String sql, final RowMapper<T> rowMapper) {
-        final List<T> results = query(sql, rowMapper);
+    private static <T> StatementCallback<List<T>> queryCallback(final RowMapper<T> rowMapper, final Object... args) {
+        return preparedStatement -> {
+            ParameterBinder.bind(preparedStatement, args);
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                final List<T> result = new ArrayList<>();
+                while (resultSet.next()) {
+                    result.add(rowMapper.mapRow(resultSet));
+                }
+                return result;
+            }
+        };
+    }
+
+    private static <T> T singleResult(final List<T> results) {
         if (results.size() != 1) {
             throw new RuntimeException("Expected 1 result, got " + results.size());
         }
         return results.get(0);
     }
 
-    public <T> List<T> query(final String sql, final RowMapper<T> rowMapper) {
-        try (final ResultSet resultSet = connection.prepareStatement(sql).executeQuery()) {
-            final List<T> result = new ArrayList<>();
-            while (resultSet.next()) {
-                result.add(rowMapper.mapRow(resultSet));
-            }
+    //커넥션을 빌리고, 그 커넥션의 캐시에서 PreparedStatement 를 꺼내 작업을 수행한 뒤 모두 돌려놓는다.
+    private <T> T executeStatement(final String sql, final int autoGeneratedKeys, final Object[] args, final StatementCallback<T> callback) {
+        final Connection connection = acquireConnection();
+        final StatementCache cache = statementCache(connection);
+        final CancellationToken token = cancellationToken.get();
+        PreparedStatement preparedStatement = null;
+        try {
+            preparedStatement = cache.acquire(sql, autoGeneratedKeys);
+            applyTimeout(preparedStatement);
+            attach(token, preparedStatement);
+            final long startNanos = startTiming();
+            final T result = callback.doInStatement(preparedStatement);
+            observe(sql, args, startNanos, rowCount(result));
             return result;
         } catch (Exception e) {
+            throw translate(token, e);
+        } finally {
+            detach(token, preparedStatement);
+            cache.release(sql, autoGeneratedKeys, preparedStatement);
+            releaseConnection(connection);
+        }
+    }
+
+    //통계와 slow query log 가 모두 꺼져있으면 시간을 재지 않는다.
+    private long startTiming() {
+        return statistics.isEnabled() || slowQueryLog.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    private void observe(final String sql, final Object[] args, final long startNanos, final long rows) {
+        if (startNanos == 0L) {
+            return;
+        }
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        if (statistics.isEnabled()) {
+            statistics.record(sql, elapsedNanos, rows);
+        }
+        if (slowQueryLog.isSlow(elapsedNanos)) {
+            slowQueryLog.log(sql, args, elapsedNanos, rows);
+        }
+    }
+
+    //통계를 거치지 않도록 캐시되지 않은 Statement 로 EXPLAIN 을 실행한다.
+    private String explain(final String sql, final Object[] args) throws SQLException {
+        final Connection connection = acquireConnection();
+        try (final PreparedStatement preparedStatement = connection.prepareStatement("EXPLAIN " + sql)) {
+            ParameterBinder.bind(preparedStatement, args);
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                final StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    if (!plan.isEmpty()) {
+                        plan.append(System.lineSeparator());
+                    }
+                    plan.append(resultSet.getString(1));
+                }
+                return plan.toString();
+            }
+        } finally {
+            releaseConnection(connection);
+        }
+    }
+
+    //배치는 첫 row 의 파라미터를 대표로 기록한다.
+    private static Object[] sampleRow(final List<Object[]> rows) {
+        return rows.isEmpty() ? NO_ARGS : rows.getFirst();
+    }
+
+    //실행 결과로 조회되거나 변경된 row 수를 센다.
+    private static long rowCount(final Object result) {
+        if (result instanceof Integer updateCount) {
+            return updateCount;
+        }
+        if (result instanceof int[] updateCounts) {
+            long rows = 0;
+            for (final int updateCount : updateCounts) {
+                rows += updateCount < 0 ? 1 : updateCount;
+            }
+            return rows;
+        }
+        if (result instanceof List<?> results) {
+            return results.size();
+        }
+        return result == null ? 0 : 1;
+    }
+
+    private static <K> void readGeneratedKeys(final PreparedStatement preparedStatement, final RowMapper<K> keyMapper, final List<K> keys) throws SQLException {
+        try (final ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+            while (generatedKeys.next()) {
+                keys.add(keyMapper.mapRow(generatedKeys));
+            }
+        }
+    }
+
+    private static void checkGeneratedKeyCount(final int expected, final int actual) {
+        if (expected != actual) {
+            throw new IllegalStateException(String.format(GENERATED_KEY_COUNT_MISMATCH, expected, actual));
+        }
+    }
+
+    private static void attach(final CancellationToken token, final Statement statement) {
+        if (token != null) {
+            token.attach(statement);
+        }
+    }
+
+    private static void detach(final CancellationToken token, final Statement statement) {
+        if (token != null && statement != null) {
+            token.detach(statement);
+        }
+    }
+
+    //token 으로 취소되어 실패했으면 CancellationException 으로 알린다.
+    private static RuntimeException translate(final CancellationToken token, final Exception e) {
+        if (token != null && token.isCancelled()) {
+            return token.cancelledException(e);
+        }
+        return new RuntimeException(e);
+    }
+
+    //기본 timeout 과 남은 기한 중 짧은 쪽을 초 단위로 올림하여 설정한다.
+    private void applyTimeout(final Statement statement) throws SQLException {
+        int timeoutSeconds = queryTimeoutSeconds;
+        final Long deadline = deadlineNanos.get();
+        if (deadline != null) {
+            final long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                throw new SQLTimeoutException(DEADLINE_EXCEEDED);
+            }
+            final int remainingSeconds = (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            timeoutSeconds = timeoutSeconds == 0 ? remainingSeconds : Math.min(timeoutSeconds, remainingSeconds);
+        }
+        statement.setQueryTimeout(timeoutSeconds);
+    }
+
+    //inTransaction 안이면 그 트랜잭션의 커넥션을 사용한다.
+    private Connection acquireConnection() {
+        final JdbcTransaction transaction = currentTransaction.get();
+        if (transaction != null) {
+            return transaction.getConnection();
+        }
+        try {
+            return connectionProvider.getConnection();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    //트랜잭션에 묶인 커넥션은 트랜잭션이 끝날때 반납한다.
+    private void releaseConnection(final Connection connection) {
+        if (!transactionConnections.contains(connection)) {
+            connectionProvider.releaseConnection(connection);
+        }
+    }
+
+    private void completeTransaction(final JdbcTransaction transaction, final boolean commit) {
+        if (!transaction.isActive()) {
+            throw new IllegalStateException(TRANSACTION_NOT_ACTIVE);
+        }
+        final Connection connection = transaction.getConnection();
+        try {
+            if (commit) {
+                connection.commit();
+            } else {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
             throw new RuntimeException(e);
+        } finally {
+            transaction.end();
+            transactionConnections.remove(connection);
+            restoreAutoCommit(connection);
+            connectionProvider.releaseTransactionConnection(connection);
+        }
+    }
+
+    private static void restoreAutoCommit(final Connection connection) {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private StatementCache statementCache(final Connection connection) {
+        return statementCaches.computeIfAbsent(connection, key -> new StatementCache(key, statementCacheSize));
+    }
+
+    //더이상 사용하지 않는 커넥션의 캐시를 닫고 통계는 누적해둔다.
+    private void retireStatementCache(final Connection connection) {
+        final StatementCache cache = statementCaches.remove(connection);
+        if (cache == null) {
+            return;
         }
+        retiredHitCount.add(cache.getHitCount());
+        retiredMissCount.add(cache.getMissCount());
+        cache.clear();
+    }
+
+    @FunctionalInterface
+    private interface OpenedResultSetCallback<R> {
+        R doWithResultSet(ResultSet resultSet, Runnable onClose) throws SQLException;
+    }
+
+    private static void closeQuietly(final ResultSet resultSet) {
+        try {
+            resultSet.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private static int copyUpdateCounts(final int[] batchResult, final int[] updateCounts, final int offset) {
+        System.arraycopy(batchResult, 0, updateCounts, offset, batchResult.length);
+        return offset + batchResult.length;
     }
 }
@@ -0,0 +1,27 @@
+package jdbc;
+
+import java.sql.Connection;
+
+//JdbcTemplate.beginTransaction 으로 시작한 트랜잭션 하나
+//커넥션은 이 객체를 가진 쪽이 JdbcTemplate.inTransaction 으로 실행하는 Statement 만 사용한다.
+public class JdbcTransaction {
+
+    private final Connection connection;
+    private volatile boolean active = true;
+
+    JdbcTransaction(Connection connection) {
+        this.connection = connection;
+    }
+
+    public boolean isActive() {
+        return this.active;
+    }
+
+    Connection getConnection() {
+        return this.connection;
+    }
+
+    void end() {
+        this.active = false;
+    }
+}
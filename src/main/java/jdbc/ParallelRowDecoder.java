@@ -0,0 +1,110 @@
+package jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+//ResultSet 을 읽는 스레드와 Entity 를 만드는 스레드를 나눈다.
+//읽는 스레드는 컬럼 값을 chunk 버퍼(Object[])에 복사해 pool 에 넘기고, 처리가 끝난 chunk 는 넘긴 순서대로 결과에 더한다.
+//동시에 처리중인 chunk 는 pool 병렬도의 두배로 제한하고, 결과를 가져간 chunk 의 버퍼는 다음 chunk 에 재사용한다.
+final class ParallelRowDecoder<T> implements ResultSetExtractor<List<T>> {
+
+    private static final String INVALID_CHUNK_SIZE = "chunkSize 는 1 이상이어야 합니다. chunkSize: ";
+
+    private final EntityRowMapper<T> entityRowMapper;
+    private final String sql;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    ParallelRowDecoder(EntityRowMapper<T> entityRowMapper, String sql, ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(INVALID_CHUNK_SIZE + chunkSize);
+        }
+        this.entityRowMapper = entityRowMapper;
+        this.sql = sql;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public List<T> extractData(ResultSet resultSet) throws SQLException {
+        final List<T> result = new ArrayList<>();
+        if (!resultSet.next()) {
+            return result;
+        }
+        final ColumnPlan columnPlan = entityRowMapper.rootPlan(sql, resultSet.getMetaData());
+        final int[] selected = columnPlan.selected();
+        final int maxInFlight = Math.max(2, pool.getParallelism() * 2);
+        final Deque<Chunk> inFlight = new ArrayDeque<>();
+        final Deque<Object[]> freeBuffers = new ArrayDeque<>();
+        try {
+            Chunk chunk = new Chunk(new Object[chunkSize * selected.length]);
+            boolean hasNext = true;
+            while (hasNext) {
+                entityRowMapper.copyValues(resultSet, columnPlan, selected, chunk.values, chunk.rowCount * selected.length);
+                chunk.rowCount++;
+                hasNext = resultSet.next();
+                if (chunk.rowCount < chunkSize) {
+                    continue;
+                }
+                if (!hasNext && inFlight.isEmpty()) {
+                    //결과가 chunk 하나뿐이면 넘기지 않고 이 스레드에서 만든다.
+                    break;
+                }
+                if (inFlight.size() >= maxInFlight) {
+                    freeBuffers.push(collect(inFlight.poll(), result));
+                }
+                chunk.submit(selected);
+                inFlight.add(chunk);
+                chunk = new Chunk(freeBuffers.isEmpty() ? new Object[chunkSize * selected.length] : freeBuffers.pop());
+            }
+            while (!inFlight.isEmpty()) {
+                collect(inFlight.poll(), result);
+            }
+            if (chunk.rowCount > 0) {
+                result.addAll(chunk.decode(selected));
+            }
+            return result;
+        } finally {
+            for (final Chunk pending : inFlight) {
+                pending.task.cancel(false);
+            }
+        }
+    }
+
+    //chunk 의 결과를 기다려 result 에 더하고, 다 쓴 버퍼를 돌려준다.
+    private Object[] collect(Chunk chunk, List<T> result) {
+        result.addAll(chunk.task.join());
+        return chunk.values;
+    }
+
+    private final class Chunk {
+        private final Object[] values;
+        private int rowCount;
+        private ForkJoinTask<List<T>> task;
+
+        private Chunk(Object[] values) {
+            this.values = values;
+        }
+
+        private void submit(int[] selected) {
+            this.task = pool.submit(() -> decode(selected));
+        }
+
+        //버퍼의 값으로 Entity 를 만들고, 다른 chunk 가 재사용할 수 있도록 참조를 지운다.
+        private List<T> decode(int[] selected) {
+            final List<T> entities = new ArrayList<>(rowCount);
+            for (int row = 0; row < rowCount; row++) {
+                entities.add(entityRowMapper.buildEntity(values, row * selected.length, selected));
+            }
+            Arrays.fill(values, 0, rowCount * selected.length, null);
+            return entities;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package jdbc;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+public class ParameterBinder {
+
+    //파라미터를 순서대로 PreparedStatement에 바인딩한다.
+    public static void bind(PreparedStatement preparedStatement, Object... args) throws SQLException {
+        for (int i = 0; i < args.length; i++) {
+            bind(preparedStatement, i + 1, args[i]);
+        }
+    }
+
+    //값의 타입에 맞는 setter로 바인딩한다.
+    private static void bind(PreparedStatement preparedStatement, int index, Object value) throws SQLException {
+        if (value == null) {
+            preparedStatement.setNull(index, Types.NULL);
+            return;
+        }
+        if (value instanceof Long longValue) {
+            preparedStatement.setLong(index, longValue);
+            return;
+        }
+        if (value instanceof Integer intValue) {
+            preparedStatement.setInt(index, intValue);
+            return;
+        }
+        if (value instanceof String stringValue) {
+            preparedStatement.setString(index, stringValue);
+            return;
+        }
+        if (value instanceof BigDecimal bigDecimalValue) {
+            preparedStatement.setBigDecimal(index, bigDecimalValue);
+            return;
+        }
+        if (value instanceof Boolean booleanValue) {
+            preparedStatement.setBoolean(index, booleanValue);
+            return;
+        }
+        preparedStatement.setObject(index, value);
+    }
+}
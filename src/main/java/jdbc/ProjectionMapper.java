@@ -0,0 +1,113 @@
+package jdbc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+//Entity 의 일부 필드를 select 하여 record 나 DTO 생성자로 바로 만드는 RowMapper.
+//Entity 인스턴스, EntityData, 스냅샷을 만들지 않는다. 생성자는 MethodHandle 로 한번만 찾아둔다.
+public final class ProjectionMapper<P> implements RowMapper<P> {
+
+    private static final String NO_MATCHING_CONSTRUCTOR = "attribute 타입 순서와 같은 생성자가 없습니다. class: ";
+    private static final String EMPTY_ATTRIBUTES = "projection 할 attribute 가 없습니다. class: ";
+    private static final String FAILED_CREATE_INSTANCE = "인스턴스를 생성하는데 실패하였습니다.";
+
+    private final Class<P> projectionClass;
+    private final List<String> columnNames;
+    private final MethodHandle constructor;
+    private final ValueReader[] valueReaders;
+
+    private ProjectionMapper(Class<P> projectionClass, List<String> columnNames, Constructor<?> constructor) {
+        this.projectionClass = projectionClass;
+        this.columnNames = columnNames;
+        this.constructor = spreadConstructor(constructor);
+        this.valueReaders = Arrays.stream(constructor.getParameterTypes())
+                .map(ColumnReaders::valueReader)
+                .toArray(ValueReader[]::new);
+    }
+
+    //attributes 는 entityClass 의 필드 이름을 생성자 파라미터 순서대로 적는다.
+    //record 는 attributes 를 생략하면 component 이름을 그대로 쓴다.
+    public static <P> ProjectionMapper<P> of(Class<P> projectionClass, Class<?> entityClass, String... attributes) {
+        String[] attributeNames = attributes.length == 0 && projectionClass.isRecord()
+                ? Arrays.stream(projectionClass.getRecordComponents()).map(RecordComponent::getName).toArray(String[]::new)
+                : attributes;
+        if (attributeNames.length == 0) {
+            throw new IllegalArgumentException(EMPTY_ATTRIBUTES + projectionClass.getName());
+        }
+        Field[] fields = Arrays.stream(attributeNames)
+                .map(attribute -> ColumnReaders.columnField(entityClass, attribute))
+                .toArray(Field[]::new);
+        List<String> columnNames = Arrays.stream(fields)
+                .map(ColumnReaders::columnName)
+                .toList();
+        return new ProjectionMapper<>(projectionClass, columnNames, findConstructor(projectionClass, fields));
+    }
+
+    public Class<P> getProjectionClass() {
+        return projectionClass;
+    }
+
+    //생성자 파라미터 순서의 select 컬럼 이름
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public P mapRow(ResultSet resultSet) throws SQLException {
+        final Object[] args = new Object[valueReaders.length];
+        for (int i = 0; i < valueReaders.length; i++) {
+            args[i] = valueReaders[i].read(resultSet, i + 1);
+        }
+        try {
+            return (P) (Object) constructor.invokeExact(args);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(FAILED_CREATE_INSTANCE, e);
+        }
+    }
+
+    //파라미터 타입이 필드 타입과 순서대로 같은 생성자. primitive 와 래퍼 타입은 같은 것으로 본다.
+    private static Constructor<?> findConstructor(Class<?> projectionClass, Field[] fields) {
+        return Arrays.stream(projectionClass.getDeclaredConstructors())
+                .filter(constructor -> matches(constructor.getParameterTypes(), fields))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(NO_MATCHING_CONSTRUCTOR + projectionClass.getName()));
+    }
+
+    private static boolean matches(Class<?>[] parameterTypes, Field[] fields) {
+        if (parameterTypes.length != fields.length) {
+            return false;
+        }
+        for (int i = 0; i < fields.length; i++) {
+            if (wrap(parameterTypes[i]) != wrap(fields[i].getType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    private static MethodHandle spreadConstructor(Constructor<?> constructor) {
+        try {
+            return MethodHandles.privateLookupIn(constructor.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(FAILED_CREATE_INSTANCE, e);
+        }
+    }
+}
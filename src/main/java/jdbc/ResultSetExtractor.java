@@ -0,0 +1,10 @@
+package jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+//ResultSet 전체를 한번에 읽어 결과 하나로 만든다. 여러 row 를 묶어야 하는 조인 결과 조립에 사용한다.
+@FunctionalInterface
+public interface ResultSetExtractor<T> {
+    T extractData(final ResultSet resultSet) throws SQLException;
+}
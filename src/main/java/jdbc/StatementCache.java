@@ -0,0 +1,136 @@
+package jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+//Connection 하나에 대한 PreparedStatement 캐시로, SQL 문자열과 생성키 반환 여부를 키로 사용한다.
+//acquire 한 Statement 는 캐시에서 빠져 호출자가 단독으로 사용하고, release 시 다시 캐시에 들어간다.
+//최대 크기를 넘으면 가장 오래 사용하지 않은 Statement 를 닫으면서 제거한다.
+public class StatementCache {
+
+    public static final int DEFAULT_MAX_SIZE = 64;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Connection connection;
+    private final int maxSize;
+    private final Map<StatementKey, PreparedStatement> statements;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public StatementCache(Connection connection, int maxSize) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StatementKey, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public PreparedStatement acquire(String sql) throws SQLException {
+        return acquire(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    //캐시된 Statement 가 있으면 꺼내고, 없으면 새로 준비한다.
+    //autoGeneratedKeys 가 Statement.RETURN_GENERATED_KEYS 면 생성된 키를 돌려주는 Statement 를 준비한다.
+    public PreparedStatement acquire(String sql, int autoGeneratedKeys) throws SQLException {
+        StatementKey key = new StatementKey(sql, autoGeneratedKeys);
+        PreparedStatement preparedStatement;
+        synchronized (this.statements) {
+            preparedStatement = this.statements.remove(key);
+        }
+        if (preparedStatement != null) {
+            hitCount.increment();
+            return preparedStatement;
+        }
+        missCount.increment();
+        return this.connection.prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    public void release(String sql, PreparedStatement preparedStatement) {
+        release(sql, Statement.NO_GENERATED_KEYS, preparedStatement);
+    }
+
+    //사용이 끝난 Statement 를 캐시에 돌려놓는다. 캐시할 수 없으면 닫는다.
+    public void release(String sql, int autoGeneratedKeys, PreparedStatement preparedStatement) {
+        if (preparedStatement == null) {
+            return;
+        }
+        if (this.maxSize <= 0 || !reset(preparedStatement)) {
+            closeQuietly(preparedStatement);
+            return;
+        }
+        PreparedStatement previous;
+        synchronized (this.statements) {
+            previous = this.statements.put(new StatementKey(sql, autoGeneratedKeys), preparedStatement);
+        }
+        if (previous != null && previous != preparedStatement) {
+            closeQuietly(previous);
+        }
+    }
+
+    //캐시된 Statement 를 모두 닫는다.
+    public void clear() {
+        List<PreparedStatement> cachedStatements;
+        synchronized (this.statements) {
+            cachedStatements = new ArrayList<>(this.statements.values());
+            this.statements.clear();
+        }
+        cachedStatements.forEach(StatementCache::closeQuietly);
+    }
+
+    public int size() {
+        synchronized (this.statements) {
+            return this.statements.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    //바인딩된 파라미터와 남아있는 배치를 비워 다음 호출자가 깨끗한 상태로 사용하게 한다.
+    private static boolean reset(PreparedStatement preparedStatement) {
+        try {
+            if (preparedStatement.isClosed()) {
+                return false;
+            }
+            preparedStatement.clearParameters();
+            preparedStatement.clearBatch();
+            preparedStatement.setFetchSize(0);
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement preparedStatement) {
+        try {
+            preparedStatement.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private record StatementKey(String sql, int autoGeneratedKeys) {
+    }
+}
@@ -0,0 +1,9 @@
+package jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface StatementCallback<T> {
+    T doInStatement(final PreparedStatement preparedStatement) throws SQLException;
+}
@@ -0,0 +1,46 @@
+package jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+//비동기로 실행되는 Statement 의 결과
+//cancel 하면 실행중인 Statement 를 Statement.cancel() 로 중단시킨다.
+class StatementFuture<T> extends CompletableFuture<T> {
+
+    private static final String CANCELLED_BEFORE_EXECUTE = "실행 전에 취소된 작업입니다.";
+
+    private PreparedStatement runningStatement;
+
+    //실행할 Statement 를 등록한다. 이미 취소되었으면 실행하지 않는다.
+    synchronized void attach(PreparedStatement preparedStatement) {
+        if (isCancelled()) {
+            throw new CancellationException(CANCELLED_BEFORE_EXECUTE);
+        }
+        this.runningStatement = preparedStatement;
+    }
+
+    synchronized void detach() {
+        this.runningStatement = null;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            cancelRunningStatement();
+        }
+        return cancelled;
+    }
+
+    private synchronized void cancelRunningStatement() {
+        if (this.runningStatement == null) {
+            return;
+        }
+        try {
+            this.runningStatement.cancel();
+        } catch (SQLException ignored) {
+        }
+    }
+}
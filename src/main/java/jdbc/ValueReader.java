@@ -0,0 +1,11 @@
+package jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+//ResultSet 의 컬럼 하나를 타입에 맞는 getter 로 읽어 값으로 돌려준다.
+//필드나 생성자 파라미터에 넣는 일은 호출한 쪽이 맡는다.
+@FunctionalInterface
+interface ValueReader {
+    Object read(ResultSet resultSet, int index) throws SQLException;
+}
@@ -0,0 +1,101 @@
+package jdbc.columnar;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+//최대 capacity 개의 row 를 컬럼별 배열로 담는다.
+public class ColumnBatch {
+
+    private static final String NOT_EXIST_COLUMN = "존재하지 않는 컬럼입니다. column: ";
+    private static final String NOT_MATCH_COLUMN_TYPE = "컬럼 타입이 일치하지 않습니다. column: ";
+
+    private final ColumnVector[] columns;
+    private final int capacity;
+    private int size;
+
+    private ColumnBatch(ColumnVector[] columns, int capacity) {
+        this.columns = columns;
+        this.capacity = capacity;
+    }
+
+    //ResultSet 의 컬럼 타입으로 컬럼별 벡터를 만든다.
+    static ColumnBatch create(ResultSetMetaData metaData, int capacity) throws SQLException {
+        ColumnVector[] columns = new ColumnVector[metaData.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = createColumn(metaData.getColumnLabel(i + 1), metaData.getColumnType(i + 1), capacity);
+        }
+        return new ColumnBatch(columns, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public ColumnVector getColumn(int index) {
+        return columns[index];
+    }
+
+    public ColumnVector getColumn(String name) {
+        return Arrays.stream(columns)
+                .filter(column -> column.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(NOT_EXIST_COLUMN + name));
+    }
+
+    public LongColumnVector getLongColumn(String name) {
+        return castColumn(getColumn(name), LongColumnVector.class);
+    }
+
+    public IntColumnVector getIntColumn(String name) {
+        return castColumn(getColumn(name), IntColumnVector.class);
+    }
+
+    public StringColumnVector getStringColumn(String name) {
+        return castColumn(getColumn(name), StringColumnVector.class);
+    }
+
+    //ResultSet 을 capacity 만큼 읽어 채운다. 더 읽을 row 가 없으면 false 를 돌려준다.
+    boolean fill(ResultSet resultSet) throws SQLException {
+        reset();
+        while (size < capacity) {
+            if (!resultSet.next()) {
+                return false;
+            }
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].read(resultSet, i + 1, size);
+            }
+            size++;
+        }
+        return true;
+    }
+
+    private void reset() {
+        size = 0;
+        for (ColumnVector column : columns) {
+            column.reset();
+        }
+    }
+
+    private static ColumnVector createColumn(String name, int sqlType, int capacity) {
+        return switch (sqlType) {
+            case Types.BIGINT -> new LongColumnVector(name, capacity);
+            case Types.INTEGER, Types.SMALLINT, Types.TINYINT -> new IntColumnVector(name, capacity);
+            case Types.VARCHAR, Types.CHAR, Types.LONGVARCHAR, Types.NVARCHAR, Types.NCHAR -> new StringColumnVector(name, capacity);
+            default -> new ObjectColumnVector(name, capacity);
+        };
+    }
+
+    private static <T extends ColumnVector> T castColumn(ColumnVector column, Class<T> type) {
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException(NOT_MATCH_COLUMN_TYPE + column.getName());
+        }
+        return type.cast(column);
+    }
+}
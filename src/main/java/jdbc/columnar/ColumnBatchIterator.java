@@ -0,0 +1,60 @@
+package jdbc.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+//열려있는 ResultSet 을 ColumnBatch 단위로 읽는다.
+//같은 ColumnBatch 인스턴스를 재사용하므로, 돌려받은 배치는 다음 hasNext/next 호출 전까지만 유효하다.
+//다 읽지 않았더라도 close 해야 ResultSet 과 커넥션이 반납된다.
+public class ColumnBatchIterator implements Iterator<ColumnBatch>, AutoCloseable {
+
+    private final ResultSet resultSet;
+    private final ColumnBatch batch;
+    private final Runnable onClose;
+    private boolean exhausted;
+    private boolean filled;
+    private boolean closed;
+
+    public ColumnBatchIterator(ResultSet resultSet, int batchSize, Runnable onClose) throws SQLException {
+        this.resultSet = resultSet;
+        this.batch = ColumnBatch.create(resultSet.getMetaData(), batchSize);
+        this.onClose = onClose;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!filled && !exhausted) {
+            fill();
+        }
+        return filled;
+    }
+
+    @Override
+    public ColumnBatch next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        filled = false;
+        return batch;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        onClose.run();
+    }
+
+    private void fill() {
+        try {
+            exhausted = !batch.fill(resultSet);
+            filled = batch.size() > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
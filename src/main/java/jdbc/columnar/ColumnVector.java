@@ -0,0 +1,42 @@
+package jdbc.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+//배치 하나에 담긴 컬럼 하나의 값들
+//NULL 여부는 row 당 1bit 로 표시한다.
+public abstract class ColumnVector {
+
+    private final String name;
+    private final long[] nullBits;
+
+    protected ColumnVector(String name, int capacity) {
+        this.name = name;
+        this.nullBits = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isNull(int row) {
+        return (nullBits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    //NULL 인 row 의 비트가 1 인 비트맵. 비트 연산으로 NULL 을 걸러낼 때 사용한다.
+    public long[] getNullBits() {
+        return nullBits;
+    }
+
+    //ResultSet 의 현재 row 에서 columnIndex 의 값을 row 위치에 읽어온다.
+    abstract void read(ResultSet resultSet, int columnIndex, int row) throws SQLException;
+
+    void reset() {
+        Arrays.fill(nullBits, 0L);
+    }
+
+    protected void markNull(int row) {
+        nullBits[row >>> 6] |= 1L << row;
+    }
+}
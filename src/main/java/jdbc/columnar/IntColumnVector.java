@@ -0,0 +1,31 @@
+package jdbc.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class IntColumnVector extends ColumnVector {
+
+    private final int[] values;
+
+    IntColumnVector(String name, int capacity) {
+        super(name, capacity);
+        this.values = new int[capacity];
+    }
+
+    public int get(int row) {
+        return values[row];
+    }
+
+    //NULL 인 row 는 0 이 들어있다.
+    public int[] getValues() {
+        return values;
+    }
+
+    @Override
+    void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+        values[row] = resultSet.getInt(columnIndex);
+        if (resultSet.wasNull()) {
+            markNull(row);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package jdbc.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class LongColumnVector extends ColumnVector {
+
+    private final long[] values;
+
+    LongColumnVector(String name, int capacity) {
+        super(name, capacity);
+        this.values = new long[capacity];
+    }
+
+    public long get(int row) {
+        return values[row];
+    }
+
+    //NULL 인 row 는 0 이 들어있다.
+    public long[] getValues() {
+        return values;
+    }
+
+    @Override
+    void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+        values[row] = resultSet.getLong(columnIndex);
+        if (resultSet.wasNull()) {
+            markNull(row);
+        }
+    }
+}
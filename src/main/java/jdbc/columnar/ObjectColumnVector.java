@@ -0,0 +1,34 @@
+package jdbc.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+//전용 벡터가 없는 타입의 컬럼
+public class ObjectColumnVector extends ColumnVector {
+
+    private final Object[] values;
+
+    ObjectColumnVector(String name, int capacity) {
+        super(name, capacity);
+        this.values = new Object[capacity];
+    }
+
+    public Object get(int row) {
+        return values[row];
+    }
+
+    @Override
+    void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+        values[row] = resultSet.getObject(columnIndex);
+        if (values[row] == null) {
+            markNull(row);
+        }
+    }
+
+    @Override
+    void reset() {
+        super.reset();
+        Arrays.fill(values, null);
+    }
+}
@@ -0,0 +1,56 @@
+package jdbc.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+//문자열은 사전(dictionary)의 코드로 저장한다.
+//사전은 배치마다 새로 만든다. 같은 문자열은 배치 안에서만 같은 코드를 가지므로 코드를 배치 밖으로 가지고 나가지 않는다.
+public class StringColumnVector extends ColumnVector {
+
+    public static final int NULL_CODE = -1;
+
+    private final int[] codes;
+    private final StringDictionary dictionary;
+
+    StringColumnVector(String name, int capacity) {
+        super(name, capacity);
+        this.codes = new int[capacity];
+        this.dictionary = new StringDictionary();
+    }
+
+    public String get(int row) {
+        int code = codes[row];
+        return code == NULL_CODE ? null : dictionary.get(code);
+    }
+
+    public int getCode(int row) {
+        return codes[row];
+    }
+
+    //NULL 인 row 는 NULL_CODE 가 들어있다.
+    public int[] getCodes() {
+        return codes;
+    }
+
+    public List<String> getDictionary() {
+        return dictionary.values();
+    }
+
+    @Override
+    void reset() {
+        super.reset();
+        dictionary.clear();
+    }
+
+    @Override
+    void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+        String value = resultSet.getString(columnIndex);
+        if (value == null) {
+            codes[row] = NULL_CODE;
+            markNull(row);
+            return;
+        }
+        codes[row] = dictionary.encode(value);
+    }
+}
@@ -0,0 +1,39 @@
+package jdbc.columnar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//문자열마다 등장 순서대로 코드를 붙인다.
+//배치 하나의 범위에서만 쓰고 배치를 채울 때마다 비우므로, 값이 다양한 컬럼이라도 크기가 배치 크기를 넘지 않는다.
+class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int encode(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        int newCode = values.size();
+        codes.put(value, newCode);
+        values.add(value);
+        return newCode;
+    }
+
+    String get(int code) {
+        return values.get(code);
+    }
+
+    void clear() {
+        codes.clear();
+        values.clear();
+    }
+
+    List<String> values() {
+        return Collections.unmodifiableList(values);
+    }
+}
@@ -0,0 +1,70 @@
+package jdbc.stat;
+
+import java.util.concurrent.atomic.LongAdder;
+
+//SQL 형태 하나의 실행 통계
+public class QueryStatistics {
+
+    private final String sql;
+    private final LongAdder executionCount = new LongAdder();
+    private final LongAdder rowCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    QueryStatistics(String sql) {
+        this.sql = sql;
+    }
+
+    void record(long nanos, long rows) {
+        executionCount.increment();
+        rowCount.add(rows);
+        totalNanos.add(nanos);
+        histogram.record(nanos);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getExecutionCount() {
+        return executionCount.sum();
+    }
+
+    //조회된 row 수 또는 변경된 row 수의 합
+    public long getRowCount() {
+        return rowCount.sum();
+    }
+
+    public long getTotalMicros() {
+        return totalNanos.sum() / 1_000;
+    }
+
+    public long getP50Micros() {
+        return histogram.getPercentileMicros(50);
+    }
+
+    public long getP95Micros() {
+        return histogram.getPercentileMicros(95);
+    }
+
+    public long getP99Micros() {
+        return histogram.getPercentileMicros(99);
+    }
+
+    public long getMaxMicros() {
+        return histogram.getMaxMicros();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryStatistics{" +
+                "sql='" + sql + '\'' +
+                ", executionCount=" + getExecutionCount() +
+                ", rowCount=" + getRowCount() +
+                ", p50=" + getP50Micros() + "us" +
+                ", p95=" + getP95Micros() + "us" +
+                ", p99=" + getP99Micros() + "us" +
+                ", max=" + getMaxMicros() + "us" +
+                '}';
+    }
+}
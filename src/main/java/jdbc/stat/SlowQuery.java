@@ -0,0 +1,12 @@
+package jdbc.stat;
+
+//threshold 를 넘긴 Statement 한 건. plan 은 같은 형태의 SQL 에 대해 처음 한번 구한 EXPLAIN 결과이다.
+public record SlowQuery(String sql, String shape, int parameterCount, long durationMicros, long rowCount, String plan) {
+
+    @Override
+    public String toString() {
+        return "slow query " + durationMicros + "us, rows=" + rowCount + ", parameters=" + parameterCount
+                + System.lineSeparator() + "  sql: " + sql
+                + System.lineSeparator() + "  plan: " + plan;
+    }
+}
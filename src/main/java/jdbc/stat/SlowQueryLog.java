@@ -0,0 +1,130 @@
+package jdbc.stat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+//threshold 를 넘긴 Statement 를 호출 스레드 밖에서 기록한다.
+//EXPLAIN 은 SQL 형태마다 처음 느려졌을 때 한번만 실행하고 이후에는 저장해둔 plan 을 재사용한다.
+public class SlowQueryLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final int MAX_PENDING = 1_000;
+    private static final int MAX_CACHED_PLANS = 1_000;
+    private static final List<String> EXPLAINABLE = List.of("SELECT", "INSERT", "UPDATE", "DELETE", "MERGE", "WITH");
+    private static final String PLAN_UNAVAILABLE = "(plan unavailable)";
+    private static final String INVALID_THRESHOLD = "slow query threshold 는 0 이상이어야 합니다. threshold: ";
+
+    private final PlanExplainer planExplainer;
+    private final Map<String, String> plans = new ConcurrentHashMap<>();
+    private final List<Consumer<SlowQuery>> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder droppedCount = new LongAdder();
+    private final ThreadPoolExecutor executor;
+    private volatile long thresholdNanos;
+
+    public SlowQueryLog(PlanExplainer planExplainer) {
+        this.planExplainer = planExplainer;
+        this.executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING),
+                Thread.ofPlatform().name("slow-query-log").daemon().factory(),
+                (task, rejectedBy) -> droppedCount.increment());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.listeners.add(slowQuery -> logger.warn("{}", slowQuery));
+    }
+
+    //threshold 가 0 이면 기록하지 않는다.
+    public void setThreshold(Duration threshold) {
+        if (threshold.isNegative()) {
+            throw new IllegalArgumentException(INVALID_THRESHOLD + threshold);
+        }
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    public Duration getThreshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    public boolean isEnabled() {
+        return thresholdNanos > 0;
+    }
+
+    public boolean isSlow(long nanos) {
+        final long threshold = thresholdNanos;
+        return threshold > 0 && nanos >= threshold;
+    }
+
+    public void addListener(Consumer<SlowQuery> listener) {
+        listeners.add(listener);
+    }
+
+    //대기열이 가득 차서 버려진 기록 수
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    //args 는 EXPLAIN 에 다시 바인딩하므로 호출한 쪽에서 더이상 변경하지 않는 배열이어야 한다.
+    public void log(String sql, Object[] args, long nanos, long rows) {
+        executor.execute(() -> publish(sql, args, nanos, rows));
+    }
+
+    private void publish(String sql, Object[] args, long nanos, long rows) {
+        final String shape = SqlShape.normalize(sql);
+        final SlowQuery slowQuery = new SlowQuery(sql, shape, args.length,
+                TimeUnit.NANOSECONDS.toMicros(nanos), rows, plan(shape, sql, args));
+        for (final Consumer<SlowQuery> listener : listeners) {
+            try {
+                listener.accept(slowQuery);
+            } catch (RuntimeException e) {
+                logger.warn("slow query listener failed", e);
+            }
+        }
+    }
+
+    private String plan(String shape, String sql, Object[] args) {
+        final String plan = plans.get(shape);
+        if (plan != null) {
+            return plan;
+        }
+        final String explained = explain(sql, args);
+        if (plans.size() < MAX_CACHED_PLANS) {
+            plans.putIfAbsent(shape, explained);
+        }
+        return explained;
+    }
+
+    private String explain(String sql, Object[] args) {
+        if (!isExplainable(sql)) {
+            return PLAN_UNAVAILABLE;
+        }
+        try {
+            return planExplainer.explain(sql, args);
+        } catch (Exception e) {
+            logger.debug("EXPLAIN failed: {}", sql, e);
+            return PLAN_UNAVAILABLE;
+        }
+    }
+
+    private static boolean isExplainable(String sql) {
+        final String trimmed = sql.stripLeading();
+        final int end = trimmed.indexOf(' ');
+        final String keyword = (end < 0 ? trimmed : trimmed.substring(0, end)).toUpperCase(Locale.ROOT);
+        return EXPLAINABLE.contains(keyword);
+    }
+
+    //sql 을 args 로 바인딩하여 실행계획을 문자열로 돌려준다.
+    @FunctionalInterface
+    public interface PlanExplainer {
+        String explain(String sql, Object[] args) throws Exception;
+    }
+}
@@ -0,0 +1,42 @@
+package jdbc.stat;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+//SQL 을 값과 무관한 형태로 정규화한다.
+//리터럴은 ? 로 바꾸고, IN 절이나 multi-row VALUES 처럼 ? 개수만 다른 SQL 은 같은 형태로 묶는다.
+public class SqlShape {
+
+    private static final int MAX_CACHED_SHAPES = 10_000;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?\\)(?:\\s*,\\s*\\(\\?\\))+");
+
+    private static final Map<String, String> SHAPES = new ConcurrentHashMap<>();
+
+    private SqlShape() {
+    }
+
+    public static String normalize(String sql) {
+        String shape = SHAPES.get(sql);
+        if (shape != null) {
+            return shape;
+        }
+        shape = doNormalize(sql);
+        if (SHAPES.size() < MAX_CACHED_SHAPES) {
+            SHAPES.put(sql, shape);
+        }
+        return shape;
+    }
+
+    private static String doNormalize(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PLACEHOLDER_LIST.matcher(shape).replaceAll("?");
+        return ROW_LIST.matcher(shape).replaceAll("(?)");
+    }
+}
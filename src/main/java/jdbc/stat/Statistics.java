@@ -0,0 +1,45 @@
+package jdbc.stat;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//JdbcTemplate 이 실행한 Statement 의 통계를 SQL 형태별로 모은다.
+//꺼져있으면 JdbcTemplate 은 시간을 재지 않으므로 비용이 거의 없다.
+public class Statistics {
+
+    private final Map<String, QueryStatistics> queryStatistics = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void record(String sql, long nanos, long rows) {
+        queryStatistics.computeIfAbsent(SqlShape.normalize(sql), QueryStatistics::new)
+                .record(nanos, rows);
+    }
+
+    //sql 과 같은 형태의 통계. 실행된 적이 없으면 null 을 돌려준다.
+    public QueryStatistics getQueryStatistics(String sql) {
+        return queryStatistics.get(SqlShape.normalize(sql));
+    }
+
+    public Collection<QueryStatistics> getQueryStatistics() {
+        return queryStatistics.values();
+    }
+
+    public long getExecutionCount() {
+        return queryStatistics.values().stream()
+                .mapToLong(QueryStatistics::getExecutionCount)
+                .sum();
+    }
+
+    public void clear() {
+        queryStatistics.clear();
+    }
+}
@@ -1,15 +1,22 @@
 package persistence;
 
 import builder.dml.JoinEntityData;
+import builder.dml.PreparedQuery;
 import builder.dml.builder.BuilderName;
 import builder.dml.builder.DMLQueryBuilder;
 import builder.dml.builder.InsertQueryBuilder;
 import jdbc.JdbcTemplate;
 
+import java.util.List;
+
 public class CollectionPersister {
 
+    private static final String INVALID_MULTI_ROW_LIMIT = "multi row insert 의 row 수는 0 이상, 파라미터 수는 1 이상이어야 합니다. maxRows, maxParameters: ";
+
     private final JdbcTemplate jdbcTemplate;
     private final DMLQueryBuilder dmlQueryBuilder;
+    private volatile int multiRowInsertSize;
+    private volatile int multiRowInsertMaxParameters = Integer.MAX_VALUE;
 
     public CollectionPersister(JdbcTemplate jdbcTemplate, DMLQueryBuilder dmlQueryBuilder) {
         this.jdbcTemplate = jdbcTemplate;
@@ -18,10 +25,31 @@ public class CollectionPersister {
 
     public void persist(JoinEntityData joinEntityData) {
         InsertQueryBuilder insertQueryBuilder = (InsertQueryBuilder) dmlQueryBuilder.query(BuilderName.INSERT);
-        jdbcTemplate.execute(insertQueryBuilder.buildQuery(
-                joinEntityData.getTableName(),
-                joinEntityData.getJoinColumnData())
-        );
+        PreparedQuery insertQuery = insertQueryBuilder.buildQuery(joinEntityData);
+        jdbcTemplate.update(insertQuery.sql(), insertQuery.parameterArray());
+    }
+
+    //여러 연관 데이터를 SQL 별로 묶어 배치로 반영한다.
+    //multi row insert 가 켜져 있으면 연속된 같은 Entity 를 VALUES (...), (...) 한 Statement 로 묶는다.
+    public void persistAll(List<JoinEntityData> joinEntityDataList) {
+        InsertQueryBuilder insertQueryBuilder = (InsertQueryBuilder) dmlQueryBuilder.query(BuilderName.INSERT);
+        if (this.multiRowInsertSize > 1) {
+            PreparedQueryBatch.execute(jdbcTemplate, insertQueryBuilder.buildJoinMultiRowQueries(
+                    joinEntityDataList, this.multiRowInsertSize, this.multiRowInsertMaxParameters));
+            return;
+        }
+        PreparedQueryBatch.execute(jdbcTemplate, joinEntityDataList.stream()
+                .map(insertQueryBuilder::buildQuery)
+                .toList());
+    }
+
+    //Statement 하나에 묶을 최대 row 수와 바인딩 파라미터 수. maxRows 가 1 이하이면 row 마다 insert 한다.
+    public void setMultiRowInsertLimit(int maxRows, int maxParameters) {
+        if (maxRows < 0 || maxParameters < 1) {
+            throw new IllegalArgumentException(INVALID_MULTI_ROW_LIMIT + maxRows + ", " + maxParameters);
+        }
+        this.multiRowInsertSize = maxRows;
+        this.multiRowInsertMaxParameters = maxParameters;
     }
 
 }
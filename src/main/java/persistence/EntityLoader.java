@@ -4,42 +4,149 @@ import builder.dml.EntityData;
 import builder.dml.EntityMetaData;
 import builder.dml.EntityObjectData;
 import builder.dml.JoinEntityData;
+import builder.dml.PreparedQuery;
 import builder.dml.builder.BuilderName;
 import builder.dml.builder.DMLQueryBuilder;
+import builder.dml.builder.SelectAllQueryBuilder;
 import builder.dml.builder.SelectByIdQueryBuilder;
-import jdbc.EntityMapper;
+import builder.dml.builder.SelectPageQueryBuilder;
+import jdbc.EntityRowMapper;
+import jdbc.EntityRowMappers;
 import jdbc.JdbcTemplate;
+import jdbc.RowMapper;
+import proxy.LazyProxyBuilder;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 public class EntityLoader {
 
+    private static final String INVALID_CHUNK_SIZE = "parallelDecodeChunkSize 는 0 이상이어야 합니다. parallelDecodeChunkSize: ";
+    private static final String INVALID_MULTI_LOAD_BATCH_SIZE = "multiLoadBatchSize 는 1 이상이어야 합니다. multiLoadBatchSize: ";
+    public static final int DEFAULT_MULTI_LOAD_BATCH_SIZE = 128;
+
     private final JdbcTemplate jdbcTemplate;
     private final DMLQueryBuilder dmlQueryBuilder;
+    private final EntityRowMappers entityRowMappers;
+    private final LazyProxyBuilder<?> lazyProxyBuilder = new LazyProxyBuilder<>(this);
     private Class<?> entityClass;
+    private volatile int parallelDecodeChunkSize;
+    private volatile int multiLoadBatchSize = DEFAULT_MULTI_LOAD_BATCH_SIZE;
 
     public EntityLoader(JdbcTemplate jdbcTemplate, DMLQueryBuilder dmlQueryBuilder) {
+        this(jdbcTemplate, dmlQueryBuilder, new EntityRowMappers());
+    }
+
+    //Metamodel 의 EntityRowMappers 를 받아 매퍼와 컬럼 plan 캐시를 Metamodel 과 함께 쓴다.
+    public EntityLoader(JdbcTemplate jdbcTemplate, DMLQueryBuilder dmlQueryBuilder, EntityRowMappers entityRowMappers) {
         this.jdbcTemplate = jdbcTemplate;
         this.dmlQueryBuilder = dmlQueryBuilder;
+        this.entityRowMappers = entityRowMappers;
     }
 
     public EntityLoader(Class<?> entityClass, JdbcTemplate jdbcTemplate, DMLQueryBuilder dmlQueryBuilder) {
-        this.jdbcTemplate = jdbcTemplate;
+        this(jdbcTemplate, dmlQueryBuilder);
         this.entityClass = entityClass;
-        this.dmlQueryBuilder = dmlQueryBuilder;
     }
 
     //데이터를 조회한다.
     public <T> T find(EntityData entityData) {
         SelectByIdQueryBuilder selectByIdQueryBuilder = (SelectByIdQueryBuilder) dmlQueryBuilder.query(BuilderName.SELECT_BY_ID);
-        return jdbcTemplate.queryForObject(selectByIdQueryBuilder.buildQuery(entityData), resultSet -> EntityMapper.mapRow(resultSet, entityData));
+        PreparedQuery selectQuery = selectByIdQueryBuilder.buildQuery(entityData);
+        return jdbcTemplate.queryForObject(selectQuery.sql(), rowMapper(selectQuery.sql(), entityData), selectQuery.parameterArray());
+    }
+
+    //데이터를 가상 스레드에서 비동기로 조회한다.
+    public <T> CompletableFuture<T> findAsync(EntityData entityData) {
+        SelectByIdQueryBuilder selectByIdQueryBuilder = (SelectByIdQueryBuilder) dmlQueryBuilder.query(BuilderName.SELECT_BY_ID);
+        PreparedQuery selectQuery = selectByIdQueryBuilder.buildQuery(entityData);
+        return jdbcTemplate.queryForObjectAsync(selectQuery.sql(), rowMapper(selectQuery.sql(), entityData), selectQuery.parameterArray());
+    }
+
+    //ids 를 multiLoadBatchSize 개씩 WHERE pk IN (...) 으로 조회한다. EAGER 연관은 조인 결과를 루트 PK 로 묶어 채운다.
+    //결과 순서는 ids 순서와 상관없고, 없는 id 는 결과에 빠진다.
+    public <T> List<T> findAllById(EntityData entityData, List<Object> ids) {
+        SelectByIdQueryBuilder selectByIdQueryBuilder = (SelectByIdQueryBuilder) dmlQueryBuilder.query(BuilderName.SELECT_BY_ID);
+        EntityRowMapper<T> entityRowMapper = entityRowMapper(entityData);
+        List<T> result = new ArrayList<>(ids.size());
+        for (PreparedQuery selectQuery : selectByIdQueryBuilder.buildInQueries(entityData, ids, multiLoadBatchSize)) {
+            result.addAll(jdbcTemplate.extract(selectQuery.sql(), entityRowMapper.listExtractor(selectQuery.sql(), lazyProxyBuilder), selectQuery.parameterArray()));
+        }
+        return result;
+    }
+
+    //findAllById 한번의 IN 절에 넣을 최대 id 수
+    public void setMultiLoadBatchSize(int multiLoadBatchSize) {
+        if (multiLoadBatchSize < 1) {
+            throw new IllegalArgumentException(INVALID_MULTI_LOAD_BATCH_SIZE + multiLoadBatchSize);
+        }
+        this.multiLoadBatchSize = multiLoadBatchSize;
+    }
+
+    //전체 데이터를 fetchSize 단위로 읽어오는 Stream 으로 조회한다.
+    public <T> Stream<T> stream(EntityData entityData, int fetchSize) {
+        SelectAllQueryBuilder selectAllQueryBuilder = (SelectAllQueryBuilder) dmlQueryBuilder.query(BuilderName.SELECT_ALL);
+        String sql = selectAllQueryBuilder.buildQuery(entityData);
+        return jdbcTemplate.queryForStream(sql, rowMapper(sql, entityData), fetchSize);
+    }
+
+    //전체 데이터를 한번의 쿼리로 조회한다. EAGER 연관은 조인 결과를 루트 PK 로 묶어 채운다.
+    //연관이 없는 Entity 는 parallelDecodeChunkSize 가 설정되어 있으면 여러 스레드에서 Entity 를 만든다.
+    public <T> List<T> findAll(EntityData entityData) {
+        SelectAllQueryBuilder selectAllQueryBuilder = (SelectAllQueryBuilder) dmlQueryBuilder.query(BuilderName.SELECT_ALL);
+        String sql = selectAllQueryBuilder.buildQuery(entityData);
+        EntityRowMapper<T> entityRowMapper = entityRowMapper(entityData);
+        int chunkSize = parallelDecodeChunkSize;
+        if (chunkSize > 0 && !entityRowMapper.hasJoin()) {
+            return jdbcTemplate.extract(sql, entityRowMapper.parallelExtractor(sql, ForkJoinPool.commonPool(), chunkSize));
+        }
+        return jdbcTemplate.extract(sql, entityRowMapper.listExtractor(sql, lazyProxyBuilder));
+    }
+
+    //PK 순서로 offset 번째 row 부터 limit 개를 조회한다.
+    public <T> List<T> findPage(EntityData entityData, int offset, int limit) {
+        SelectPageQueryBuilder selectPageQueryBuilder = (SelectPageQueryBuilder) dmlQueryBuilder.query(BuilderName.SELECT_PAGE);
+        return query(entityData, selectPageQueryBuilder.buildOffsetQuery(entityData, offset, limit));
+    }
+
+    //orderColumn, PK 순서로 (lastValue, lastId) 다음 row 부터 limit 개를 조회한다. lastId 가 null 이면 처음부터 조회한다.
+    public <T> List<T> findKeysetPage(EntityData entityData, String orderColumn, Object lastValue, Object lastId, int limit) {
+        SelectPageQueryBuilder selectPageQueryBuilder = (SelectPageQueryBuilder) dmlQueryBuilder.query(BuilderName.SELECT_PAGE);
+        return query(entityData, selectPageQueryBuilder.buildKeysetQuery(entityData, orderColumn, lastValue, lastId, limit));
+    }
+
+    private <T> List<T> query(EntityData entityData, PreparedQuery selectQuery) {
+        return jdbcTemplate.query(selectQuery.sql(), rowMapper(selectQuery.sql(), entityData), selectQuery.parameterArray());
+    }
+
+    //0 이면 병렬로 만들지 않는다.
+    public void setParallelDecodeChunkSize(int parallelDecodeChunkSize) {
+        if (parallelDecodeChunkSize < 0) {
+            throw new IllegalArgumentException(INVALID_CHUNK_SIZE + parallelDecodeChunkSize);
+        }
+        this.parallelDecodeChunkSize = parallelDecodeChunkSize;
     }
 
     //Lazy 데이터를 전체 조회한다.
     @SuppressWarnings("unchecked")
     public <T> List<T> findByIdLazy(JoinEntityData joinEntityData) {
         SelectByIdQueryBuilder selectByIdQueryBuilder = (SelectByIdQueryBuilder) dmlQueryBuilder.query(BuilderName.SELECT_BY_ID);
-        return (List<T>) jdbcTemplate.query(selectByIdQueryBuilder.buildLazyQuery(joinEntityData), resultSet -> EntityMapper.mapRow(resultSet, joinEntityData.getClazz()));
+        PreparedQuery selectQuery = selectByIdQueryBuilder.buildLazyQuery(joinEntityData);
+        RowMapper<?> rowMapper = entityRowMappers.of(joinEntityData.getClazz()).rowMapper(selectQuery.sql());
+        return (List<T>) jdbcTemplate.query(selectQuery.sql(), rowMapper, selectQuery.parameterArray());
+    }
+
+    //컬럼 label 과 필드의 대응은 sql 마다 한번만 구해 재사용한다.
+    private <T> RowMapper<T> rowMapper(String sql, EntityData entityData) {
+        return this.<T>entityRowMapper(entityData).rowMapper(sql, entityData, lazyProxyBuilder);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> EntityRowMapper<T> entityRowMapper(EntityData entityData) {
+        return (EntityRowMapper<T>) entityRowMappers.of(entityData.getClazz());
     }
 
 }
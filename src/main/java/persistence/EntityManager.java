@@ -1,10 +1,35 @@
 package persistence;
 
+import jdbc.CancellationToken;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface EntityManager {
 
     <T> T find(Class<T> clazz, Object id);
 
+    <T> T find(Class<T> clazz, Object id, Duration timeout);
+
+    <T> T find(Class<T> clazz, Object id, CancellationToken cancellationToken);
+
+    <T> CompletableFuture<T> findAsync(Class<T> clazz, Object id);
+
+    <T> List<T> findMultiple(Class<T> clazz, Collection<?> ids);
+
+    <T> List<T> findAll(Class<T> clazz);
+
+    <T> List<T> findAll(Class<T> clazz, int offset, int limit);
+
+    <T> Page<T> findPage(Class<T> clazz, String attribute, PageToken after, int limit);
+
+    <P> Projection<P> createProjection(Class<P> projectionClass, Class<?> entityClass, String... attributes);
+
+    <T> Stream<T> stream(Class<T> clazz, int fetchSize);
+
     void persist(Object entityInstance);
 
     void merge(Object entityInstance);
@@ -15,4 +40,6 @@ public interface EntityManager {
 
     void clear();
 
+    EntityTransaction getTransaction();
+
 }
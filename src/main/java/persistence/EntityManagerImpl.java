@@ -2,6 +2,7 @@ package persistence;
 
 import boot.Metamodel;
 import builder.dml.DMLColumnData;
+import builder.dml.EntityColumn;
 import builder.dml.EntityData;
 import builder.dml.EntityMetaData;
 import builder.dml.EntityObjectData;
@@ -13,27 +14,60 @@ import event.listener.delete.DeleteEventListener;
 import event.listener.load.LoadEventListener;
 import event.listener.merge.MergeEventListener;
 import event.listener.persist.PersistEventListener;
-
+import jdbc.CancellationToken;
+import jdbc.ColumnReaders;
+import jdbc.ProjectionMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
 public class EntityManagerImpl implements EntityManager {
 
+    private static final String NULL_ID = "조회할 id 는 null 일 수 없습니다. class: ";
+    private static final String INVALID_PAGE_LIMIT = "페이지 크기는 1 이상 Integer.MAX_VALUE 미만이어야 합니다. limit: ";
+    private static final String NULL_PAGE_KEY = "페이지 마지막 Entity 의 정렬 attribute 값이 null 이라 다음 페이지를 이어서 조회할 수 없습니다. attribute: ";
+    private static final String MISMATCHED_PAGE_TOKEN = "이전 페이지와 정렬 attribute 가 다릅니다. token, attribute: ";
+
     private final PersistenceContext persistenceContext;
     private final EventListenerRegistry eventListenerRegistry;
     private final Metamodel metamodel;
     private final ActionQueue actionQueue;
+    private final EntityTransactionImpl entityTransaction;
+    private final Duration flushTimeout;
 
     public EntityManagerImpl(
             PersistenceContext persistenceContext,
             Metamodel metamodel,
             EventListenerRegistry eventListenerRegistry,
             ActionQueue actionQueue
+    ) {
+        this(persistenceContext, metamodel, eventListenerRegistry, actionQueue, Duration.ZERO);
+    }
+
+    //flushTimeout 은 flush 한번이 쓸 수 있는 전체 시간이다. 0 이면 제한하지 않는다.
+    public EntityManagerImpl(
+            PersistenceContext persistenceContext,
+            Metamodel metamodel,
+            EventListenerRegistry eventListenerRegistry,
+            ActionQueue actionQueue,
+            Duration flushTimeout
     ) {
         this.persistenceContext = persistenceContext;
         this.metamodel = metamodel;
         this.eventListenerRegistry = eventListenerRegistry;
         this.actionQueue = actionQueue;
+        this.flushTimeout = flushTimeout;
+        this.entityTransaction = new EntityTransactionImpl(metamodel.jdbcTemplate(), actionQueue, this::executeActionQueue, persistenceContext::clear);
     }
 
     @Override
@@ -53,7 +87,7 @@ public class EntityManagerImpl implements EntityManager {
 
         EventListenerGroup<LoadEventListener<T>> eventListenerGroup = (EventListenerGroup<LoadEventListener<T>>) this.eventListenerRegistry.getEventListenerGroup(EventType.LOAD);
 
-        T findObject = eventListenerGroup.handleEventWithReturn(entityData, function);
+        T findObject = this.entityTransaction.execute(() -> eventListenerGroup.handleEventWithReturn(entityData, function));
 
         this.persistenceContext.insertEntityEntryMap(entityKey, EntityStatus.LOADING);
         insertPersistenceContext(entityKey, entityData);
@@ -62,10 +96,174 @@ public class EntityManagerImpl implements EntityManager {
         return findObject;
     }
 
+    //조회에 쓰이는 모든 Statement 가 timeout 안에 끝나야 한다.
+    @Override
+    public <T> T find(Class<T> clazz, Object id, Duration timeout) {
+        return this.metamodel.jdbcTemplate().withTimeout(timeout, () -> find(clazz, id));
+    }
+
+    //다른 스레드에서 cancellationToken.cancel() 로 조회를 중단시킬 수 있다.
+    @Override
+    public <T> T find(Class<T> clazz, Object id, CancellationToken cancellationToken) {
+        return this.metamodel.jdbcTemplate().withCancellation(cancellationToken, () -> find(clazz, id));
+    }
+
+    //영속성 컨텍스트에 있으면 바로 돌려주고, 없으면 가상 스레드에서 조회한다.
+    //영속성 컨텍스트는 스레드에 안전하지 않으므로 비동기로 조회된 Entity 는 등록하지 않는다.
+    //트랜잭션이 진행중이면 커밋되지 않은 데이터도 보이도록 호출한 스레드에서 트랜잭션 커넥션으로 조회한다.
+    @Override
+    public <T> CompletableFuture<T> findAsync(Class<T> clazz, Object id) {
+        EntityKey entityKey = new EntityKey(id, clazz);
+        EntityEntry entityEntry = this.persistenceContext.getEntityEntryMap(entityKey);
+
+        if (entityEntry != null && entityEntry.checkEntityStatus(EntityStatus.MANAGED)) {
+            EntityData persistEntityData = this.persistenceContext.findEntity(entityKey);
+            return CompletableFuture.completedFuture(clazz.cast(persistEntityData.getEntityInstance()));
+        }
+
+        EntityData entityData = createEntityData(clazz, id);
+        if (!this.entityTransaction.isActive()) {
+            return this.metamodel.entityLoader().findAsync(entityData);
+        }
+        try {
+            return CompletableFuture.completedFuture(this.entityTransaction.execute(() -> this.metamodel.entityLoader().find(entityData)));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    //ids 순서대로 Entity 를 돌려준다. DB 에 없는 id 자리는 null 이다.
+    //영속성 컨텍스트에 있는 id 는 조회하지 않고, 나머지는 WHERE pk IN (...) 으로 나눠 조회하여 MANAGED 로 등록한다.
+    @Override
+    public <T> List<T> findMultiple(Class<T> clazz, Collection<?> ids) {
+        EntityMetaData entityMetaData = this.metamodel.entityMetaData(clazz);
+        Map<Object, T> entities = new HashMap<>();
+        Set<Object> unloadedIds = new LinkedHashSet<>();
+        for (Object id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException(NULL_ID + clazz.getName());
+            }
+            Object key = entityMetaData.convertId(id);
+            T managed = managedInstance(clazz, key);
+            if (managed != null) {
+                entities.put(key, managed);
+            } else {
+                unloadedIds.add(key);
+            }
+        }
+
+        if (!unloadedIds.isEmpty()) {
+            EntityData entityData = new EntityData(entityMetaData, new EntityObjectData(clazz));
+            List<T> loaded = this.entityTransaction.execute(() -> this.metamodel.entityLoader().findAllById(entityData, new ArrayList<>(unloadedIds)));
+            for (T entity : loaded) {
+                EntityData loadedEntityData = createEntityData(entity);
+                EntityKey entityKey = new EntityKey(loadedEntityData);
+                this.persistenceContext.insertEntityEntryMap(entityKey, EntityStatus.LOADING);
+                insertPersistenceContext(entityKey, loadedEntityData);
+                this.persistenceContext.insertEntityEntryMap(entityKey, EntityStatus.MANAGED);
+                entities.put(loadedEntityData.getId(), entity);
+            }
+        }
+
+        return ids.stream()
+                .map(id -> entities.get(entityMetaData.convertId(id)))
+                .toList();
+    }
+
+    private <T> T managedInstance(Class<T> clazz, Object id) {
+        EntityKey entityKey = new EntityKey(id, clazz);
+        EntityEntry entityEntry = this.persistenceContext.getEntityEntryMap(entityKey);
+        if (entityEntry == null || !entityEntry.checkEntityStatus(EntityStatus.MANAGED)) {
+            return null;
+        }
+        EntityData persistEntityData = this.persistenceContext.findEntity(entityKey);
+        return persistEntityData == null ? null : clazz.cast(persistEntityData.getEntityInstance());
+    }
+
+    //전체 Entity 를 한번의 쿼리로 조회한다. EAGER 연관도 같은 쿼리의 조인으로 채운다.
+    //stream 과 마찬가지로 조회된 Entity 는 영속성 컨텍스트에 등록하지 않는다.
+    @Override
+    public <T> List<T> findAll(Class<T> clazz) {
+        EntityData entityData = new EntityData(this.metamodel.entityMetaData(clazz), new EntityObjectData(clazz));
+        return this.entityTransaction.execute(() -> this.metamodel.entityLoader().findAll(entityData));
+    }
+
+    //PK 순서로 offset 번째부터 limit 개를 조회한다. findAll 과 마찬가지로 영속성 컨텍스트에 등록하지 않는다.
+    //offset 이 클수록 느려지므로 뒤쪽 페이지까지 넘기는 조회는 findPage 를 쓴다.
+    @Override
+    public <T> List<T> findAll(Class<T> clazz, int offset, int limit) {
+        EntityData entityData = new EntityData(this.metamodel.entityMetaData(clazz), new EntityObjectData(clazz));
+        return this.entityTransaction.execute(() -> this.metamodel.entityLoader().findPage(entityData, offset, limit));
+    }
+
+    //attribute, PK 순서로 after 다음부터 limit 개를 조회한다. after 가 null 이면 첫 페이지이다.
+    //attribute 는 PK 이거나 인덱스가 있고 null 이 없는 컬럼이어야 한다. 다음 페이지가 있는지는 limit + 1 개를 조회하여 확인한다.
+    @Override
+    public <T> Page<T> findPage(Class<T> clazz, String attribute, PageToken after, int limit) {
+        if (limit < 1 || limit == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(INVALID_PAGE_LIMIT + limit);
+        }
+        if (after != null && !after.attribute().equals(attribute)) {
+            throw new IllegalArgumentException(MISMATCHED_PAGE_TOKEN + after.attribute() + ", " + attribute);
+        }
+        EntityData entityData = new EntityData(this.metamodel.entityMetaData(clazz), new EntityObjectData(clazz));
+        String orderColumn = ColumnReaders.columnName(clazz, attribute);
+        List<T> rows = this.entityTransaction.execute(() -> this.metamodel.entityLoader().findKeysetPage(entityData, orderColumn,
+                after == null ? null : after.lastValue(), after == null ? null : after.lastId(), limit + 1));
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> content = rows.subList(0, limit);
+        return new Page<>(content, nextPageToken(content.getLast(), clazz, attribute, orderColumn));
+    }
+
+    //null 은 keyset 으로 비교할 수 없으므로 마지막 Entity 의 정렬 attribute 값이 null 이면 예외가 발생한다.
+    private PageToken nextPageToken(Object lastEntity, Class<?> clazz, String attribute, String orderColumn) {
+        Object lastValue = null;
+        Object lastId = null;
+        for (DMLColumnData column : new EntityColumn(lastEntity, clazz).getColumns()) {
+            if (column.getColumnName().equals(orderColumn)) {
+                lastValue = column.getColumnValue();
+            }
+            if (column.isPrimaryKey()) {
+                lastId = column.getColumnValue();
+            }
+        }
+        if (lastValue == null) {
+            throw new IllegalArgumentException(NULL_PAGE_KEY + attribute);
+        }
+        return new PageToken(attribute, lastValue, lastId);
+    }
+
+    //entityClass 의 attributes 컬럼만 조회하여 projectionClass 생성자로 만든다.
+    //조회 전에 쌓여있는 동작을 먼저 실행하여 같은 세션에서 변경한 내용이 보이게 한다.
+    @Override
+    public <P> Projection<P> createProjection(Class<P> projectionClass, Class<?> entityClass, String... attributes) {
+        return new Projection<>(
+                this.metamodel.jdbcTemplate(),
+                this.metamodel.entityMetaData(entityClass),
+                ProjectionMapper.of(projectionClass, entityClass, attributes),
+                this::flushIfDirty,
+                this.entityTransaction
+        );
+    }
+
+    //전체 Entity 를 조회하는 Stream 을 돌려준다.
+    //대량 조회용이므로 조회된 Entity 는 영속성 컨텍스트에 등록하지 않는다.
+    @Override
+    public <T> Stream<T> stream(Class<T> clazz, int fetchSize) {
+        EntityData entityData = new EntityData(this.metamodel.entityMetaData(clazz), new EntityObjectData(clazz));
+        return this.entityTransaction.execute(() -> this.metamodel.entityLoader().stream(entityData, fetchSize));
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void persist(Object entityInstance) {
         EntityData entityData = createEntityData(entityInstance);
+        if (entityData.getEntityColumn().isPkEmpty()) {
+            persistGeneratedId(entityInstance, entityData);
+            return;
+        }
         EntityKey entityKey = new EntityKey(entityData);
 
         EntityEntry entityEntry = this.persistenceContext.getEntityEntryMap(entityKey);
@@ -78,7 +276,21 @@ public class EntityManagerImpl implements EntityManager {
 
         EventListenerGroup<PersistEventListener> eventListenerGroup = (EventListenerGroup<PersistEventListener>) this.eventListenerRegistry.getEventListenerGroup(EventType.PERSIST);
 
-        eventListenerGroup.handleEvent(entityData, PersistEventListener::onPersist);
+        handleEvent(eventListenerGroup, entityData, PersistEventListener::onPersist);
+
+        insertPersistenceContext(entityKey, entityData);
+        this.persistenceContext.insertEntityEntryMap(entityKey, EntityStatus.MANAGED);
+    }
+
+    //PK 가 없는 Entity 는 insert 시 생성된 id 를 받아 인스턴스에 넣고, 그 id 로 영속성 컨텍스트에 등록한다.
+    @SuppressWarnings("unchecked")
+    private void persistGeneratedId(Object entityInstance, EntityData entityData) {
+        EventListenerGroup<PersistEventListener> eventListenerGroup = (EventListenerGroup<PersistEventListener>) this.eventListenerRegistry.getEventListenerGroup(EventType.PERSIST);
+
+        handleEvent(eventListenerGroup, entityData, PersistEventListener::onPersist);
+
+        entityData.getEntityMetaData().assignId(entityInstance, entityData.getId());
+        EntityKey entityKey = new EntityKey(entityData);
 
         insertPersistenceContext(entityKey, entityData);
         this.persistenceContext.insertEntityEntryMap(entityKey, EntityStatus.MANAGED);
@@ -106,7 +318,7 @@ public class EntityManagerImpl implements EntityManager {
 
         EventListenerGroup<MergeEventListener> eventListenerGroup = (EventListenerGroup<MergeEventListener>) this.eventListenerRegistry.getEventListenerGroup(EventType.MERGE);
 
-        eventListenerGroup.handleEvent(entityData, MergeEventListener::onMerge);
+        handleEvent(eventListenerGroup, entityData, MergeEventListener::onMerge);
 
         insertPersistenceContext(entityKey, entityData);
         this.persistenceContext.insertEntityEntryMap(entityKey, EntityStatus.MANAGED);
@@ -131,7 +343,7 @@ public class EntityManagerImpl implements EntityManager {
 
         EventListenerGroup<DeleteEventListener> eventListenerGroup = (EventListenerGroup<DeleteEventListener>) this.eventListenerRegistry.getEventListenerGroup(EventType.DELETE);
 
-        eventListenerGroup.handleEvent(entityData, DeleteEventListener::onDelete);
+        handleEvent(eventListenerGroup, entityData, DeleteEventListener::onDelete);
 
         this.persistenceContext.deleteEntity(entityKey);
         this.persistenceContext.deleteDatabaseSnapshot(entityKey);
@@ -140,13 +352,47 @@ public class EntityManagerImpl implements EntityManager {
 
     @Override
     public void flush() {
-        this.actionQueue.execute();
+        executeActionQueue();
     }
 
     @Override
     public void clear() {
         this.persistenceContext.clear();
-        this.actionQueue.execute();
+        executeActionQueue();
+    }
+
+    @Override
+    public EntityTransaction getTransaction() {
+        return this.entityTransaction;
+    }
+
+    private void flushIfDirty() {
+        if (!this.actionQueue.isEmpty()) {
+            executeActionQueue();
+        }
+    }
+
+    //이벤트 처리 중 실행되는 Statement 도 이 세션의 트랜잭션에 참여한다.
+    private <L> void handleEvent(EventListenerGroup<L> eventListenerGroup, EntityData entityData, BiConsumer<L, EntityData> consumer) {
+        this.entityTransaction.execute(() -> {
+            eventListenerGroup.handleEvent(entityData, consumer);
+            return null;
+        });
+    }
+
+    //flushTimeout 이 있으면 쌓인 동작 전체를 그 시간 안에 실행한다.
+    //트랜잭션이 진행중이면 트랜잭션 커넥션에서 실행한다.
+    private void executeActionQueue() {
+        this.entityTransaction.execute(() -> {
+            if (this.flushTimeout.isZero() || this.flushTimeout.isNegative()) {
+                this.actionQueue.execute();
+                return null;
+            }
+            return this.metamodel.jdbcTemplate().withTimeout(this.flushTimeout, () -> {
+                this.actionQueue.execute();
+                return null;
+            });
+        });
     }
 
     private EntityData checkDirtyCheck(EntityData entityBuilderData) {
@@ -2,15 +2,27 @@ package persistence;
 
 import boot.Metamodel;
 import builder.dml.EntityData;
+import builder.dml.JoinEntityData;
+import builder.dml.PreparedQuery;
 import builder.dml.builder.*;
 import jdbc.JdbcTemplate;
 
+import java.util.List;
+
 public class EntityPersister {
 
     private static final String DOT = ".";
+    private static final String INVALID_MULTI_ROW_LIMIT = "multi row insert 의 row 수는 0 이상, 파라미터 수는 1 이상이어야 합니다. maxRows, maxParameters: ";
+    private static final String INVALID_DELETE_IN_BATCH_SIZE = "deleteInBatchSize 는 0 이상이어야 합니다. deleteInBatchSize: ";
+    private static final String INVALID_UPDATE_SHAPE_LIMIT = "updateShapeLimit 는 0 이상이어야 합니다. updateShapeLimit: ";
     private final JdbcTemplate jdbcTemplate;
     private final DMLQueryBuilder dmlQueryBuilder;
     private Metamodel metamodel;
+    private volatile int multiRowInsertSize;
+    private volatile int multiRowInsertMaxParameters = Integer.MAX_VALUE;
+    private volatile int deleteInBatchSize;
+    private volatile int updateShapeLimit = UpdateQueryBuilder.DEFAULT_MAX_DIRTY_SHAPES;
+    private volatile boolean updateFullRowFallback;
 
     public EntityPersister(JdbcTemplate jdbcTemplate, Metamodel metamodel, DMLQueryBuilder dmlQueryBuilder) {
         this.jdbcTemplate = jdbcTemplate;
@@ -24,31 +36,143 @@ public class EntityPersister {
     }
 
     //데이터를 반영한다.
+    //PK 값이 없으면 DB 가 생성한 키를 받아 EntityData 에 반영한다.
     public void persist(EntityData entityData) {
         InsertQueryBuilder insertQueryBuilder = (InsertQueryBuilder) dmlQueryBuilder.query(BuilderName.INSERT);
-        jdbcTemplate.execute(insertQueryBuilder.buildQuery(entityData.getTableName(), entityData.getEntityColumn()));
+        PreparedQuery insertQuery = insertQueryBuilder.buildQuery(entityData);
+        if (entityData.getEntityColumn().isPkEmpty()) {
+            entityData.assignId(jdbcTemplate.updateForGeneratedKey(insertQuery.sql(), resultSet -> resultSet.getObject(1), insertQuery.parameterArray()));
+        } else {
+            jdbcTemplate.update(insertQuery.sql(), insertQuery.parameterArray());
+        }
         if (entityData.checkJoin()) {
             joinPersist(entityData);
         }
     }
 
+    //여러 데이터를 순서대로 SQL 별로 묶어 배치로 반영한다.
+    //PK 값 유무가 같은 연속된 데이터끼리 묶으므로 insert 순서는 들어온 순서와 같다.
+    //PK 값이 없는 데이터는 배치마다 생성된 키를 받아 각 EntityData 에 반영한다.
+    //multi row insert 가 켜져 있으면 연속된 같은 Entity 를 VALUES (...), (...) 한 Statement 로 묶는다.
+    public void persistAll(List<EntityData> entityDataList) {
+        InsertQueryBuilder insertQueryBuilder = (InsertQueryBuilder) dmlQueryBuilder.query(BuilderName.INSERT);
+        int start = 0;
+        while (start < entityDataList.size()) {
+            boolean pkEmpty = entityDataList.get(start).getEntityColumn().isPkEmpty();
+            int end = start;
+            while (end < entityDataList.size() && entityDataList.get(end).getEntityColumn().isPkEmpty() == pkEmpty) {
+                end++;
+            }
+            List<EntityData> sameKindEntityDataList = entityDataList.subList(start, end);
+            if (pkEmpty) {
+                persistGeneratedIds(insertQueryBuilder, sameKindEntityDataList);
+            } else {
+                PreparedQueryBatch.execute(jdbcTemplate, insertQueries(insertQueryBuilder, sameKindEntityDataList));
+            }
+            start = end;
+        }
+
+        List<JoinEntityData> joinEntityDataList = entityDataList.stream()
+                .filter(EntityData::checkJoin)
+                .flatMap(entityData -> entityData.getJoinEntity().getJoinEntityData().stream())
+                .toList();
+        if (!joinEntityDataList.isEmpty()) {
+            this.metamodel.collectionPersister().persistAll(joinEntityDataList);
+        }
+    }
+
+    private void persistGeneratedIds(InsertQueryBuilder insertQueryBuilder, List<EntityData> entityDataList) {
+        List<PreparedQuery> insertQueries = insertQueries(insertQueryBuilder, entityDataList);
+        List<Object> generatedKeys = isMultiRowInsert()
+                ? PreparedQueryBatch.executeMultiRowForGeneratedKeys(jdbcTemplate, insertQueries)
+                : PreparedQueryBatch.executeForGeneratedKeys(jdbcTemplate, insertQueries);
+        for (int i = 0; i < entityDataList.size(); i++) {
+            entityDataList.get(i).assignId(generatedKeys.get(i));
+        }
+    }
+
+    //Statement 하나에 묶을 최대 row 수와 바인딩 파라미터 수. maxRows 가 1 이하이면 row 마다 insert 한다.
+    public void setMultiRowInsertLimit(int maxRows, int maxParameters) {
+        if (maxRows < 0 || maxParameters < 1) {
+            throw new IllegalArgumentException(INVALID_MULTI_ROW_LIMIT + maxRows + ", " + maxParameters);
+        }
+        this.multiRowInsertSize = maxRows;
+        this.multiRowInsertMaxParameters = maxParameters;
+    }
+
+    private boolean isMultiRowInsert() {
+        return this.multiRowInsertSize > 1;
+    }
+
+    private List<PreparedQuery> insertQueries(InsertQueryBuilder insertQueryBuilder, List<EntityData> entityDataList) {
+        if (isMultiRowInsert()) {
+            return insertQueryBuilder.buildMultiRowQueries(entityDataList, this.multiRowInsertSize, this.multiRowInsertMaxParameters);
+        }
+        return entityDataList.stream()
+                .map(insertQueryBuilder::buildQuery)
+                .toList();
+    }
+
+    //연관 데이터는 row 마다 insert 하지 않고 배치(multi row insert 가 켜져 있으면 VALUES (...), (...))로 넣는다.
     private void joinPersist(EntityData entityData) {
-        entityData.getJoinEntity().getJoinEntityData()
-                .forEach(joinEntityData ->
-                        this.metamodel.collectionPersister().persist(joinEntityData)
-                );
+        List<JoinEntityData> joinEntityDataList = entityData.getJoinEntity().getJoinEntityData();
+        if (!joinEntityDataList.isEmpty()) {
+            this.metamodel.collectionPersister().persistAll(joinEntityDataList);
+        }
     }
 
     //데이터를 수정한다.
     public void merge(EntityData entityData) {
         UpdateQueryBuilder updateQueryBuilder = (UpdateQueryBuilder) dmlQueryBuilder.query(BuilderName.UPDATE);
-        jdbcTemplate.execute(updateQueryBuilder.buildQuery(entityData));
+        PreparedQuery updateQuery = updateQueryBuilder.buildQuery(entityData, this.updateShapeLimit, this.updateFullRowFallback);
+        jdbcTemplate.update(updateQuery.sql(), updateQuery.parameterArray());
+    }
+
+    //여러 데이터를 SQL 별로 묶어 배치로 수정한다.
+    public void mergeAll(List<EntityData> entityDataList) {
+        UpdateQueryBuilder updateQueryBuilder = (UpdateQueryBuilder) dmlQueryBuilder.query(BuilderName.UPDATE);
+        int shapeLimit = this.updateShapeLimit;
+        boolean fullRowFallback = this.updateFullRowFallback;
+        PreparedQueryBatch.execute(jdbcTemplate, entityDataList.stream()
+                .map(entityData -> updateQueryBuilder.buildQuery(entityData, shapeLimit, fullRowFallback))
+                .toList());
+    }
+
+    //Entity 별로 캐시할 UPDATE SQL 조합 수. 넘으면 fullRowFallback 이 true 일 때 전체 컬럼을 수정한다.
+    public void setUpdateShapeLimit(int updateShapeLimit, boolean fullRowFallback) {
+        if (updateShapeLimit < 0) {
+            throw new IllegalArgumentException(INVALID_UPDATE_SHAPE_LIMIT + updateShapeLimit);
+        }
+        this.updateShapeLimit = updateShapeLimit;
+        this.updateFullRowFallback = fullRowFallback;
     }
 
     //데이터를 제거한다.
     public void remove(EntityData entityData) {
         DeleteQueryBuilder deleteQueryBuilder = (DeleteQueryBuilder) dmlQueryBuilder.query(BuilderName.DELETE);
-        jdbcTemplate.execute(deleteQueryBuilder.buildQuery(entityData));
+        PreparedQuery deleteQuery = deleteQueryBuilder.buildQuery(entityData);
+        jdbcTemplate.update(deleteQuery.sql(), deleteQuery.parameterArray());
+    }
+
+    //여러 데이터를 SQL 별로 묶어 배치로 제거한다.
+    //deleteInBatchSize 가 설정되어 있으면 연속된 같은 Entity 를 WHERE pk IN (...) 으로 묶어 제거한다.
+    public void removeAll(List<EntityData> entityDataList) {
+        DeleteQueryBuilder deleteQueryBuilder = (DeleteQueryBuilder) dmlQueryBuilder.query(BuilderName.DELETE);
+        if (this.deleteInBatchSize > 1) {
+            PreparedQueryBatch.execute(jdbcTemplate, deleteQueryBuilder.buildInQueries(entityDataList, this.deleteInBatchSize));
+            return;
+        }
+        PreparedQueryBatch.execute(jdbcTemplate, entityDataList.stream()
+                .map(deleteQueryBuilder::buildQuery)
+                .toList());
+    }
+
+    //DELETE 한번의 IN 절에 넣을 최대 id 수. 1 이하이면 id 마다 DELETE 한다.
+    public void setDeleteInBatchSize(int deleteInBatchSize) {
+        if (deleteInBatchSize < 0) {
+            throw new IllegalArgumentException(INVALID_DELETE_IN_BATCH_SIZE + deleteInBatchSize);
+        }
+        this.deleteInBatchSize = deleteInBatchSize;
     }
 
 }
@@ -0,0 +1,13 @@
+package persistence;
+
+public interface EntityTransaction {
+
+    void begin();
+
+    void commit();
+
+    void rollback();
+
+    boolean isActive();
+
+}
@@ -0,0 +1,90 @@
+package persistence;
+
+import event.action.ActionQueue;
+import jdbc.JdbcTemplate;
+import jdbc.JdbcTransaction;
+
+import java.util.function.Supplier;
+
+//flush 되는 동작들을 하나의 JDBC 트랜잭션으로 묶는다.
+//트랜잭션 커넥션은 이 객체에 묶이므로, 같은 스레드의 다른 EntityManager 작업은 이 트랜잭션에 섞이지 않는다.
+public class EntityTransactionImpl implements EntityTransaction {
+
+    private static final String TRANSACTION_ALREADY_ACTIVE = "이미 진행중인 트랜잭션이 있습니다.";
+    private static final String TRANSACTION_NOT_ACTIVE = "진행중인 트랜잭션이 없습니다.";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ActionQueue actionQueue;
+    private final Runnable flushAction;
+    private final Runnable clearAction;
+    private JdbcTransaction transaction;
+
+    //flushAction 은 commit 시 쌓인 동작들을 실행하는 방법이다. (ex. flush 기한 적용)
+    //clearAction 은 rollback 시 DB 와 달라진 영속성 컨텍스트를 비우는 방법이다.
+    public EntityTransactionImpl(JdbcTemplate jdbcTemplate, ActionQueue actionQueue, Runnable flushAction, Runnable clearAction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.actionQueue = actionQueue;
+        this.flushAction = flushAction;
+        this.clearAction = clearAction;
+    }
+
+    @Override
+    public void begin() {
+        if (isActive()) {
+            throw new IllegalStateException(TRANSACTION_ALREADY_ACTIVE);
+        }
+        this.transaction = this.jdbcTemplate.beginTransaction();
+    }
+
+    //쌓여있는 동작들을 트랜잭션 커넥션에서 실행한 뒤 한번에 commit 한다.
+    //실행 중 실패하면 rollback 하고 예외를 다시 던진다.
+    @Override
+    public void commit() {
+        if (!isActive()) {
+            throw new IllegalStateException(TRANSACTION_NOT_ACTIVE);
+        }
+        try {
+            execute(() -> {
+                this.flushAction.run();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            rollback();
+            throw e;
+        }
+        try {
+            this.jdbcTemplate.commitTransaction(this.transaction);
+        } finally {
+            this.transaction = null;
+        }
+    }
+
+    //아직 실행하지 않은 동작들을 버리고, DB 에 반영되지 않은 상태가 남지 않도록 영속성 컨텍스트도 비운다.
+    @Override
+    public void rollback() {
+        if (!isActive()) {
+            throw new IllegalStateException(TRANSACTION_NOT_ACTIVE);
+        }
+        this.actionQueue.clear();
+        this.clearAction.run();
+        try {
+            this.jdbcTemplate.rollbackTransaction(this.transaction);
+        } finally {
+            this.transaction = null;
+        }
+    }
+
+    @Override
+    public boolean isActive() {
+        return this.transaction != null && this.transaction.isActive();
+    }
+
+    //트랜잭션이 진행중이면 action 의 Statement 를 트랜잭션 커넥션에서 실행하고, 아니면 그대로 실행한다.
+    <T> T execute(Supplier<T> action) {
+        if (!isActive()) {
+            return action.get();
+        }
+        return this.jdbcTemplate.inTransaction(this.transaction, action);
+    }
+
+}
@@ -0,0 +1,28 @@
+package persistence;
+
+import java.util.List;
+
+//페이지 조회 결과. 다음 페이지가 있으면 nextToken 으로 이어서 조회한다.
+public class Page<T> {
+
+    private final List<T> content;
+    private final PageToken nextToken;
+
+    public Page(List<T> content, PageToken nextToken) {
+        this.content = content;
+        this.nextToken = nextToken;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    //마지막 페이지이면 null
+    public PageToken getNextToken() {
+        return nextToken;
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
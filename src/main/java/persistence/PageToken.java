@@ -0,0 +1,14 @@
+package persistence;
+
+//keyset 페이지 조회에서 다음 페이지를 이어서 조회하기 위한 위치.
+//이전 페이지 마지막 Entity 의 정렬 attribute 값과 PK 값을 담는다.
+public record PageToken(String attribute, Object lastValue, Object lastId) {
+
+    private static final String NULL_KEY = "keyset 값은 null 일 수 없습니다. attribute: ";
+
+    public PageToken {
+        if (attribute == null || lastValue == null || lastId == null) {
+            throw new IllegalArgumentException(NULL_KEY + attribute);
+        }
+    }
+}
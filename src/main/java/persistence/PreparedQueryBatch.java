@@ -0,0 +1,55 @@
+package persistence;
+
+import builder.dml.PreparedQuery;
+import jdbc.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class PreparedQueryBatch {
+
+    //연속해서 같은 SQL 을 사용하는 쿼리들을 묶어 batchUpdate 로 실행한다.
+    static void execute(JdbcTemplate jdbcTemplate, List<PreparedQuery> preparedQueries) {
+        int start = 0;
+        while (start < preparedQueries.size()) {
+            String sql = preparedQueries.get(start).sql();
+            List<Object[]> rows = new ArrayList<>();
+            int end = collectSameSql(preparedQueries, start, rows);
+            jdbcTemplate.batchUpdate(sql, rows);
+            start = end;
+        }
+    }
+
+    //연속해서 같은 SQL 을 사용하는 insert 들을 묶어 실행하고, 생성된 키를 쿼리 순서대로 돌려준다.
+    static List<Object> executeForGeneratedKeys(JdbcTemplate jdbcTemplate, List<PreparedQuery> preparedQueries) {
+        List<Object> generatedKeys = new ArrayList<>(preparedQueries.size());
+        int start = 0;
+        while (start < preparedQueries.size()) {
+            String sql = preparedQueries.get(start).sql();
+            List<Object[]> rows = new ArrayList<>();
+            int end = collectSameSql(preparedQueries, start, rows);
+            generatedKeys.addAll(jdbcTemplate.batchUpdateForGeneratedKeys(sql, rows, resultSet -> resultSet.getObject(1)));
+            start = end;
+        }
+        return generatedKeys;
+    }
+
+    //여러 row 를 넣는 insert 들을 하나씩 실행하고, 생성된 키를 row 순서대로 돌려준다.
+    static List<Object> executeMultiRowForGeneratedKeys(JdbcTemplate jdbcTemplate, List<PreparedQuery> preparedQueries) {
+        List<Object> generatedKeys = new ArrayList<>();
+        for (PreparedQuery preparedQuery : preparedQueries) {
+            generatedKeys.addAll(jdbcTemplate.updateForGeneratedKeys(preparedQuery.sql(), resultSet -> resultSet.getObject(1), preparedQuery.parameterArray()));
+        }
+        return generatedKeys;
+    }
+
+    private static int collectSameSql(List<PreparedQuery> preparedQueries, int start, List<Object[]> rows) {
+        String sql = preparedQueries.get(start).sql();
+        int end = start;
+        while (end < preparedQueries.size() && preparedQueries.get(end).sql().equals(sql)) {
+            rows.add(preparedQueries.get(end).parameterArray());
+            end++;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,52 @@
+package persistence;
+
+import builder.dml.EntityMetaData;
+import builder.dml.QueryBuildUtil;
+import builder.dml.builder.SelectQueryBuilder;
+import jdbc.JdbcTemplate;
+import jdbc.ProjectionMapper;
+
+import java.util.List;
+
+//Entity 의 일부 컬럼만 조회하여 DTO 로 돌려주는 읽기 전용 조회.
+//SQL 과 매퍼는 생성할 때 한번만 만들고, 조회 결과는 영속성 컨텍스트에 등록하지 않는다.
+public class Projection<P> {
+
+    private static final String COMMA = ", ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectionMapper<P> projectionMapper;
+    private final Runnable beforeQuery;
+    private final EntityTransactionImpl entityTransaction;
+    private final String selectAllQuery;
+    private final String selectByIdQuery;
+
+    //beforeQuery 는 조회 전에 아직 실행하지 않은 insert/update/delete 를 반영하는데 쓰인다.
+    //세션의 트랜잭션이 진행중이면 반영한 내용이 보이도록 같은 트랜잭션에서 조회한다.
+    public Projection(JdbcTemplate jdbcTemplate, EntityMetaData entityMetaData, ProjectionMapper<P> projectionMapper, Runnable beforeQuery, EntityTransactionImpl entityTransaction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.projectionMapper = projectionMapper;
+        this.beforeQuery = beforeQuery;
+        this.entityTransaction = entityTransaction;
+        String columns = String.join(COMMA, projectionMapper.getColumnNames());
+        this.selectAllQuery = new SelectQueryBuilder()
+                .select(columns)
+                .from(entityMetaData.getTableName())
+                .build();
+        this.selectByIdQuery = new SelectQueryBuilder()
+                .select(columns)
+                .from(entityMetaData.getTableName())
+                .where(entityMetaData.getPkName(), QueryBuildUtil.PLACEHOLDER)
+                .build();
+    }
+
+    public P findById(Object id) {
+        beforeQuery.run();
+        return entityTransaction.execute(() -> jdbcTemplate.queryForObject(selectByIdQuery, projectionMapper, id));
+    }
+
+    public List<P> findAll() {
+        beforeQuery.run();
+        return entityTransaction.execute(() -> jdbcTemplate.query(selectAllQuery, projectionMapper));
+    }
+}
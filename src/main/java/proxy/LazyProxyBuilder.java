@@ -3,25 +3,28 @@ package proxy;
 import builder.dml.JoinEntityData;
 import builder.dml.builder.DMLQueryBuilder;
 import database.H2DBConnection;
-import jdbc.JdbcTemplate;
 import persistence.EntityLoader;
 
 import java.lang.reflect.Proxy;
-import java.sql.SQLException;
 import java.util.List;
 
 public class LazyProxyBuilder<T> {
 
-    private final JdbcTemplate jdbcTemplate;
+    private final EntityLoader entityLoader;
 
     public LazyProxyBuilder(){
-        this.jdbcTemplate = new H2DBConnection().start();
+        this(new EntityLoader(new H2DBConnection().start(), new DMLQueryBuilder()));
+    }
+
+    //프록시를 만든 EntityLoader 로 지연 조회하여, 원본 조회와 같은 커넥션 풀을 사용한다.
+    public LazyProxyBuilder(EntityLoader entityLoader) {
+        this.entityLoader = entityLoader;
     }
 
     @SuppressWarnings("unchecked")
     public List<T> createProxy(JoinEntityData joinEntityData) {
         return (List<T>) Proxy.newProxyInstance(joinEntityData.getClazz().getClassLoader(),
                 new Class[]{List.class},
-                new ProxyInvocationHandler(joinEntityData, new EntityLoader(jdbcTemplate, new DMLQueryBuilder())));
+                new ProxyInvocationHandler(joinEntityData, entityLoader));
     }
 }
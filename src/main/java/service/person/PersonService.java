@@ -2,15 +2,18 @@ package service.person;
 
 import entity.Person;
 import persistence.EntityManager;
+import persistence.Projection;
 import service.person.request.PersonRequest;
 import service.person.response.PersonResponse;
 
 public class PersonService {
 
     private final EntityManager entityManager;
+    private final Projection<PersonResponse> personResponseProjection;
 
     public PersonService(EntityManager entityManager) {
         this.entityManager = entityManager;
+        this.personResponseProjection = entityManager.createProjection(PersonResponse.class, Person.class, "id", "name", "age", "email");
     }
 
     //Person을 저장한다.
@@ -24,6 +27,12 @@ public class PersonService {
         return PersonResponse.of(person);
     }
 
+    //id로 Person의 응답에 필요한 컬럼만 조회한다. Entity 는 만들지 않는다.
+    //영속성 컨텍스트를 거치지 않고 DB 를 조회하며, 조회 전에 쌓여있는 동작을 먼저 반영한다.
+    public PersonResponse findResponseById(Long id) {
+        return personResponseProjection.findById(id);
+    }
+
     //id로 Person을 삭제한다.
     public void deleteById(Long id) {
         Person person = entityManager.find(Person.class, id);
@@ -3,13 +3,22 @@ package builder;
 import builder.dml.EntityData;
 import builder.dml.EntityMetaData;
 import builder.dml.EntityObjectData;
+import builder.dml.PreparedQuery;
 import builder.dml.builder.*;
 import entity.Order;
 import entity.Person;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
 
 /*
 - insert 쿼리 문자열 생성하기
@@ -19,6 +28,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 - Object 인스턴스를 받아 UPDATE 쿼리 문자열 생성한다.
 - deleteById 쿼리 문자열 생성하기
 - Object를 받아 deleteById 쿼리 문자열 생성한다.
+- Entity 클래스별 SQL 은 한번만 만들어 재사용한다.
+- Entity 클래스별 SQL 캐시는 EntitySqlTemplates 마다 따로 가진다.
+- PK 값이 없으면 PK 컬럼을 제외한 insert 쿼리를 사용한다.
+- 변경된 컬럼만 수정하면 그 컬럼으로 update 쿼리를 만든다.
+- 변경된 컬럼 조합이 같으면 캐시된 update 쿼리를 재사용한다.
+- update 쿼리 조합 수가 제한을 넘으면 전체 컬럼을 수정한다.
+- 여러 스레드가 동시에 새 update 쿼리 조합을 만들어도 제한 수까지만 캐시한다.
+- offset 페이지 쿼리와 keyset 페이지 쿼리를 생성한다.
+- 여러 id 조회를 IN 절로 나누고, 정해진 크기로 맞춰 마지막 id 로 채운다.
+- 같은 Entity 의 insert 를 row 수와 파라미터 수 제한 안에서 multi row insert 로 묶는다.
+- 같은 Entity 의 delete 를 IN 절로 묶고, 정해진 크기로 맞춰 마지막 id 로 채운다.
 */
 class DMLBuilderTest {
 
@@ -32,9 +52,16 @@ class DMLBuilderTest {
 
         EntityData entityData = new EntityData(new EntityMetaData(person.getClass()), new EntityObjectData(person));
 
-        //when, then
-        assertThat(queryBuilder.buildQuery(entityData.getTableName(), entityData.getEntityColumn()))
-                .isEqualTo("INSERT INTO users (id, nick_name, old, email) VALUES (1, 'sangki', 29, 'test@test.com');");
+        //when
+        PreparedQuery preparedQuery = queryBuilder.buildQuery(entityData.getTableName(), entityData.getEntityColumn());
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQuery.sql())
+                        .isEqualTo("INSERT INTO users (id, nick_name, old, email) VALUES (?, ?, ?, ?);"),
+                () -> assertThat(preparedQuery.parameters())
+                        .containsExactly(1L, "sangki", 29, "test@test.com")
+        );
     }
 
     @DisplayName("findAll 쿼리 문자열 생성하기")
@@ -55,19 +82,34 @@ class DMLBuilderTest {
     void buildFindByIdTest() {
         //given
         SelectByIdQueryBuilder queryBuilder = new SelectByIdQueryBuilder();
-        //when, then
-        assertThat(queryBuilder.buildQuery(new EntityData(new EntityMetaData(Person.class), new EntityObjectData(Person.class, 1L))))
-                .isEqualTo("SELECT id, nick_name, old, email FROM users WHERE id = 1;");
+        //when
+        PreparedQuery preparedQuery = queryBuilder.buildQuery(new EntityData(new EntityMetaData(Person.class), new EntityObjectData(Person.class, 1L)));
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQuery.sql())
+                        .isEqualTo("SELECT id, nick_name, old, email FROM users WHERE id = ?;"),
+                () -> assertThat(preparedQuery.parameters())
+                        .containsExactly(1L)
+        );
     }
 
-    @DisplayName("findById 쿼리 문자열 생성할시 id가 String이면 작은따옴표로 묶어준다.")
+    @DisplayName("findById 쿼리 문자열 생성할시 id가 String이면 문자열 그대로 바인딩 파라미터로 전달한다.")
     @Test
     void buildFindByIdStringTest() {
         //given
         SelectByIdQueryBuilder queryBuilder = new SelectByIdQueryBuilder();
-        //when, then
-        assertThat(queryBuilder.buildQuery(new EntityData(new EntityMetaData(Person.class), new EntityObjectData(Person.class, "sangki"))))
-                .isEqualTo("SELECT id, nick_name, old, email FROM users WHERE id = 'sangki';");
+
+        //when
+        PreparedQuery preparedQuery = queryBuilder.buildQuery(new EntityData(new EntityMetaData(Person.class), new EntityObjectData(Person.class, "sangki")));
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQuery.sql())
+                        .isEqualTo("SELECT id, nick_name, old, email FROM users WHERE id = ?;"),
+                () -> assertThat(preparedQuery.parameters())
+                        .containsExactly("sangki")
+        );
     }
 
     @DisplayName("Object 인스턴스를 받아 findById 쿼리 문자열 생성한다.")
@@ -78,9 +120,16 @@ class DMLBuilderTest {
 
         SelectByIdQueryBuilder queryBuilder = new SelectByIdQueryBuilder();
 
-        //when, then
-        assertThat(queryBuilder.buildQuery(new EntityData(new EntityMetaData(person.getClass()), new EntityObjectData(person))))
-                .isEqualTo("SELECT id, nick_name, old, email FROM users WHERE id = 1;");
+        //when
+        PreparedQuery preparedQuery = queryBuilder.buildQuery(new EntityData(new EntityMetaData(person.getClass()), new EntityObjectData(person)));
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQuery.sql())
+                        .isEqualTo("SELECT id, nick_name, old, email FROM users WHERE id = ?;"),
+                () -> assertThat(preparedQuery.parameters())
+                        .containsExactly(1L)
+        );
     }
 
     @DisplayName("Object 인스턴스를 받아 Update 쿼리 문자열 생성한다.")
@@ -90,9 +139,16 @@ class DMLBuilderTest {
         Person person = new Person(1L, "sangki", 29, "test@test.com", 1);
 
         UpdateQueryBuilder queryBuilder = new UpdateQueryBuilder();
-        //when, then
-        assertThat(queryBuilder.buildQuery(new EntityData(new EntityMetaData(person.getClass()), new EntityObjectData(person))))
-                .isEqualTo("UPDATE users SET nick_name='sangki', old=29, email='test@test.com' WHERE id = 1;");
+        //when
+        PreparedQuery preparedQuery = queryBuilder.buildQuery(new EntityData(new EntityMetaData(person.getClass()), new EntityObjectData(person)));
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQuery.sql())
+                        .isEqualTo("UPDATE users SET nick_name=?, old=?, email=? WHERE id = ?;"),
+                () -> assertThat(preparedQuery.parameters())
+                        .containsExactly("sangki", 29, "test@test.com", 1L)
+        );
     }
 
     @DisplayName("deleteById 쿼리 문자열 생성한다.")
@@ -100,9 +156,16 @@ class DMLBuilderTest {
     void buildDeleteByIdTest() {
         //given
         DeleteQueryBuilder queryBuilder = new DeleteQueryBuilder();
-        //when, then
-        assertThat(queryBuilder.buildQuery(new EntityData(new EntityMetaData(Person.class), new EntityObjectData(Person.class, "sangki"))))
-                .isEqualTo("DELETE FROM users WHERE id = 'sangki';");
+        //when
+        PreparedQuery preparedQuery = queryBuilder.buildQuery(new EntityData(new EntityMetaData(Person.class), new EntityObjectData(Person.class, "sangki")));
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQuery.sql())
+                        .isEqualTo("DELETE FROM users WHERE id = ?;"),
+                () -> assertThat(preparedQuery.parameters())
+                        .containsExactly("sangki")
+        );
     }
 
     @DisplayName("Object를 받아 deleteById 쿼리 문자열 생성한다.")
@@ -112,9 +175,16 @@ class DMLBuilderTest {
         Person person = new Person(1L, "sangki", 29, "test@test.com", 1);
 
         DeleteQueryBuilder queryBuilder = new DeleteQueryBuilder();
-        //when, then
-        assertThat(queryBuilder.buildQuery(new EntityData(new EntityMetaData(person.getClass()), new EntityObjectData(person))))
-                .isEqualTo("DELETE FROM users WHERE id = 1;");
+        //when
+        PreparedQuery preparedQuery = queryBuilder.buildQuery(new EntityData(new EntityMetaData(person.getClass()), new EntityObjectData(person)));
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQuery.sql())
+                        .isEqualTo("DELETE FROM users WHERE id = ?;"),
+                () -> assertThat(preparedQuery.parameters())
+                        .containsExactly(1L)
+        );
     }
 
     @DisplayName("@OneToMany가 포함되어있는 Entity를 finAll 쿼리를생성한다.")
@@ -131,7 +201,7 @@ class DMLBuilderTest {
                         "SELECT orders_.id, orders_.orderNumber, " +
                                 "order_items_.id, order_items_.order_id, order_items_.product, order_items_.quantity " +
                                 "FROM orders orders_ " +
-                                "JOIN order_items order_items_ " +
+                                "LEFT JOIN order_items order_items_ " +
                                 "ON orders_.id = order_items_.order_id;"
                 );
     }
@@ -144,16 +214,266 @@ class DMLBuilderTest {
 
         SelectByIdQueryBuilder queryBuilder = new SelectByIdQueryBuilder();
 
-        //when, then
-        assertThat(queryBuilder.buildQuery(entityData))
-                .isEqualTo(
-                        "SELECT orders_.id, orders_.orderNumber, " +
-                                "order_items_.id, order_items_.order_id, order_items_.product, order_items_.quantity " +
-                                "FROM orders orders_ " +
-                                "JOIN order_items order_items_ " +
-                                "ON orders_.id = order_items_.order_id " +
-                                "WHERE orders_.id = 1;"
-                );
+        //when
+        PreparedQuery preparedQuery = queryBuilder.buildQuery(entityData);
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQuery.sql())
+                        .isEqualTo(
+                                "SELECT orders_.id, orders_.orderNumber, " +
+                                        "order_items_.id, order_items_.order_id, order_items_.product, order_items_.quantity " +
+                                        "FROM orders orders_ " +
+                                        "JOIN order_items order_items_ " +
+                                        "ON orders_.id = order_items_.order_id " +
+                                        "WHERE orders_.id = ?;"
+                        ),
+                () -> assertThat(preparedQuery.parameters())
+                        .containsExactly(1L)
+        );
+    }
+
+    @DisplayName("Entity 클래스별 SQL 은 한번만 만들어 재사용한다.")
+    @Test
+    void sqlTemplateCacheTest() {
+        EntitySqlTemplates entitySqlTemplates = new EntitySqlTemplates(List.of(Person.class));
+        EntitySqlTemplate template = entitySqlTemplates.of(Person.class);
+
+        assertAll(
+                () -> assertThat(entitySqlTemplates.of(Person.class)).isSameAs(template),
+                () -> assertThat(template.insertSql(false)).isEqualTo("INSERT INTO users (id, nick_name, old, email) VALUES (?, ?, ?, ?);"),
+                () -> assertThat(template.updateSql()).isEqualTo("UPDATE users SET nick_name=?, old=?, email=? WHERE id = ?;"),
+                () -> assertThat(template.deleteSql()).isEqualTo("DELETE FROM users WHERE id = ?;"),
+                () -> assertThat(template.selectByIdSql()).isEqualTo("SELECT id, nick_name, old, email FROM users WHERE id = ?;")
+        );
+    }
+
+    @DisplayName("Entity 클래스별 SQL 캐시는 EntitySqlTemplates 마다 따로 가진다.")
+    @Test
+    void sqlTemplateScopeTest() {
+        //given
+        EntitySqlTemplates registered = new EntitySqlTemplates(List.of(Person.class));
+        EntitySqlTemplates other = new EntitySqlTemplates();
+
+        //when
+        EntitySqlTemplate lazyTemplate = other.of(Person.class);
+
+        //then
+        assertAll(
+                () -> assertThat(lazyTemplate).isNotSameAs(registered.of(Person.class)),
+                () -> assertThat(other.of(Person.class)).isSameAs(lazyTemplate),
+                () -> assertThat(lazyTemplate.selectByIdSql()).isEqualTo(registered.of(Person.class).selectByIdSql())
+        );
+    }
+
+    @DisplayName("PK 값이 없으면 PK 컬럼을 제외한 insert 쿼리를 사용한다.")
+    @Test
+    void buildInsertWithoutPkTest() {
+        //given
+        Person person = new Person(null, "sangki", 29, "test@test.com", 1);
+        EntityData entityData = new EntityData(new EntityMetaData(Person.class), new EntityObjectData(person));
+
+        //when
+        PreparedQuery preparedQuery = new InsertQueryBuilder().buildQuery(entityData);
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQuery.sql())
+                        .isEqualTo("INSERT INTO users (nick_name, old, email) VALUES (?, ?, ?);"),
+                () -> assertThat(preparedQuery.parameters())
+                        .containsExactly("sangki", 29, "test@test.com")
+        );
+    }
+
+    @DisplayName("변경된 컬럼만 수정하면 그 컬럼으로 update 쿼리를 만든다.")
+    @Test
+    void buildUpdateChangedColumnsTest() {
+        //given
+        Person person = new Person(1L, "sangki", 30, "test@test.com", 1);
+        EntityData entityData = new EntityData(new EntityMetaData(Person.class), new EntityObjectData(person));
+        entityData.changeColumns(entityData.getEntityColumn().getColumns().stream()
+                .filter(column -> column.getColumnName().equals("old"))
+                .toList());
+
+        //when
+        PreparedQuery preparedQuery = new UpdateQueryBuilder().buildQuery(entityData);
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQuery.sql())
+                        .isEqualTo("UPDATE users SET old=? WHERE id = ?;"),
+                () -> assertThat(preparedQuery.parameters())
+                        .containsExactly(30, 1L)
+        );
+    }
+
+    @DisplayName("변경된 컬럼 조합이 같으면 캐시된 update 쿼리를 재사용한다.")
+    @Test
+    void buildUpdateDirtyShapeCacheTest() {
+        //given
+        EntityData first = changedEntityData(new Person(1L, "sangki", 30, "test@test.com", 1), "old", "email");
+        EntityData second = changedEntityData(new Person(2L, "test", 31, "test2@test.com", 1), "old", "email");
+        UpdateQueryBuilder updateQueryBuilder = new UpdateQueryBuilder();
+
+        //when
+        PreparedQuery firstQuery = updateQueryBuilder.buildQuery(first);
+        PreparedQuery secondQuery = updateQueryBuilder.buildQuery(second);
+
+        //then
+        assertAll(
+                () -> assertThat(firstQuery.sql())
+                        .isEqualTo("UPDATE users SET old=?, email=? WHERE id = ?;"),
+                () -> assertThat(secondQuery.sql()).isSameAs(firstQuery.sql()),
+                () -> assertThat(secondQuery.parameters())
+                        .containsExactly(31, "test2@test.com", 2L)
+        );
+    }
+
+    @DisplayName("update 쿼리 조합 수가 제한을 넘으면 전체 컬럼을 수정한다.")
+    @Test
+    void buildUpdateFullRowFallbackTest() {
+        //given
+        EntityData entityData = changedEntityData(new Person(1L, "sangki", 30, "test@test.com", 1), "nick_name", "email");
+
+        //when
+        PreparedQuery preparedQuery = new UpdateQueryBuilder().buildQuery(entityData, 0, true);
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQuery.sql())
+                        .isEqualTo("UPDATE users SET nick_name=?, old=?, email=? WHERE id = ?;"),
+                () -> assertThat(preparedQuery.parameters())
+                        .containsExactly("sangki", 30, "test@test.com", 1L)
+        );
+    }
+
+    @DisplayName("여러 스레드가 동시에 새 update 쿼리 조합을 만들어도 제한 수까지만 캐시한다.")
+    @Test
+    void buildUpdateShapeLimitConcurrencyTest() {
+        //given
+        int maxShapes = 2;
+        EntitySqlTemplate template = new EntitySqlTemplates().of(Person.class);
+
+        //when
+        List<CompletableFuture<String>> futures = IntStream.range(0, 60)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> template.updateSql(i % 6 + 1, maxShapes)))
+                .toList();
+        Set<String> cachedSqls = futures.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        //then
+        assertAll(
+                () -> assertThat(cachedSqls).hasSize(maxShapes),
+                () -> assertThat(IntStream.rangeClosed(1, 6).mapToObj(mask -> template.updateSql(mask, maxShapes)).filter(Objects::nonNull))
+                        .hasSize(maxShapes)
+        );
+    }
+
+    private EntityData changedEntityData(Person person, String... columnNames) {
+        EntityData entityData = new EntityData(new EntityMetaData(Person.class), new EntityObjectData(person));
+        List<String> changedColumnNames = List.of(columnNames);
+        entityData.changeColumns(entityData.getEntityColumn().getColumns().stream()
+                .filter(column -> changedColumnNames.contains(column.getColumnName()))
+                .toList());
+        return entityData;
     }
 
+    @DisplayName("offset 페이지 쿼리와 keyset 페이지 쿼리를 생성한다.")
+    @Test
+    void buildPageQueryTest() {
+        //given
+        EntityData entityData = new EntityData(new EntityMetaData(Person.class), new EntityObjectData(Person.class));
+        SelectPageQueryBuilder selectPageQueryBuilder = new SelectPageQueryBuilder();
+
+        //when
+        PreparedQuery offsetQuery = selectPageQueryBuilder.buildOffsetQuery(entityData, 20, 10);
+        PreparedQuery firstPkQuery = selectPageQueryBuilder.buildKeysetQuery(entityData, "id", null, null, 10);
+        PreparedQuery nextPkQuery = selectPageQueryBuilder.buildKeysetQuery(entityData, "id", 3L, 3L, 10);
+        PreparedQuery nextColumnQuery = selectPageQueryBuilder.buildKeysetQuery(entityData, "nick_name", "test3", 3L, 10);
+
+        //then
+        assertAll(
+                () -> assertThat(offsetQuery.sql())
+                        .isEqualTo("SELECT id, nick_name, old, email FROM users ORDER BY id LIMIT ? OFFSET ?;"),
+                () -> assertThat(offsetQuery.parameters()).containsExactly(10, 20),
+                () -> assertThat(firstPkQuery.sql())
+                        .isEqualTo("SELECT id, nick_name, old, email FROM users ORDER BY id LIMIT ?;"),
+                () -> assertThat(nextPkQuery.sql())
+                        .isEqualTo("SELECT id, nick_name, old, email FROM users WHERE id > ? ORDER BY id LIMIT ?;"),
+                () -> assertThat(nextPkQuery.parameters()).containsExactly(3L, 10),
+                () -> assertThat(nextColumnQuery.sql())
+                        .isEqualTo("SELECT id, nick_name, old, email FROM users WHERE nick_name > ? OR (nick_name = ? AND id > ?) ORDER BY nick_name, id LIMIT ?;"),
+                () -> assertThat(nextColumnQuery.parameters()).containsExactly("test3", "test3", 3L, 10)
+        );
+    }
+
+    @DisplayName("여러 id 조회를 IN 절로 나누고, 정해진 크기로 맞춰 마지막 id 로 채운다.")
+    @Test
+    void buildSelectInTest() {
+        //given
+        EntityData entityData = new EntityData(new EntityMetaData(Person.class), new EntityObjectData(Person.class));
+        List<Object> ids = List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+
+        //when
+        List<PreparedQuery> preparedQueries = new SelectByIdQueryBuilder().buildInQueries(entityData, ids, 4);
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQueries).hasSize(2),
+                () -> assertThat(preparedQueries.get(0).sql())
+                        .isEqualTo("SELECT id, nick_name, old, email FROM users WHERE id IN (?, ?, ?, ?);"),
+                () -> assertThat(preparedQueries.get(0).parameters()).containsExactly(1L, 2L, 3L, 4L),
+                () -> assertThat(preparedQueries.get(1).sql()).isSameAs(preparedQueries.get(0).sql()),
+                () -> assertThat(preparedQueries.get(1).parameters()).containsExactly(5L, 6L, 7L, 7L)
+        );
+    }
+
+    @DisplayName("같은 Entity 의 insert 를 row 수와 파라미터 수 제한 안에서 multi row insert 로 묶는다.")
+    @Test
+    void buildMultiRowInsertTest() {
+        //given
+        List<EntityData> entityDataList = List.of(
+                        new Person(1L, "test1", 29, "test@test.com", 1),
+                        new Person(2L, "test2", 30, "test@test.com", 1),
+                        new Person(3L, "test3", 31, "test@test.com", 1)).stream()
+                .map(person -> new EntityData(new EntityMetaData(Person.class), new EntityObjectData(person)))
+                .toList();
+
+        //when
+        List<PreparedQuery> preparedQueries = new InsertQueryBuilder().buildMultiRowQueries(entityDataList, 10, 8);
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQueries).hasSize(2),
+                () -> assertThat(preparedQueries.get(0).sql())
+                        .isEqualTo("INSERT INTO users (id, nick_name, old, email) VALUES (?, ?, ?, ?), (?, ?, ?, ?);"),
+                () -> assertThat(preparedQueries.get(0).parameters())
+                        .containsExactly(1L, "test1", 29, "test@test.com", 2L, "test2", 30, "test@test.com"),
+                () -> assertThat(preparedQueries.get(1).sql())
+                        .isEqualTo("INSERT INTO users (id, nick_name, old, email) VALUES (?, ?, ?, ?);")
+        );
+    }
+
+    @DisplayName("같은 Entity 의 delete 를 IN 절로 묶고, 정해진 크기로 맞춰 마지막 id 로 채운다.")
+    @Test
+    void buildDeleteInTest() {
+        //given
+        List<EntityData> entityDataList = List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L).stream()
+                .map(id -> new EntityData(new EntityMetaData(Person.class), new EntityObjectData(Person.class, id)))
+                .toList();
+
+        //when
+        List<PreparedQuery> preparedQueries = new DeleteQueryBuilder().buildInQueries(entityDataList, 4);
+
+        //then
+        assertAll(
+                () -> assertThat(preparedQueries).hasSize(2),
+                () -> assertThat(preparedQueries.get(0).sql()).isEqualTo("DELETE FROM users WHERE id IN (?, ?, ?, ?);"),
+                () -> assertThat(preparedQueries.get(0).parameters()).containsExactly(1L, 2L, 3L, 4L),
+                () -> assertThat(preparedQueries.get(1).sql()).isEqualTo("DELETE FROM users WHERE id IN (?, ?, ?, ?);"),
+                () -> assertThat(preparedQueries.get(1).parameters()).containsExactly(5L, 6L, 7L, 7L)
+        );
+    }
 }
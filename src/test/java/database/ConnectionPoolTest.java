@@ -0,0 +1,161 @@
+package database;
+
+import jdbc.JdbcTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/*
+- 생성시 prefillSize 만큼 커넥션을 미리 만들어둔다.
+- 반납한 커넥션은 다음 대여시 재사용된다.
+- 모든 커넥션이 대여중이면 timeout 후 예외가 발생한다.
+- 닫힌 커넥션은 대여시 새 커넥션으로 교체된다.
+- 동시에 대여해도 maxSize 를 넘지 않는다.
+- JdbcTemplate 은 작업마다 커넥션을 빌리고 반납한다.
+*/
+class ConnectionPoolTest {
+
+    private DatabaseServer server;
+    private ConnectionPool connectionPool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.server = new H2();
+        this.server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (this.connectionPool != null) {
+            this.connectionPool.close();
+        }
+        this.server.stop();
+    }
+
+    @DisplayName("생성시 prefillSize 만큼 커넥션을 미리 만들어둔다.")
+    @Test
+    void prefillTest() {
+        connectionPool = new ConnectionPool(server, new ConnectionPoolProperties(4, 2, 1000, 5, 0));
+
+        assertAll(
+                () -> assertThat(connectionPool.getTotalConnections()).isEqualTo(2),
+                () -> assertThat(connectionPool.getIdleConnections()).isEqualTo(2),
+                () -> assertThat(connectionPool.getActiveConnections()).isEqualTo(0)
+        );
+    }
+
+    @DisplayName("반납한 커넥션은 다음 대여시 재사용된다.")
+    @Test
+    void reuseTest() throws SQLException {
+        connectionPool = new ConnectionPool(server, new ConnectionPoolProperties(2, 1, 1000, 5, 0));
+
+        Connection first = connectionPool.getConnection();
+        connectionPool.releaseConnection(first);
+        Connection second = connectionPool.getConnection();
+
+        assertAll(
+                () -> assertThat(second).isSameAs(first),
+                () -> assertThat(connectionPool.getTotalConnections()).isEqualTo(1),
+                () -> assertThat(connectionPool.getActiveConnections()).isEqualTo(1)
+        );
+    }
+
+    @DisplayName("모든 커넥션이 대여중이면 timeout 후 예외가 발생한다.")
+    @Test
+    void acquireTimeoutTest() throws SQLException {
+        connectionPool = new ConnectionPool(server, new ConnectionPoolProperties(1, 1, 100, 5, 0));
+        connectionPool.getConnection();
+
+        assertThatThrownBy(() -> connectionPool.getConnection())
+                .isInstanceOf(SQLTimeoutException.class);
+    }
+
+    @DisplayName("닫힌 커넥션은 대여시 새 커넥션으로 교체된다.")
+    @Test
+    void replaceClosedConnectionTest() throws SQLException {
+        connectionPool = new ConnectionPool(server, new ConnectionPoolProperties(1, 1, 1000, 5, 0));
+        List<Connection> evicted = new ArrayList<>();
+        connectionPool.addEvictionListener(evicted::add);
+
+        Connection first = connectionPool.getConnection();
+        connectionPool.releaseConnection(first);
+        first.close();
+        Connection second = connectionPool.getConnection();
+
+        assertAll(
+                () -> assertThat(second).isNotSameAs(first),
+                () -> assertThat(second.isClosed()).isFalse(),
+                () -> assertThat(evicted).containsExactly(first),
+                () -> assertThat(connectionPool.getTotalConnections()).isEqualTo(1)
+        );
+    }
+
+    @DisplayName("동시에 대여해도 maxSize 를 넘지 않는다.")
+    @Test
+    void concurrentBorrowTest() throws Exception {
+        //given
+        final int maxSize = 3;
+        connectionPool = new ConnectionPool(server, new ConnectionPoolProperties(maxSize, 0, 5000, 5, 0));
+        AtomicInteger maxActive = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(executorService.submit(() -> {
+                Connection connection = connectionPool.getConnection();
+                try {
+                    maxActive.accumulateAndGet(connectionPool.getActiveConnections(), Math::max);
+                } finally {
+                    connectionPool.releaseConnection(connection);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+
+        //then
+        assertAll(
+                () -> assertThat(maxActive.get()).isLessThanOrEqualTo(maxSize),
+                () -> assertThat(connectionPool.getTotalConnections()).isLessThanOrEqualTo(maxSize),
+                () -> assertThat(connectionPool.getActiveConnections()).isEqualTo(0)
+        );
+    }
+
+    @DisplayName("JdbcTemplate 은 작업마다 커넥션을 빌리고 반납한다.")
+    @Test
+    void jdbcTemplateTest() {
+        //given
+        connectionPool = new ConnectionPool(server, new ConnectionPoolProperties(2, 1, 1000, 5, 0));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(connectionPool);
+
+        //when
+        Integer result = jdbcTemplate.queryForObject("SELECT 1", resultSet -> resultSet.getInt(1));
+
+        //then
+        assertAll(
+                () -> assertThat(result).isEqualTo(1),
+                () -> assertThat(connectionPool.getActiveConnections()).isEqualTo(0),
+                () -> assertThat(connectionPool.getIdleConnections()).isEqualTo(1)
+        );
+    }
+
+}
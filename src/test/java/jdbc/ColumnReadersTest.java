@@ -0,0 +1,108 @@
+package jdbc;
+
+import database.DatabaseServer;
+import database.H2;
+import jakarta.persistence.Transient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/*
+- @Transient 를 제외한 필드 순서대로 reader 를 만든다.
+- 필드 타입에 맞는 getter 로 값을 읽어 넣는다.
+- 래퍼 타입 필드는 NULL 컬럼을 null 로 넣고, primitive 필드는 기본값을 넣는다.
+*/
+class ColumnReadersTest {
+
+    private DatabaseServer server;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.server = new H2();
+        this.server.start();
+        this.connection = server.getConnection();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        this.connection.close();
+        this.server.stop();
+    }
+
+    @DisplayName("@Transient 를 제외한 필드 순서대로 reader 를 만든다.")
+    @Test
+    void readerCountTest() {
+        List<ColumnReader> columnReaders = ColumnReaders.of(Sample.class);
+
+        assertAll(
+                () -> assertThat(columnReaders).hasSize(6),
+                () -> assertThat(ColumnReaders.of(Sample.class)).isSameAs(columnReaders)
+        );
+    }
+
+    @DisplayName("필드 타입에 맞는 getter 로 값을 읽어 넣는다.")
+    @Test
+    void readTest() throws Exception {
+        Sample sample = read("SELECT CAST(1 AS BIGINT), 2, CAST(3 AS BIGINT), 4, 'name', CAST(5.5 AS DECIMAL(3, 1))");
+
+        assertAll(
+                () -> assertThat(sample.primitiveId).isEqualTo(1L),
+                () -> assertThat(sample.primitiveCount).isEqualTo(2),
+                () -> assertThat(sample.id).isEqualTo(3L),
+                () -> assertThat(sample.count).isEqualTo(4),
+                () -> assertThat(sample.name).isEqualTo("name"),
+                () -> assertThat(sample.price).isEqualTo(new BigDecimal("5.5"))
+        );
+    }
+
+    @DisplayName("래퍼 타입 필드는 NULL 컬럼을 null 로 넣고, primitive 필드는 기본값을 넣는다.")
+    @Test
+    void readNullTest() throws Exception {
+        Sample sample = read("SELECT CAST(NULL AS BIGINT), CAST(NULL AS INTEGER), CAST(NULL AS BIGINT), CAST(NULL AS INTEGER), CAST(NULL AS VARCHAR), CAST(NULL AS DECIMAL)");
+
+        assertAll(
+                () -> assertThat(sample.primitiveId).isEqualTo(0L),
+                () -> assertThat(sample.primitiveCount).isEqualTo(0),
+                () -> assertThat(sample.id).isNull(),
+                () -> assertThat(sample.count).isNull(),
+                () -> assertThat(sample.name).isNull(),
+                () -> assertThat(sample.price).isNull()
+        );
+    }
+
+    private Sample read(String sql) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            Sample sample = new Sample();
+            int index = 1;
+            for (ColumnReader columnReader : ColumnReaders.of(Sample.class)) {
+                columnReader.read(resultSet, index++, sample);
+            }
+            return sample;
+        }
+    }
+
+    static class Sample {
+        private long primitiveId;
+        private int primitiveCount;
+        private Long id;
+        private Integer count;
+        private String name;
+        private BigDecimal price;
+        @Transient
+        private String ignored;
+    }
+}
@@ -0,0 +1,198 @@
+package jdbc;
+
+import database.DatabaseServer;
+import database.H2;
+import entity.Person;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/*
+- Entity 클래스별로 매퍼를 한번만 만든다.
+- Entity 클래스별 매퍼는 EntityRowMappers 마다 따로 가진다.
+- row 의 컬럼을 필드 순서대로 읽어 Entity 를 만든다.
+- 지정한 컬럼 위치부터 읽어 Entity 를 만든다.
+- 기본 생성자가 없으면 예외가 발생한다.
+- 컬럼 label 로 필드를 찾아 일부 컬럼만 순서를 바꿔 select 해도 매핑한다.
+- 같은 label 의 컬럼이 여러개면 앞의 컬럼을 사용한다.
+- 병렬로 만든 Entity 목록은 row 순서와 같다.
+*/
+class EntityRowMapperTest {
+
+    private DatabaseServer server;
+    private Connection connection;
+    private EntityRowMappers entityRowMappers;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.server = new H2();
+        this.server.start();
+        this.connection = server.getConnection();
+        this.entityRowMappers = new EntityRowMappers(List.of(Person.class));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        this.connection.close();
+        this.server.stop();
+    }
+
+    @DisplayName("Entity 클래스별로 매퍼를 한번만 만든다.")
+    @Test
+    void cacheTest() {
+        EntityRowMapper<Person> entityRowMapper = this.entityRowMappers.of(Person.class);
+
+        assertAll(
+                () -> assertThat(this.entityRowMappers.of(Person.class)).isSameAs(entityRowMapper),
+                () -> assertThat(entityRowMapper.getColumnCount()).isEqualTo(4),
+                () -> assertThat(entityRowMapper.hasJoin()).isFalse()
+        );
+    }
+
+    @DisplayName("Entity 클래스별 매퍼는 EntityRowMappers 마다 따로 가진다.")
+    @Test
+    void scopeTest() {
+        //given
+        EntityRowMappers other = new EntityRowMappers();
+
+        //when
+        EntityRowMapper<Person> lazyMapper = other.of(Person.class);
+
+        //then
+        assertAll(
+                () -> assertThat(lazyMapper).isNotSameAs(this.entityRowMappers.of(Person.class)),
+                () -> assertThat(other.of(Person.class)).isSameAs(lazyMapper)
+        );
+    }
+
+    @DisplayName("row 의 컬럼을 필드 순서대로 읽어 Entity 를 만든다.")
+    @Test
+    void mapRowTest() throws SQLException {
+        Person person = read("SELECT CAST(1 AS BIGINT), 'test1', 29, 'test@test.com'",
+                resultSet -> this.entityRowMappers.of(Person.class).mapRow(resultSet));
+
+        assertAll(
+                () -> assertThat(person.getId()).isEqualTo(1L),
+                () -> assertThat(person.getName()).isEqualTo("test1"),
+                () -> assertThat(person.getAge()).isEqualTo(29),
+                () -> assertThat(person.getEmail()).isEqualTo("test@test.com")
+        );
+    }
+
+    @DisplayName("지정한 컬럼 위치부터 읽어 Entity 를 만든다.")
+    @Test
+    void readEntityOffsetTest() throws SQLException {
+        Person person = read("SELECT 'skip', CAST(2 AS BIGINT), 'test2', 30, 'test2@test.com'",
+                resultSet -> this.entityRowMappers.of(Person.class).readEntity(resultSet, 2));
+
+        assertAll(
+                () -> assertThat(person.getId()).isEqualTo(2L),
+                () -> assertThat(person.getEmail()).isEqualTo("test2@test.com")
+        );
+    }
+
+    @DisplayName("기본 생성자가 없으면 예외가 발생한다.")
+    @Test
+    void noDefaultConstructorTest() {
+        assertThatThrownBy(() -> this.entityRowMappers.of(NoDefaultConstructor.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("컬럼 label 로 필드를 찾아 일부 컬럼만 순서를 바꿔 select 해도 매핑한다.")
+    @Test
+    void labelRowMapperTest() throws SQLException {
+        String sql = "SELECT 'test@test.com' AS email, CAST(3 AS BIGINT) AS id";
+        RowMapper<Person> rowMapper = this.entityRowMappers.of(Person.class).rowMapper(sql);
+
+        Person person = read(sql, resultSet -> mapRow(rowMapper, resultSet));
+
+        assertAll(
+                () -> assertThat(person.getId()).isEqualTo(3L),
+                () -> assertThat(person.getEmail()).isEqualTo("test@test.com"),
+                () -> assertThat(person.getName()).isNull(),
+                () -> assertThat(person.getAge()).isNull()
+        );
+    }
+
+    @DisplayName("같은 label 의 컬럼이 여러개면 앞의 컬럼을 사용한다.")
+    @Test
+    void duplicateLabelTest() throws SQLException {
+        String sql = "SELECT 30 AS old, CAST(1 AS BIGINT) AS id, CAST(2 AS BIGINT) AS id";
+        RowMapper<Person> rowMapper = this.entityRowMappers.of(Person.class).rowMapper(sql);
+
+        Person person = read(sql, resultSet -> mapRow(rowMapper, resultSet));
+
+        assertAll(
+                () -> assertThat(person.getId()).isEqualTo(1L),
+                () -> assertThat(person.getAge()).isEqualTo(30)
+        );
+    }
+
+    @DisplayName("병렬로 만든 Entity 목록은 row 순서와 같다.")
+    @Test
+    void parallelExtractorTest() throws SQLException {
+        //given
+        String sql = "SELECT CAST(X AS BIGINT) AS id, 'name' || X AS nick_name, "
+                + "CASE WHEN MOD(X, 10) = 0 THEN NULL ELSE CAST(MOD(X, 100) AS INT) END AS old "
+                + "FROM SYSTEM_RANGE(1, 1000) ORDER BY X";
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        //when
+        List<Person> persons;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            persons = this.entityRowMappers.of(Person.class).parallelExtractor(sql, pool, 7).extractData(resultSet);
+        } finally {
+            pool.shutdown();
+        }
+
+        //then
+        assertAll(
+                () -> assertThat(persons).hasSize(1000),
+                () -> assertThat(persons.stream().map(Person::getId).toList())
+                        .isEqualTo(LongStream.rangeClosed(1, 1000).boxed().toList()),
+                () -> assertThat(persons.get(41).getName()).isEqualTo("name42"),
+                () -> assertThat(persons.get(41).getAge()).isEqualTo(42),
+                () -> assertThat(persons.get(9).getAge()).isNull(),
+                () -> assertThat(persons.get(41).getEmail()).isNull()
+        );
+    }
+
+    private static <T> T mapRow(RowMapper<T> rowMapper, ResultSet resultSet) {
+        try {
+            return rowMapper.mapRow(resultSet);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private <T> T read(String sql, Function<ResultSet, T> mapper) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return mapper.apply(resultSet);
+        }
+    }
+
+    static class NoDefaultConstructor {
+        private Long id;
+
+        NoDefaultConstructor(Long id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package jdbc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/*
+- 처음 넣는 id 는 ABSENT 를, 이미 있는 id 는 처음 넣은 위치를 돌려준다.
+- 용량을 넘겨 커져도 넣었던 id 의 위치를 유지한다.
+*/
+class IdIndexTest {
+
+    @DisplayName("처음 넣는 id 는 ABSENT 를, 이미 있는 id 는 처음 넣은 위치를 돌려준다.")
+    @Test
+    void putIfAbsentTest() {
+        IdIndex idIndex = new IdIndex(4);
+
+        assertAll(
+                () -> assertThat(idIndex.putIfAbsent(1L, 0)).isEqualTo(IdIndex.ABSENT),
+                () -> assertThat(idIndex.putIfAbsent(2L, 1)).isEqualTo(IdIndex.ABSENT),
+                () -> assertThat(idIndex.putIfAbsent(1L, 2)).isEqualTo(0),
+                () -> assertThat(idIndex.size()).isEqualTo(2)
+        );
+    }
+
+    @DisplayName("용량을 넘겨 커져도 넣었던 id 의 위치를 유지한다.")
+    @Test
+    void resizeTest() {
+        IdIndex idIndex = new IdIndex(1);
+        for (int i = 0; i < 1000; i++) {
+            idIndex.putIfAbsent((long) i, i);
+        }
+
+        assertAll(
+                () -> assertThat(idIndex.size()).isEqualTo(1000),
+                () -> assertThat(idIndex.putIfAbsent(0L, -2)).isEqualTo(0),
+                () -> assertThat(idIndex.putIfAbsent(999L, -2)).isEqualTo(999)
+        );
+    }
+}
@@ -0,0 +1,388 @@
+package jdbc;
+
+import builder.ddl.DDLBuilderData;
+import builder.ddl.builder.CreateQueryBuilder;
+import builder.ddl.builder.DropQueryBuilder;
+import builder.ddl.dataType.DB;
+import database.H2DBConnection;
+import entity.Person;
+import jdbc.stat.QueryStatistics;
+import jdbc.stat.SlowQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/*
+- ? 플레이스홀더에 파라미터를 바인딩하여 insert 한다.
+- ? 플레이스홀더에 파라미터를 바인딩하여 조회한다.
+- null 파라미터도 바인딩한다.
+- 같은 SQL 을 반복 실행하면 PreparedStatement 를 재사용한다.
+- batchSize 단위로 나누어 배치 실행하고 row 별 update count 를 돌려준다.
+- batchSize 가 1보다 작으면 예외가 발생한다.
+- Stream 으로 조회하면 소비하는 만큼 row 를 읽는다.
+- Stream 을 닫으면 PreparedStatement 가 캐시로 돌아간다.
+- insert 후 DB 가 생성한 키를 돌려준다.
+- 배치 insert 후 DB 가 생성한 키를 row 순서대로 돌려준다.
+- 비동기로 여러 조회를 동시에 실행한다.
+- 비동기 조회를 cancel 하면 실행중인 Statement 가 중단된다.
+- 동기 조회를 다른 스레드에서 CancellationToken 으로 cancel 하면 실행중인 Statement 가 중단된다.
+- 커넥션 하나를 공유할 때 다른 스레드의 Statement 는 트랜잭션이 끝날때까지 기다리고 트랜잭션에 섞이지 않는다.
+- close 하면 이후의 비동기 실행은 거절되고 동기 실행은 그대로 된다.
+- queryTimeout 을 넘긴 Statement 는 중단된다.
+- withTimeout 의 기한이 지나면 다음 Statement 를 실행하지 않는다.
+- 통계를 켜면 리터럴만 다른 SQL 을 같은 형태로 모아 실행 횟수와 row 수를 기록한다.
+- threshold 를 넘긴 Statement 는 EXPLAIN 결과와 함께 비동기로 기록되고, EXPLAIN 은 SQL 형태마다 한번만 실행한다.
+*/
+class JdbcTemplateTest {
+
+    private static final String INSERT_QUERY = "INSERT INTO users (id, nick_name, old, email) VALUES (?, ?, ?, ?);";
+    private static final String GENERATED_ID_INSERT_QUERY = "INSERT INTO users (nick_name, old, email) VALUES (?, ?, ?);";
+    private static final String SELECT_BY_ID_QUERY = "SELECT id, nick_name, old, email FROM users WHERE id = ?;";
+
+    private H2DBConnection h2DBConnection;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        this.h2DBConnection = new H2DBConnection();
+        this.jdbcTemplate = this.h2DBConnection.start();
+
+        //테이블 생성
+        CreateQueryBuilder queryBuilder = new CreateQueryBuilder();
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(Person.class, DB.H2)));
+    }
+
+    //정확한 테스트를 위해 메소드마다 테이블 DROP 후 DB종료
+    @AfterEach
+    void tearDown() {
+        DropQueryBuilder queryBuilder = new DropQueryBuilder();
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(Person.class, DB.H2)));
+        this.h2DBConnection.stop();
+    }
+
+    @DisplayName("? 플레이스홀더에 파라미터를 바인딩하여 insert 한다.")
+    @Test
+    void updateTest() {
+        int updateCount = jdbcTemplate.update(INSERT_QUERY, 1L, "test1", 29, "test@test.com");
+
+        assertThat(updateCount).isEqualTo(1);
+    }
+
+    @DisplayName("? 플레이스홀더에 파라미터를 바인딩하여 조회한다.")
+    @Test
+    void queryTest() {
+        jdbcTemplate.update(INSERT_QUERY, 1L, "test1", 29, "test@test.com");
+        jdbcTemplate.update(INSERT_QUERY, 2L, "test2", 30, "test2@test.com");
+
+        List<String> names = jdbcTemplate.query(SELECT_BY_ID_QUERY, resultSet -> resultSet.getString("nick_name"), 2L);
+
+        assertThat(names).containsExactly("test2");
+    }
+
+    @DisplayName("null 파라미터도 바인딩한다.")
+    @Test
+    void bindNullTest() {
+        jdbcTemplate.update(INSERT_QUERY, 1L, null, null, "test@test.com");
+
+        Person person = jdbcTemplate.queryForObject(SELECT_BY_ID_QUERY,
+                resultSet -> new Person(resultSet.getLong("id"), resultSet.getString("nick_name"), (Integer) resultSet.getObject("old"), resultSet.getString("email")),
+                1L);
+
+        assertThat(person)
+                .extracting("id", "name", "age", "email")
+                .containsExactly(1L, null, null, "test@test.com");
+    }
+
+    @DisplayName("같은 SQL 을 반복 실행하면 PreparedStatement 를 재사용한다.")
+    @Test
+    void statementCacheTest() {
+        long beforeMissCount = jdbcTemplate.getStatementCacheMissCount();
+
+        jdbcTemplate.update(INSERT_QUERY, 1L, "test1", 29, "test@test.com");
+        jdbcTemplate.update(INSERT_QUERY, 2L, "test2", 29, "test@test.com");
+        jdbcTemplate.update(INSERT_QUERY, 3L, "test3", 29, "test@test.com");
+
+        assertAll(
+                () -> assertThat(jdbcTemplate.getStatementCacheMissCount() - beforeMissCount).isEqualTo(1),
+                () -> assertThat(jdbcTemplate.getStatementCacheHitCount()).isEqualTo(2)
+        );
+    }
+
+    @DisplayName("batchSize 단위로 나누어 배치 실행하고 row 별 update count 를 돌려준다.")
+    @Test
+    void batchUpdateTest() {
+        List<Object[]> rows = List.of(
+                new Object[]{1L, "test1", 29, "test@test.com"},
+                new Object[]{2L, "test2", 29, "test@test.com"},
+                new Object[]{3L, "test3", 29, "test@test.com"},
+                new Object[]{4L, "test4", 29, "test@test.com"},
+                new Object[]{5L, "test5", 29, "test@test.com"}
+        );
+
+        int[] updateCounts = jdbcTemplate.batchUpdate(INSERT_QUERY, rows, 2);
+
+        assertAll(
+                () -> assertThat(updateCounts).containsExactly(1, 1, 1, 1, 1),
+                () -> assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users;", resultSet -> resultSet.getLong(1)))
+                        .isEqualTo(5L)
+        );
+    }
+
+    @DisplayName("batchSize 가 1보다 작으면 예외가 발생한다.")
+    @Test
+    void batchUpdateInvalidBatchSizeTest() {
+        assertThatThrownBy(() -> jdbcTemplate.batchUpdate(INSERT_QUERY, List.of(), 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("batchSize는 1 이상이어야 합니다. batchSize: 0");
+    }
+
+    @DisplayName("Stream 으로 조회하면 소비하는 만큼 row 를 읽는다.")
+    @Test
+    void queryForStreamTest() {
+        jdbcTemplate.update(INSERT_QUERY, 1L, "test1", 29, "test@test.com");
+        jdbcTemplate.update(INSERT_QUERY, 2L, "test2", 29, "test@test.com");
+        jdbcTemplate.update(INSERT_QUERY, 3L, "test3", 29, "test@test.com");
+
+        try (Stream<String> names = jdbcTemplate.queryForStream("SELECT nick_name FROM users ORDER BY id;", resultSet -> resultSet.getString(1), 2)) {
+            assertThat(names.limit(2).toList()).containsExactly("test1", "test2");
+        }
+    }
+
+    @DisplayName("Stream 을 닫으면 PreparedStatement 가 캐시로 돌아간다.")
+    @Test
+    void queryForStreamCloseTest() {
+        String sql = "SELECT nick_name FROM users;";
+        jdbcTemplate.queryForStream(sql, resultSet -> resultSet.getString(1), 10).close();
+        long beforeHitCount = jdbcTemplate.getStatementCacheHitCount();
+
+        jdbcTemplate.queryForStream(sql, resultSet -> resultSet.getString(1), 10).close();
+
+        assertThat(jdbcTemplate.getStatementCacheHitCount() - beforeHitCount).isEqualTo(1);
+    }
+
+    @DisplayName("insert 후 DB 가 생성한 키를 돌려준다.")
+    @Test
+    void updateForGeneratedKeyTest() {
+        Long firstId = jdbcTemplate.updateForGeneratedKey(GENERATED_ID_INSERT_QUERY, resultSet -> resultSet.getLong(1), "test1", 29, "test@test.com");
+        Long secondId = jdbcTemplate.updateForGeneratedKey(GENERATED_ID_INSERT_QUERY, resultSet -> resultSet.getLong(1), "test2", 30, "test2@test.com");
+
+        assertAll(
+                () -> assertThat(firstId).isNotNull(),
+                () -> assertThat(secondId).isEqualTo(firstId + 1)
+        );
+    }
+
+    @DisplayName("배치 insert 후 DB 가 생성한 키를 row 순서대로 돌려준다.")
+    @Test
+    void batchUpdateForGeneratedKeysTest() {
+        List<Object[]> rows = List.of(
+                new Object[]{"test1", 29, "test@test.com"},
+                new Object[]{"test2", 30, "test2@test.com"},
+                new Object[]{"test3", 31, "test3@test.com"}
+        );
+
+        List<Long> ids = jdbcTemplate.batchUpdateForGeneratedKeys(GENERATED_ID_INSERT_QUERY, rows, resultSet -> resultSet.getLong(1), 2);
+
+        assertAll(
+                () -> assertThat(ids).hasSize(3),
+                () -> assertThat(jdbcTemplate.queryForObject("SELECT nick_name FROM users WHERE id = ?;", resultSet -> resultSet.getString(1), ids.get(2)))
+                        .isEqualTo("test3")
+        );
+    }
+
+    @DisplayName("비동기로 여러 조회를 동시에 실행한다.")
+    @Test
+    void queryAsyncTest() {
+        jdbcTemplate.update(INSERT_QUERY, 1L, "test1", 29, "test@test.com");
+        jdbcTemplate.update(INSERT_QUERY, 2L, "test2", 30, "test2@test.com");
+
+        CompletableFuture<String> first = jdbcTemplate.queryForObjectAsync(SELECT_BY_ID_QUERY, resultSet -> resultSet.getString("nick_name"), 1L);
+        CompletableFuture<String> second = jdbcTemplate.queryForObjectAsync(SELECT_BY_ID_QUERY, resultSet -> resultSet.getString("nick_name"), 2L);
+        CompletableFuture<Integer> update = jdbcTemplate.updateAsync(INSERT_QUERY, 3L, "test3", 31, "test3@test.com");
+
+        assertAll(
+                () -> assertThat(first.join()).isEqualTo("test1"),
+                () -> assertThat(second.join()).isEqualTo("test2"),
+                () -> assertThat(update.join()).isEqualTo(1)
+        );
+    }
+
+    @DisplayName("비동기 조회를 cancel 하면 실행중인 Statement 가 중단된다.")
+    @Test
+    void cancelAsyncTest() throws Exception {
+        CompletableFuture<List<Long>> longQuery = jdbcTemplate.queryAsync(
+                "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b WHERE a.X + b.X > 0",
+                resultSet -> resultSet.getLong(1));
+        Thread.sleep(200);
+
+        boolean cancelled = longQuery.cancel(true);
+
+        //커넥션이 하나뿐이므로 Statement 가 중단되어야 다음 조회가 실행된다.
+        CompletableFuture<Integer> next = jdbcTemplate.queryForObjectAsync("SELECT 1", resultSet -> resultSet.getInt(1));
+        assertAll(
+                () -> assertThat(cancelled).isTrue(),
+                () -> assertThat(longQuery.isCancelled()).isTrue(),
+                () -> assertThat(next.get(10, TimeUnit.SECONDS)).isEqualTo(1)
+        );
+    }
+
+    @DisplayName("동기 조회를 다른 스레드에서 CancellationToken 으로 cancel 하면 실행중인 Statement 가 중단된다.")
+    @Test
+    void cancelSyncTest() throws Exception {
+        CancellationToken token = new CancellationToken();
+        CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        Thread queryThread = Thread.ofPlatform().start(() -> {
+            try {
+                jdbcTemplate.withCancellation(token, () -> jdbcTemplate.query(
+                        "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b WHERE a.X + b.X > 0",
+                        resultSet -> resultSet.getLong(1)));
+                failure.complete(null);
+            } catch (Throwable e) {
+                failure.complete(e);
+            }
+        });
+        Thread.sleep(200);
+
+        token.cancel();
+
+        Throwable thrown = failure.get(10, TimeUnit.SECONDS);
+        queryThread.join();
+        assertAll(
+                () -> assertThat(thrown).isInstanceOf(CancellationException.class),
+                () -> assertThat(token.isCancelled()).isTrue(),
+                () -> assertThatThrownBy(() -> jdbcTemplate.withCancellation(token, () -> jdbcTemplate.queryForObject("SELECT 1", resultSet -> resultSet.getInt(1))))
+                        .isInstanceOf(CancellationException.class),
+                () -> assertThat(jdbcTemplate.queryForObject("SELECT 1", resultSet -> resultSet.getInt(1))).isEqualTo(1)
+        );
+    }
+
+    @DisplayName("커넥션 하나를 공유할 때 다른 스레드의 Statement 는 트랜잭션이 끝날때까지 기다리고 트랜잭션에 섞이지 않는다.")
+    @Test
+    void transactionExclusiveConnectionTest() throws Exception {
+        JdbcTransaction transaction = jdbcTemplate.beginTransaction();
+        jdbcTemplate.inTransaction(transaction, () -> jdbcTemplate.update(INSERT_QUERY, 1L, "test1", 29, "test@test.com"));
+
+        CompletableFuture<Integer> other = CompletableFuture.supplyAsync(
+                () -> jdbcTemplate.update(INSERT_QUERY, 2L, "test2", 30, "test2@test.com"));
+        Thread.sleep(200);
+        boolean waited = !other.isDone();
+        jdbcTemplate.rollbackTransaction(transaction);
+
+        assertAll(
+                () -> assertThat(waited).isTrue(),
+                () -> assertThat(other.get(10, TimeUnit.SECONDS)).isEqualTo(1),
+                () -> assertThat(transaction.isActive()).isFalse(),
+                () -> assertThat(jdbcTemplate.query("SELECT id FROM users", resultSet -> resultSet.getLong(1)))
+                        .containsExactly(2L)
+        );
+    }
+
+    @DisplayName("close 하면 이후의 비동기 실행은 거절되고 동기 실행은 그대로 된다.")
+    @Test
+    void closeTest() {
+        jdbcTemplate.close();
+
+        assertAll(
+                () -> assertThatThrownBy(() -> jdbcTemplate.queryForObjectAsync("SELECT 1", resultSet -> resultSet.getInt(1)))
+                        .isInstanceOf(RejectedExecutionException.class),
+                () -> assertThat(jdbcTemplate.queryForObject("SELECT 1", resultSet -> resultSet.getInt(1))).isEqualTo(1)
+        );
+    }
+
+    @DisplayName("queryTimeout 을 넘긴 Statement 는 중단된다.")
+    @Test
+    void queryTimeoutTest() {
+        jdbcTemplate.setQueryTimeout(1);
+
+        assertThatThrownBy(() -> jdbcTemplate.query(
+                "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b WHERE a.X + b.X > 0",
+                resultSet -> resultSet.getLong(1)))
+                .hasRootCauseInstanceOf(SQLTimeoutException.class);
+    }
+
+    @DisplayName("withTimeout 의 기한이 지나면 다음 Statement 를 실행하지 않는다.")
+    @Test
+    void withTimeoutTest() {
+        assertThatThrownBy(() -> jdbcTemplate.withTimeout(Duration.ofMillis(200), () -> {
+            jdbcTemplate.update(INSERT_QUERY, 1L, "test1", 29, "test@test.com");
+            sleep(300);
+            return jdbcTemplate.update(INSERT_QUERY, 2L, "test2", 30, "test2@test.com");
+        })).hasRootCauseInstanceOf(SQLTimeoutException.class);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", resultSet -> resultSet.getLong(1)))
+                .isEqualTo(1L);
+    }
+
+    @DisplayName("통계를 켜면 리터럴만 다른 SQL 을 같은 형태로 모아 실행 횟수와 row 수를 기록한다.")
+    @Test
+    void statisticsTest() {
+        //given
+        jdbcTemplate.getStatistics().setEnabled(true);
+
+        //when
+        jdbcTemplate.update(INSERT_QUERY, 1L, "test1", 29, "test@test.com");
+        jdbcTemplate.update(INSERT_QUERY, 2L, "test2", 30, "test2@test.com");
+        jdbcTemplate.query("SELECT id FROM users WHERE old > 10", resultSet -> resultSet.getLong(1));
+        jdbcTemplate.query("SELECT id FROM users WHERE old > 29", resultSet -> resultSet.getLong(1));
+
+        //then
+        QueryStatistics insertStatistics = jdbcTemplate.getStatistics().getQueryStatistics(INSERT_QUERY);
+        QueryStatistics selectStatistics = jdbcTemplate.getStatistics().getQueryStatistics("SELECT id FROM users WHERE old > ?");
+        assertAll(
+                () -> assertThat(insertStatistics.getExecutionCount()).isEqualTo(2L),
+                () -> assertThat(insertStatistics.getRowCount()).isEqualTo(2L),
+                () -> assertThat(selectStatistics.getExecutionCount()).isEqualTo(2L),
+                () -> assertThat(selectStatistics.getRowCount()).isEqualTo(3L),
+                () -> assertThat(selectStatistics.getMaxMicros()).isGreaterThan(0L)
+        );
+    }
+
+    @DisplayName("threshold 를 넘긴 Statement 는 EXPLAIN 결과와 함께 비동기로 기록되고, EXPLAIN 은 SQL 형태마다 한번만 실행한다.")
+    @Test
+    void slowQueryLogTest() throws InterruptedException {
+        //given
+        jdbcTemplate.update(INSERT_QUERY, 1L, "test1", 29, "test@test.com");
+        BlockingQueue<SlowQuery> slowQueries = new LinkedBlockingQueue<>();
+        jdbcTemplate.getSlowQueryLog().addListener(slowQueries::add);
+        jdbcTemplate.getSlowQueryLog().setThreshold(Duration.ofNanos(1));
+
+        //when
+        jdbcTemplate.query(SELECT_BY_ID_QUERY, resultSet -> resultSet.getLong(1), 1L);
+        jdbcTemplate.query(SELECT_BY_ID_QUERY, resultSet -> resultSet.getLong(1), 2L);
+
+        //then
+        SlowQuery first = slowQueries.poll(5, TimeUnit.SECONDS);
+        SlowQuery second = slowQueries.poll(5, TimeUnit.SECONDS);
+        assertAll(
+                () -> assertThat(first.parameterCount()).isEqualTo(1),
+                () -> assertThat(first.rowCount()).isEqualTo(1L),
+                () -> assertThat(second.rowCount()).isEqualTo(0L),
+                () -> assertThat(first.plan().toUpperCase()).contains("USERS"),
+                () -> assertThat(second.plan()).isSameAs(first.plan())
+        );
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package jdbc;
+
+import database.DatabaseServer;
+import database.H2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/*
+- 같은 SQL 을 다시 준비하면 캐시된 Statement 를 재사용한다.
+- 최대 크기를 넘으면 가장 오래 사용하지 않은 Statement 를 닫고 제거한다.
+- 사용중인 Statement 는 다른 호출자에게 공유되지 않는다.
+*/
+class StatementCacheTest {
+
+    private DatabaseServer server;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.server = new H2();
+        this.server.start();
+        this.connection = server.getConnection();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        this.connection.close();
+        this.server.stop();
+    }
+
+    @DisplayName("같은 SQL 을 다시 준비하면 캐시된 Statement 를 재사용한다.")
+    @Test
+    void hitTest() throws SQLException {
+        StatementCache statementCache = new StatementCache(connection, 2);
+
+        PreparedStatement first = statementCache.acquire("SELECT 1");
+        statementCache.release("SELECT 1", first);
+        PreparedStatement second = statementCache.acquire("SELECT 1");
+
+        assertAll(
+                () -> assertThat(second).isSameAs(first),
+                () -> assertThat(statementCache.getHitCount()).isEqualTo(1),
+                () -> assertThat(statementCache.getMissCount()).isEqualTo(1)
+        );
+    }
+
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용하지 않은 Statement 를 닫고 제거한다.")
+    @Test
+    void evictTest() throws SQLException {
+        StatementCache statementCache = new StatementCache(connection, 2);
+
+        PreparedStatement first = statementCache.acquire("SELECT 1");
+        statementCache.release("SELECT 1", first);
+        PreparedStatement second = statementCache.acquire("SELECT 2");
+        statementCache.release("SELECT 2", second);
+        PreparedStatement third = statementCache.acquire("SELECT 3");
+        statementCache.release("SELECT 3", third);
+
+        assertAll(
+                () -> assertThat(statementCache.size()).isEqualTo(2),
+                () -> assertThat(first.isClosed()).isTrue(),
+                () -> assertThat(second.isClosed()).isFalse(),
+                () -> assertThat(third.isClosed()).isFalse()
+        );
+    }
+
+    @DisplayName("사용중인 Statement 는 다른 호출자에게 공유되지 않는다.")
+    @Test
+    void acquireInUseTest() throws SQLException {
+        StatementCache statementCache = new StatementCache(connection, 2);
+
+        PreparedStatement first = statementCache.acquire("SELECT 1");
+        PreparedStatement second = statementCache.acquire("SELECT 1");
+
+        assertThat(second).isNotSameAs(first);
+    }
+}
@@ -0,0 +1,142 @@
+package jdbc.columnar;
+
+import builder.ddl.DDLBuilderData;
+import builder.ddl.builder.CreateQueryBuilder;
+import builder.ddl.builder.DropQueryBuilder;
+import builder.ddl.dataType.DB;
+import database.H2DBConnection;
+import entity.OrderItem;
+import jdbc.JdbcTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/*
+- batchSize 개씩 나누어 컬럼별 배열에 채운다.
+- NULL 은 비트맵으로 표시한다.
+- 문자열 사전은 배치마다 새로 만들고, 배치 안에서는 같은 문자열이 같은 코드를 가진다.
+- 컬럼 타입과 다른 벡터로 가져오면 예외가 발생한다.
+*/
+class ColumnBatchIteratorTest {
+
+    private static final String INSERT_QUERY = "INSERT INTO order_items (id, order_id, product, quantity) VALUES (?, ?, ?, ?);";
+    private static final String SELECT_QUERY = "SELECT order_id, product, quantity FROM order_items ORDER BY id;";
+
+    private H2DBConnection h2DBConnection;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        this.h2DBConnection = new H2DBConnection();
+        this.jdbcTemplate = this.h2DBConnection.start();
+
+        CreateQueryBuilder queryBuilder = new CreateQueryBuilder();
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(OrderItem.class, DB.H2)));
+
+        jdbcTemplate.batchUpdate(INSERT_QUERY, List.of(
+                new Object[]{1L, 1L, "apple", 3},
+                new Object[]{2L, 1L, "banana", null},
+                new Object[]{3L, 2L, "apple", 5},
+                new Object[]{4L, 2L, null, 7},
+                new Object[]{5L, 3L, "banana", 1}
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        DropQueryBuilder queryBuilder = new DropQueryBuilder();
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(OrderItem.class, DB.H2)));
+        this.h2DBConnection.stop();
+    }
+
+    @DisplayName("batchSize 개씩 나누어 컬럼별 배열에 채운다.")
+    @Test
+    void batchTest() {
+        List<Integer> batchSizes = new ArrayList<>();
+        long orderIdSum = 0;
+        long quantitySum = 0;
+
+        try (ColumnBatchIterator iterator = jdbcTemplate.queryForColumnBatches(SELECT_QUERY, 2)) {
+            while (iterator.hasNext()) {
+                ColumnBatch batch = iterator.next();
+                LongColumnVector orderIds = batch.getLongColumn("order_id");
+                IntColumnVector quantities = batch.getIntColumn("quantity");
+                for (int row = 0; row < batch.size(); row++) {
+                    orderIdSum += orderIds.get(row);
+                    quantitySum += quantities.get(row);
+                }
+                batchSizes.add(batch.size());
+            }
+        }
+
+        long finalOrderIdSum = orderIdSum;
+        long finalQuantitySum = quantitySum;
+        assertAll(
+                () -> assertThat(batchSizes).containsExactly(2, 2, 1),
+                () -> assertThat(finalOrderIdSum).isEqualTo(9L),
+                () -> assertThat(finalQuantitySum).isEqualTo(16L)
+        );
+    }
+
+    @DisplayName("NULL 은 비트맵으로 표시한다.")
+    @Test
+    void nullBitmapTest() {
+        try (ColumnBatchIterator iterator = jdbcTemplate.queryForColumnBatches(SELECT_QUERY, 5)) {
+            ColumnBatch batch = iterator.next();
+            IntColumnVector quantities = batch.getIntColumn("quantity");
+            StringColumnVector products = batch.getStringColumn("product");
+
+            assertAll(
+                    () -> assertThat(quantities.isNull(1)).isTrue(),
+                    () -> assertThat(quantities.isNull(0)).isFalse(),
+                    () -> assertThat(products.isNull(3)).isTrue(),
+                    () -> assertThat(products.get(3)).isNull(),
+                    () -> assertThat(iterator.hasNext()).isFalse()
+            );
+        }
+    }
+
+    @DisplayName("문자열 사전은 배치마다 새로 만들고, 배치 안에서는 같은 문자열이 같은 코드를 가진다.")
+    @Test
+    void dictionaryTest() {
+        List<List<String>> dictionaries = new ArrayList<>();
+        List<Integer> appleCodes = new ArrayList<>();
+
+        try (ColumnBatchIterator iterator = jdbcTemplate.queryForColumnBatches(SELECT_QUERY, 2)) {
+            while (iterator.hasNext()) {
+                ColumnBatch batch = iterator.next();
+                StringColumnVector products = batch.getStringColumn("product");
+                for (int row = 0; row < batch.size(); row++) {
+                    if ("apple".equals(products.get(row))) {
+                        appleCodes.add(products.getCode(row));
+                    }
+                }
+                dictionaries.add(List.copyOf(products.getDictionary()));
+            }
+        }
+
+        assertAll(
+                () -> assertThat(appleCodes).containsExactly(0, 0),
+                () -> assertThat(dictionaries).containsExactly(List.of("apple", "banana"), List.of("apple"), List.of("banana"))
+        );
+    }
+
+    @DisplayName("컬럼 타입과 다른 벡터로 가져오면 예외가 발생한다.")
+    @Test
+    void columnTypeTest() {
+        try (ColumnBatchIterator iterator = jdbcTemplate.queryForColumnBatches(SELECT_QUERY, 2)) {
+            ColumnBatch batch = iterator.next();
+
+            assertThatThrownBy(() -> batch.getLongColumn("product"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
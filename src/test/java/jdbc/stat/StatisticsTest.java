@@ -0,0 +1,85 @@
+package jdbc.stat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/*
+- 리터럴과 공백만 다른 SQL 은 같은 형태로 정규화한다.
+- ? 개수만 다른 IN 절과 multi-row VALUES 는 같은 형태로 정규화한다.
+- 히스토그램의 백분위수는 실제 값과 1/8 이내로 차이난다.
+- 같은 형태의 SQL 은 하나의 통계로 모인다.
+*/
+class StatisticsTest {
+
+    @DisplayName("리터럴과 공백만 다른 SQL 은 같은 형태로 정규화한다.")
+    @Test
+    void normalizeLiteralTest() {
+        assertAll(
+                () -> assertThat(SqlShape.normalize("SELECT * FROM users WHERE id = 1 AND nick_name = 'a''b'"))
+                        .isEqualTo("SELECT * FROM users WHERE id = ? AND nick_name = ?"),
+                () -> assertThat(SqlShape.normalize("SELECT  *\n FROM users WHERE id = 20"))
+                        .isEqualTo("SELECT * FROM users WHERE id = ?"),
+                () -> assertThat(SqlShape.normalize("SELECT * FROM users2 WHERE old > 1.5"))
+                        .isEqualTo("SELECT * FROM users2 WHERE old > ?")
+        );
+    }
+
+    @DisplayName("? 개수만 다른 IN 절과 multi-row VALUES 는 같은 형태로 정규화한다.")
+    @Test
+    void normalizeListTest() {
+        assertAll(
+                () -> assertThat(SqlShape.normalize("DELETE FROM users WHERE id IN (?, ?, ?)"))
+                        .isEqualTo(SqlShape.normalize("DELETE FROM users WHERE id IN (1,2)")),
+                () -> assertThat(SqlShape.normalize("INSERT INTO t (a) VALUES (?), (?), (?)"))
+                        .isEqualTo("INSERT INTO t (a) VALUES (?)")
+        );
+    }
+
+    @DisplayName("히스토그램의 백분위수는 실제 값과 1/8 이내로 차이난다.")
+    @Test
+    void histogramPercentileTest() {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        //when
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        //then
+        assertAll(
+                () -> assertThat(histogram.getCount()).isEqualTo(100L),
+                () -> assertThat(histogram.getMaxMicros()).isEqualTo(100_000L),
+                () -> assertThat(histogram.getPercentileMicros(50)).isGreaterThanOrEqualTo(50_000L),
+                () -> assertThat(histogram.getPercentileMicros(50)).isLessThanOrEqualTo(50_000L * 9 / 8),
+                () -> assertThat(histogram.getPercentileMicros(99)).isGreaterThanOrEqualTo(99_000L),
+                () -> assertThat(histogram.getPercentileMicros(99)).isLessThanOrEqualTo(100_000L)
+        );
+    }
+
+    @DisplayName("같은 형태의 SQL 은 하나의 통계로 모인다.")
+    @Test
+    void recordTest() {
+        //given
+        Statistics statistics = new Statistics();
+
+        //when
+        statistics.record("SELECT * FROM users WHERE id = 1", 1_000_000L, 1);
+        statistics.record("SELECT * FROM users WHERE id = 2", 3_000_000L, 0);
+
+        //then
+        QueryStatistics queryStatistics = statistics.getQueryStatistics("SELECT * FROM users WHERE id = ?");
+        assertAll(
+                () -> assertThat(statistics.getQueryStatistics()).hasSize(1),
+                () -> assertThat(queryStatistics.getExecutionCount()).isEqualTo(2L),
+                () -> assertThat(queryStatistics.getRowCount()).isEqualTo(1L),
+                () -> assertThat(queryStatistics.getTotalMicros()).isEqualTo(4_000L),
+                () -> assertThat(queryStatistics.getMaxMicros()).isEqualTo(3_000L)
+        );
+    }
+}
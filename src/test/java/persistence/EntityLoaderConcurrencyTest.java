@@ -0,0 +1,139 @@
+package persistence;
+
+import boot.Metamodel;
+import boot.MetamodelImpl;
+import builder.ddl.DDLBuilderData;
+import builder.ddl.builder.CreateQueryBuilder;
+import builder.ddl.builder.DropQueryBuilder;
+import builder.ddl.dataType.DB;
+import builder.dml.EntityData;
+import builder.dml.EntityMetaData;
+import builder.dml.EntityObjectData;
+import builder.dml.builder.DMLQueryBuilder;
+import database.ConnectionPoolProperties;
+import database.H2DBConnection;
+import entity.Order;
+import entity.OrderItem;
+import entity.OrderLazy;
+import jdbc.JdbcTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+- 여러 스레드가 동시에 Order(EAGER) 와 OrderLazy(LAZY) 를 조회해도 각자의 OrderItem 만 매핑된다.
+*/
+class EntityLoaderConcurrencyTest {
+
+    private static final int ORDER_COUNT = 20;
+    private static final int ITEM_COUNT_PER_ORDER = 3;
+    private static final int THREAD_COUNT = 8;
+    private static final int LOAD_COUNT_PER_THREAD = 200;
+
+    private H2DBConnection h2DBConnection;
+    private JdbcTemplate jdbcTemplate;
+    private EntityLoader entityLoader;
+
+    @BeforeEach
+    void setUp() {
+        this.h2DBConnection = new H2DBConnection();
+        this.jdbcTemplate = this.h2DBConnection.start(new ConnectionPoolProperties(THREAD_COUNT, 2, 5000, 5, 0));
+
+        //테이블 생성
+        CreateQueryBuilder queryBuilder = new CreateQueryBuilder();
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(Order.class, DB.H2)));
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(OrderItem.class, DB.H2)));
+
+        Metamodel metamodel = new MetamodelImpl(jdbcTemplate);
+        metamodel.init();
+        this.entityLoader = new EntityLoader(jdbcTemplate, new DMLQueryBuilder());
+
+        EntityPersister entityPersister = new EntityPersister(jdbcTemplate, metamodel, new DMLQueryBuilder());
+        for (long orderId = 1; orderId <= ORDER_COUNT; orderId++) {
+            entityPersister.persist(createEntityData(new Order(orderId, "order" + orderId, createOrderItems(orderId))));
+        }
+    }
+
+    //정확한 테스트를 위해 메소드마다 테이블 DROP 후 DB종료
+    @AfterEach
+    void tearDown() {
+        DropQueryBuilder queryBuilder = new DropQueryBuilder();
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(Order.class, DB.H2)));
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(OrderItem.class, DB.H2)));
+        this.h2DBConnection.stop();
+    }
+
+    @DisplayName("여러 스레드가 동시에 Order(EAGER) 와 OrderLazy(LAZY) 를 조회해도 각자의 OrderItem 만 매핑된다.")
+    @Test
+    void concurrentLoadTest() throws Exception {
+        //given
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                List<Long> mismatchedOrderIds = new ArrayList<>();
+                for (int j = 0; j < LOAD_COUNT_PER_THREAD; j++) {
+                    long orderId = ThreadLocalRandom.current().nextLong(1, ORDER_COUNT + 1);
+                    Order order = entityLoader.find(createEntityData(Order.class, orderId));
+                    OrderLazy orderLazy = entityLoader.find(createEntityData(OrderLazy.class, orderId));
+                    if (!isItemsOf(order.getOrderItems(), orderId) || !isItemsOf(orderLazy.getOrderItems(), orderId)) {
+                        mismatchedOrderIds.add(orderId);
+                    }
+                }
+                return mismatchedOrderIds;
+            }));
+        }
+        startLatch.countDown();
+
+        List<Long> mismatchedOrderIds = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            mismatchedOrderIds.addAll(future.get());
+        }
+        executorService.shutdown();
+
+        //then
+        assertThat(mismatchedOrderIds).isEmpty();
+    }
+
+    private boolean isItemsOf(List<OrderItem> orderItems, long orderId) {
+        if (orderItems.size() != ITEM_COUNT_PER_ORDER) {
+            return false;
+        }
+        return orderItems.stream()
+                .flatMap(orderItem -> new EntityObjectData(orderItem).getEntityColumn().getColumns().stream())
+                .filter(column -> column.getColumnName().equals("order_id"))
+                .allMatch(column -> Long.valueOf(orderId).equals(column.getColumnValue()));
+    }
+
+    private EntityData createEntityData(Object entityInstance) {
+        return new EntityData(new EntityMetaData(entityInstance.getClass()), new EntityObjectData(entityInstance));
+    }
+
+    private EntityData createEntityData(Class<?> clazz, long id) {
+        return new EntityData(new EntityMetaData(clazz), new EntityObjectData(clazz, id));
+    }
+
+    private List<OrderItem> createOrderItems(long orderId) {
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (int i = 1; i <= ITEM_COUNT_PER_ORDER; i++) {
+            long itemId = (orderId - 1) * ITEM_COUNT_PER_ORDER + i;
+            orderItems.add(new OrderItem(itemId, orderId, "상품" + itemId, i));
+        }
+        return orderItems;
+    }
+}
@@ -33,6 +33,9 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 - Persist로 Person 저장 후 영속성 컨텍스트에 존재하는지 확인한다.
 - remove 실행하면 영속성 컨텍스트에 데이터가 제거된다.
 - update 실행하면 영속성컨텍스트 데이터도 수정된다.
+- Order 전체를 한번의 조인 쿼리로 조회하면 Order 마다 자신의 OrderItem 이 채워진다.
+- OrderItem 이 없는 Order 도 전체 조회에 빈 목록으로 포함된다.
+- OrderLazy 전체를 조회하면 OrderLazy 마다 자신의 OrderItem 을 조회하는 프록시가 채워진다.
 */
 class EntityLoaderTest {
 
@@ -152,6 +155,84 @@ class EntityLoaderTest {
         );
     }
 
+    @DisplayName("Order 전체를 한번의 조인 쿼리로 조회하면 Order 마다 자신의 OrderItem 이 채워진다.")
+    @Test
+    void findAllOrderTest() {
+        //given
+        this.entityPersister.persist(createEntityData(new Order(1L, "1234", List.of(createOrderItem(1, 1L), createOrderItem(2, 1L)))));
+        this.entityPersister.persist(createEntityData(new Order(2L, "5678", List.of(createOrderItem(3, 2L)))));
+
+        //when
+        List<Order> orders = this.entityLoader.findAll(new EntityData(new EntityMetaData(Order.class), new EntityObjectData(Order.class)));
+
+        //then
+        assertAll(
+                () -> assertThat(orders)
+                        .extracting("id", "orderNumber")
+                        .containsExactlyInAnyOrder(tuple(1L, "1234"), tuple(2L, "5678")),
+                () -> assertThat(orders)
+                        .allMatch(order -> ((Order) order).getOrderItems().stream()
+                                .allMatch(orderItem -> orderIdOf(orderItem).equals(idOf(order)))),
+                () -> assertThat(orders.stream().mapToInt(order -> order.getOrderItems().size()).sum()).isEqualTo(3)
+        );
+    }
+
+    @DisplayName("OrderItem 이 없는 Order 도 전체 조회에 빈 목록으로 포함된다.")
+    @Test
+    void findAllChildlessOrderTest() {
+        //given
+        this.entityPersister.persist(createEntityData(new Order(1L, "1234", List.of(createOrderItem(1, 1L)))));
+        this.entityPersister.persist(createEntityData(new Order(2L, "5678", List.of())));
+        this.entityPersister.persist(createEntityData(new Order(3L, "9999", List.of(createOrderItem(2, 3L), createOrderItem(3, 3L)))));
+
+        //when
+        List<Order> orders = this.entityLoader.findAll(new EntityData(new EntityMetaData(Order.class), new EntityObjectData(Order.class)));
+
+        //then
+        assertAll(
+                () -> assertThat(orders)
+                        .extracting("id", "orderNumber")
+                        .containsExactlyInAnyOrder(tuple(1L, "1234"), tuple(2L, "5678"), tuple(3L, "9999")),
+                () -> assertThat(orders.stream()
+                        .filter(order -> idOf(order).equals(2L))
+                        .findFirst().orElseThrow()
+                        .getOrderItems()).isEmpty(),
+                () -> assertThat(orders.stream().mapToInt(order -> order.getOrderItems().size()).sum()).isEqualTo(3)
+        );
+    }
+
+    @DisplayName("OrderLazy 전체를 조회하면 OrderLazy 마다 자신의 OrderItem 을 조회하는 프록시가 채워진다.")
+    @Test
+    void findAllOrderLazyTest() {
+        //given
+        this.entityPersister.persist(createEntityData(new OrderLazy(1L, "1234", List.of(createOrderItem(1, 1L), createOrderItem(2, 1L)))));
+        this.entityPersister.persist(createEntityData(new OrderLazy(2L, "5678", List.of(createOrderItem(3, 2L)))));
+
+        //when
+        List<OrderLazy> orders = this.entityLoader.findAll(new EntityData(new EntityMetaData(OrderLazy.class), new EntityObjectData(OrderLazy.class)));
+
+        //then
+        assertThat(orders)
+                .extracting(order -> ((OrderLazy) order).getOrderItems().size())
+                .containsExactlyInAnyOrder(2, 1);
+    }
+
+    private EntityData createEntityData(Object entityInstance) {
+        return new EntityData(new EntityMetaData(entityInstance.getClass()), new EntityObjectData(entityInstance));
+    }
+
+    private Object idOf(Object entityInstance) {
+        return new EntityObjectData(entityInstance).getId();
+    }
+
+    private Object orderIdOf(OrderItem orderItem) {
+        return new EntityObjectData(orderItem).getEntityColumn().getColumns().stream()
+                .filter(column -> column.getColumnName().equals("order_id"))
+                .findFirst()
+                .orElseThrow()
+                .getColumnValue();
+    }
+
     private Person createPerson(int i) {
         return new Person((long) i, "test" + i, 29, "test@test.com");
     }
@@ -9,17 +9,28 @@ import builder.ddl.dataType.DB;
 import builder.dml.EntityData;
 import builder.dml.builder.DMLQueryBuilder;
 import database.H2DBConnection;
+import entity.Order;
+import entity.OrderItem;
 import entity.Person;
 import event.EventListenerRegistry;
 import event.action.ActionQueue;
 import jdbc.JdbcTemplate;
+import jdbc.stat.QueryStatistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.junit.jupiter.api.Assertions.assertAll;
 
 /*
 - Persist로 Person 저장 후 영속성 컨텍스트에 존재하는지 확인한다.
@@ -27,6 +38,21 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 - update 실행하면 영속성컨텍스트 데이터도 수정된다.
 - update 실행하면 snapShot 데이터도 수정된다.
 - flush를 하지 않으면 데이터가 반영되지 않는다.
+- 전체 Entity 를 Stream 으로 조회한다.
+- 트랜잭션을 commit 하면 쌓인 동작들이 한번에 반영된다.
+- 트랜잭션을 rollback 하면 flush 한 데이터도 반영되지 않고 영속성 컨텍스트도 비워진다.
+- id 가 없는 Entity 를 persist 하면 생성된 id 가 인스턴스에 반영된다.
+- OrderItem 이 여러개인 Order 를 persist 하면 OrderItem 은 한 Statement 로 insert 된다.
+- 여러 Entity 를 비동기로 동시에 조회한다.
+- 트랜잭션이 진행중이면 비동기 조회도 커밋되지 않은 데이터를 본다.
+- projection 은 필요한 컬럼만 조회하여 record 로 만들고 영속성 컨텍스트에 등록하지 않는다.
+- projection 조회 전에 쌓여있는 동작을 먼저 반영한다.
+- offset 과 limit 으로 PK 순서의 페이지를 조회한다.
+- keyset 페이지는 다음 페이지 토큰으로 이어서 조회한다.
+- keyset 페이지 크기가 1 미만이거나 Integer.MAX_VALUE 이면 예외가 발생한다.
+- keyset 페이지 마지막 Entity 의 정렬 attribute 값이 null 이면 예외가 발생한다.
+- 여러 id 를 영속성 컨텍스트에서 먼저 찾고, 나머지는 한번에 조회하여 id 순서대로 돌려준다.
+- 여러 id 를 조회할 때 OrderItem 이 없는 Order 도 빈 목록으로 돌려준다.
 */
 class EntityManagerTest {
 
@@ -34,6 +60,7 @@ class EntityManagerTest {
     private H2DBConnection h2DBConnection;
     private JdbcTemplate jdbcTemplate;
     private PersistenceContext persistenceContext;
+    private Metamodel metamodel;
 
     @BeforeEach
     void setUp() {
@@ -45,11 +72,13 @@ class EntityManagerTest {
         String createQuery = queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(Person.class, DB.H2));
 
         jdbcTemplate.execute(createQuery);
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(Order.class, DB.H2)));
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(OrderItem.class, DB.H2)));
 
         this.persistenceContext = new PersistenceContextImpl();
 
-        Metamodel metamodel = new MetamodelImpl(jdbcTemplate);
-        metamodel.init();
+        this.metamodel = new MetamodelImpl(jdbcTemplate);
+        this.metamodel.init();
 
         ActionQueue actionQueue = new ActionQueue();
 
@@ -62,6 +91,8 @@ class EntityManagerTest {
         DropQueryBuilder queryBuilder = new DropQueryBuilder();
         String dropQuery = queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(Person.class, DB.H2));
         jdbcTemplate.execute(dropQuery);
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(Order.class, DB.H2)));
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(OrderItem.class, DB.H2)));
         this.h2DBConnection.stop();
     }
 
@@ -152,7 +183,295 @@ class EntityManagerTest {
                 .contains(1L, "test1", 29, "changed@test.com");
     }
 
+    @DisplayName("전체 Entity 를 Stream 으로 조회한다.")
+    @Test
+    void streamTest() {
+        this.entityManager.persist(createPerson(1));
+        this.entityManager.persist(createPerson(2));
+        this.entityManager.flush();
+
+        try (Stream<Person> persons = this.entityManager.stream(Person.class, 1)) {
+            assertThat(persons.toList())
+                    .extracting("id", "name")
+                    .containsExactly(tuple(1L, "test1"), tuple(2L, "test2"));
+        }
+    }
+
+    @DisplayName("트랜잭션을 commit 하면 쌓인 동작들이 한번에 반영된다.")
+    @Test
+    void transactionCommitTest() {
+        //given
+        EntityTransaction transaction = this.entityManager.getTransaction();
+        transaction.begin();
+
+        //when
+        this.entityManager.persist(createPerson(1));
+        this.entityManager.persist(createPerson(2));
+        transaction.commit();
+
+        //then
+        assertAll(
+                () -> assertThat(transaction.isActive()).isFalse(),
+                () -> assertThat(countPerson()).isEqualTo(2L)
+        );
+    }
+
+    @DisplayName("트랜잭션을 rollback 하면 flush 한 데이터도 반영되지 않고 영속성 컨텍스트도 비워진다.")
+    @Test
+    void transactionRollbackTest() {
+        //given
+        EntityTransaction transaction = this.entityManager.getTransaction();
+        transaction.begin();
+
+        //when
+        this.entityManager.persist(createPerson(1));
+        this.entityManager.flush();
+        this.entityManager.persist(createPerson(2));
+        transaction.rollback();
+
+        //then
+        assertAll(
+                () -> assertThat(transaction.isActive()).isFalse(),
+                () -> assertThat(countPerson()).isEqualTo(0L),
+                () -> assertThat(this.persistenceContext.findEntity(new EntityKey(1L, Person.class))).isNull(),
+                () -> assertThat(this.persistenceContext.findEntity(new EntityKey(2L, Person.class))).isNull()
+        );
+    }
+
+    @DisplayName("id 가 없는 Entity 를 persist 하면 생성된 id 가 인스턴스에 반영된다.")
+    @Test
+    void generatedIdPersistTest() {
+        Person person = new Person(null, "test1", 29, "test@test.com");
+
+        this.entityManager.persist(person);
+
+        assertAll(
+                () -> assertThat(person.getId()).isNotNull(),
+                () -> assertThat(this.entityManager.find(Person.class, person.getId())).isSameAs(
+                        this.persistenceContext.findEntity(new EntityKey(person.getId(), Person.class)).getEntityInstance()),
+                () -> assertThat(countPerson()).isEqualTo(1L)
+        );
+    }
+
+    @DisplayName("OrderItem 이 여러개인 Order 를 persist 하면 OrderItem 은 한 Statement 로 insert 된다.")
+    @Test
+    void orderItemsMultiRowPersistTest() {
+        //given
+        int itemCount = 5;
+        this.metamodel.collectionPersister().setMultiRowInsertLimit(itemCount, 1000);
+        this.jdbcTemplate.getStatistics().setEnabled(true);
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (int i = 1; i <= itemCount; i++) {
+            orderItems.add(new OrderItem(null, 1L, "product" + i, i));
+        }
+        Order order = new Order(null, "1234", orderItems);
+
+        //when
+        this.entityManager.persist(order);
+        this.entityManager.flush();
+
+        //then
+        List<QueryStatistics> orderItemInserts = this.jdbcTemplate.getStatistics().getQueryStatistics().stream()
+                .filter(queryStatistics -> queryStatistics.getSql().startsWith("INSERT INTO order_items"))
+                .toList();
+        assertAll(
+                () -> assertThat(orderItemInserts).hasSize(1),
+                () -> assertThat(orderItemInserts.getFirst().getExecutionCount()).isEqualTo(1L),
+                () -> assertThat(orderItemInserts.getFirst().getRowCount()).isEqualTo(itemCount),
+                () -> assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items", resultSet -> resultSet.getLong(1)))
+                        .isEqualTo((long) itemCount)
+        );
+    }
+
+    @DisplayName("여러 Entity 를 비동기로 동시에 조회한다.")
+    @Test
+    void findAsyncTest() {
+        this.entityManager.persist(createPerson(1));
+        this.entityManager.persist(createPerson(2));
+        this.entityManager.clear();
+
+        CompletableFuture<Person> first = this.entityManager.findAsync(Person.class, 1L);
+        CompletableFuture<Person> second = this.entityManager.findAsync(Person.class, 2L);
+
+        assertAll(
+                () -> assertThat(first.join()).extracting("id", "name").containsExactly(1L, "test1"),
+                () -> assertThat(second.join()).extracting("id", "name").containsExactly(2L, "test2")
+        );
+    }
+
+    @DisplayName("트랜잭션이 진행중이면 비동기 조회도 커밋되지 않은 데이터를 본다.")
+    @Test
+    void findAsyncInTransactionTest() {
+        //given
+        EntityTransaction transaction = this.entityManager.getTransaction();
+        transaction.begin();
+        this.entityManager.persist(createPerson(1));
+        this.entityManager.clear();
+
+        //when
+        CompletableFuture<Person> found = this.entityManager.findAsync(Person.class, 1L);
+        boolean doneBeforeRollback = found.isDone();
+        transaction.rollback();
+
+        //then
+        assertAll(
+                () -> assertThat(doneBeforeRollback).isTrue(),
+                () -> assertThat(found.join()).extracting("id", "name").containsExactly(1L, "test1"),
+                () -> assertThat(countPerson()).isEqualTo(0L)
+        );
+    }
+
+    @DisplayName("projection 은 필요한 컬럼만 조회하여 record 로 만들고 영속성 컨텍스트에 등록하지 않는다.")
+    @Test
+    void projectionTest() {
+        //given
+        this.entityManager.persist(createPerson(1));
+        this.entityManager.persist(createPerson(2));
+        this.entityManager.clear();
+
+        //when
+        Projection<PersonSummary> projection = this.entityManager.createProjection(PersonSummary.class, Person.class);
+        PersonSummary summary = projection.findById(2L);
+
+        //then
+        assertAll(
+                () -> assertThat(summary).isEqualTo(new PersonSummary(2L, "test2")),
+                () -> assertThat(projection.findAll()).containsExactly(new PersonSummary(1L, "test1"), new PersonSummary(2L, "test2")),
+                () -> assertThat(this.persistenceContext.findEntity(new EntityKey(2L, Person.class))).isNull()
+        );
+    }
+
+    @DisplayName("projection 조회 전에 쌓여있는 동작을 먼저 반영한다.")
+    @Test
+    void projectionFlushTest() {
+        this.entityManager.persist(createPerson(1));
+
+        PersonSummary summary = this.entityManager.createProjection(PersonSummary.class, Person.class).findById(1L);
+
+        assertThat(summary).isEqualTo(new PersonSummary(1L, "test1"));
+    }
+
+    @DisplayName("offset 과 limit 으로 PK 순서의 페이지를 조회한다.")
+    @Test
+    void findAllOffsetTest() {
+        //given
+        for (int i = 1; i <= 5; i++) {
+            this.entityManager.persist(createPerson(i));
+        }
+        this.entityManager.flush();
+
+        //when
+        List<Person> persons = this.entityManager.findAll(Person.class, 2, 2);
+
+        //then
+        assertThat(persons.stream().map(Person::getId).toList()).isEqualTo(List.of(3L, 4L));
+    }
+
+    @DisplayName("keyset 페이지는 다음 페이지 토큰으로 이어서 조회한다.")
+    @Test
+    void findPageTest() {
+        //given
+        this.entityManager.persist(new Person(1L, "b", 29, "test@test.com"));
+        this.entityManager.persist(new Person(2L, "a", 29, "test@test.com"));
+        this.entityManager.persist(new Person(3L, "b", 29, "test@test.com"));
+        this.entityManager.persist(new Person(4L, "c", 29, "test@test.com"));
+        this.entityManager.persist(new Person(5L, "a", 29, "test@test.com"));
+        this.entityManager.flush();
+
+        //when
+        Page<Person> first = this.entityManager.findPage(Person.class, "name", null, 2);
+        Page<Person> second = this.entityManager.findPage(Person.class, "name", first.getNextToken(), 2);
+        Page<Person> last = this.entityManager.findPage(Person.class, "name", second.getNextToken(), 2);
+
+        //then
+        assertAll(
+                () -> assertThat(first.getContent().stream().map(Person::getId).toList()).isEqualTo(List.of(2L, 5L)),
+                () -> assertThat(first.getNextToken()).isEqualTo(new PageToken("name", "a", 5L)),
+                () -> assertThat(second.getContent().stream().map(Person::getId).toList()).isEqualTo(List.of(1L, 3L)),
+                () -> assertThat(last.getContent().stream().map(Person::getId).toList()).isEqualTo(List.of(4L)),
+                () -> assertThat(last.hasNext()).isFalse()
+        );
+    }
+
+    @DisplayName("keyset 페이지 크기가 1 미만이거나 Integer.MAX_VALUE 이면 예외가 발생한다.")
+    @Test
+    void findPageLimitTest() {
+        assertAll(
+                () -> assertThatThrownBy(() -> this.entityManager.findPage(Person.class, "id", null, Integer.MAX_VALUE))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThatThrownBy(() -> this.entityManager.findPage(Person.class, "id", null, 0))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThat(this.entityManager.findPage(Person.class, "id", null, Integer.MAX_VALUE - 1).getContent()).isEmpty()
+        );
+    }
+
+    @DisplayName("keyset 페이지 마지막 Entity 의 정렬 attribute 값이 null 이면 예외가 발생한다.")
+    @Test
+    void findPageNullKeyTest() {
+        //given
+        this.entityManager.persist(new Person(1L, null, 29, "test@test.com"));
+        this.entityManager.persist(new Person(2L, "a", 29, "test@test.com"));
+        this.entityManager.flush();
+
+        //when, then
+        assertAll(
+                () -> assertThatThrownBy(() -> this.entityManager.findPage(Person.class, "name", null, 1))
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessageContaining("name"),
+                () -> assertThat(this.entityManager.findPage(Person.class, "name", null, 2).getContent()).hasSize(2)
+        );
+    }
+
+    @DisplayName("여러 id 를 영속성 컨텍스트에서 먼저 찾고, 나머지는 한번에 조회하여 id 순서대로 돌려준다.")
+    @Test
+    void findMultipleTest() {
+        //given
+        this.entityManager.persist(createPerson(2));
+        this.entityManager.flush();
+        this.jdbcTemplate.execute("INSERT INTO users (id, nick_name, old, email) VALUES (1, 'test1', 29, 'test@test.com'), (3, 'test3', 29, 'test@test.com')");
+        Object managed = this.persistenceContext.findEntity(new EntityKey(2L, Person.class)).getEntityInstance();
+
+        //when
+        List<Person> persons = this.entityManager.findMultiple(Person.class, List.of(3L, 2L, 9L, 1L));
+
+        //then
+        assertAll(
+                () -> assertThat(persons.stream().map(person -> person == null ? null : person.getId()).toList())
+                        .isEqualTo(Arrays.asList(3L, 2L, null, 1L)),
+                () -> assertThat(persons.get(1)).isSameAs(managed),
+                () -> assertThat(this.persistenceContext.getEntityEntryMap(new EntityKey(3L, Person.class))
+                        .checkEntityStatus(EntityStatus.MANAGED)).isTrue(),
+                () -> assertThat(this.persistenceContext.findEntity(new EntityKey(1L, Person.class))).isNotNull()
+        );
+    }
+
+    @DisplayName("여러 id 를 조회할 때 OrderItem 이 없는 Order 도 빈 목록으로 돌려준다.")
+    @Test
+    void findMultipleChildlessOrderTest() {
+        //given
+        this.jdbcTemplate.execute("INSERT INTO orders (id, orderNumber) VALUES (1, '1234'), (2, '5678')");
+        this.jdbcTemplate.execute("INSERT INTO order_items (id, order_id, product, quantity) VALUES (1, 1, 'apple', 1), (2, 1, 'banana', 2)");
+
+        //when
+        List<Order> orders = this.entityManager.findMultiple(Order.class, List.of(2L, 1L));
+
+        //then
+        assertAll(
+                () -> assertThat(orders).doesNotContainNull(),
+                () -> assertThat(orders.stream().map(order -> order.getOrderItems().size()).toList()).isEqualTo(List.of(0, 2)),
+                () -> assertThat(this.persistenceContext.getEntityEntryMap(new EntityKey(2L, Order.class))
+                        .checkEntityStatus(EntityStatus.MANAGED)).isTrue()
+        );
+    }
+
+    private long countPerson() {
+        return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", resultSet -> resultSet.getLong(1));
+    }
+
     private Person createPerson(int i) {
         return new Person((long) i, "test" + i, 29, "test@test.com");
     }
+
+    record PersonSummary(Long id, String name) {
+    }
 }
@@ -25,6 +25,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
 
 public class EntityPersisterTest {
 
@@ -128,6 +129,115 @@ public class EntityPersisterTest {
         this.entityPersister.persist(new EntityData(new EntityMetaData(order.getClass()), new EntityObjectData(order)));
     }
 
+    @DisplayName("여러 Person 을 배치로 저장한다.")
+    @Test
+    void persistAllTest() {
+        List<EntityData> entityDataList = List.of(createPerson(1), createPerson(2), createPerson(3)).stream()
+                .map(person -> new EntityData(new EntityMetaData(person.getClass()), new EntityObjectData(person)))
+                .toList();
+
+        this.entityPersister.persistAll(entityDataList);
+
+        Person findPerson = this.entityLoader.find(new EntityData(new EntityMetaData(Person.class), new EntityObjectData(Person.class, 3L)));
+
+        assertThat(findPerson)
+                .extracting("id", "name", "age", "email")
+                .contains(3L, "test3", 29, "test@test.com");
+    }
+
+    @DisplayName("Join되어있는 Entity도 배치로 insert를 실행한다.")
+    @Test
+    void joinPersistAllTest() {
+        Order order = new Order(1L, "1234", List.of(createOrderItem(1, 1L), createOrderItem(2, 1L)));
+        EntityData entityData = new EntityData(new EntityMetaData(order.getClass()), new EntityObjectData(order));
+
+        this.entityPersister.persistAll(List.of(entityData));
+
+        assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items;", resultSet -> resultSet.getLong(1)))
+                .isEqualTo(2L);
+    }
+
+    @DisplayName("id 가 없으면 DB 가 생성한 id 를 EntityData 에 반영한다.")
+    @Test
+    void generatedIdPersistTest() {
+        EntityData entityData = new EntityData(new EntityMetaData(Person.class), new EntityObjectData(new Person(null, "test1", 29, "test@test.com")));
+
+        this.entityPersister.persist(entityData);
+
+        assertAll(
+                () -> assertThat(entityData.getId()).isNotNull(),
+                () -> assertThat(((Person) entityData.getEntityInstance()).getId()).isEqualTo(entityData.getId()),
+                () -> assertThat(entityData.getEntityColumn().getPkValue()).isEqualTo(entityData.getId())
+        );
+    }
+
+    @DisplayName("id 가 없는 여러 Person 을 배치로 저장하고 생성된 id 를 각각 반영한다.")
+    @Test
+    void generatedIdPersistAllTest() {
+        List<EntityData> entityDataList = List.of(new Person(null, "test1", 29, "test@test.com"), new Person(null, "test2", 29, "test@test.com")).stream()
+                .map(person -> new EntityData(new EntityMetaData(person.getClass()), new EntityObjectData(person)))
+                .toList();
+
+        this.entityPersister.persistAll(entityDataList);
+
+        Person findPerson = this.entityLoader.find(new EntityData(new EntityMetaData(Person.class), new EntityObjectData(Person.class, entityDataList.get(1).getId())));
+
+        assertThat(findPerson)
+                .extracting("id", "name")
+                .contains(entityDataList.get(1).getId(), "test2");
+    }
+
+    @DisplayName("multi row insert 가 켜져 있으면 여러 row 를 한 Statement 로 넣고 생성된 id 를 순서대로 반영한다.")
+    @Test
+    void multiRowPersistAllTest() {
+        //given
+        this.entityPersister.setMultiRowInsertLimit(2, 1000);
+        this.jdbcTemplate.getStatistics().setEnabled(true);
+        List<EntityData> entityDataList = List.of(new Person(null, "test1", 29, "test@test.com"), new Person(null, "test2", 30, "test@test.com"),
+                        new Person(null, "test3", 31, "test@test.com")).stream()
+                .map(person -> new EntityData(new EntityMetaData(person.getClass()), new EntityObjectData(person)))
+                .toList();
+
+        //when
+        this.entityPersister.persistAll(entityDataList);
+
+        //then
+        Person findPerson = this.entityLoader.find(new EntityData(new EntityMetaData(Person.class), new EntityObjectData(Person.class, entityDataList.get(2).getId())));
+        assertAll(
+                () -> assertThat(this.jdbcTemplate.getStatistics()
+                        .getQueryStatistics("INSERT INTO users (nick_name, old, email) VALUES (?, ?, ?);")
+                        .getExecutionCount()).isEqualTo(2L),
+                () -> assertThat(entityDataList.stream().map(EntityData::getId).distinct().count()).isEqualTo(3L),
+                () -> assertThat(findPerson)
+                        .extracting("name", "age")
+                        .contains("test3", 31)
+        );
+    }
+
+    @DisplayName("deleteInBatchSize 가 설정되어 있으면 IN 절로 묶어 제거한다.")
+    @Test
+    void removeAllInTest() {
+        //given
+        List<EntityData> entityDataList = List.of(createPerson(1), createPerson(2), createPerson(3), createPerson(4), createPerson(5)).stream()
+                .map(person -> new EntityData(new EntityMetaData(person.getClass()), new EntityObjectData(person)))
+                .toList();
+        this.entityPersister.persistAll(entityDataList);
+        this.entityPersister.setDeleteInBatchSize(4);
+        this.jdbcTemplate.getStatistics().setEnabled(true);
+
+        //when
+        this.entityPersister.removeAll(entityDataList.subList(0, 4));
+
+        //then
+        assertAll(
+                () -> assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users;", resultSet -> resultSet.getLong(1)))
+                        .isEqualTo(1L),
+                () -> assertThat(this.jdbcTemplate.getStatistics()
+                        .getQueryStatistics("DELETE FROM users WHERE id IN (?, ?, ?, ?);")
+                        .getExecutionCount()).isEqualTo(1L)
+        );
+    }
+
     private Person createPerson(int i) {
         return new Person((long) i, "test" + i, 29, "test@test.com");
     }
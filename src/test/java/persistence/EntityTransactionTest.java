@@ -0,0 +1,83 @@
+package persistence;
+
+import boot.Metamodel;
+import boot.MetamodelImpl;
+import builder.ddl.DDLBuilderData;
+import builder.ddl.builder.CreateQueryBuilder;
+import builder.ddl.builder.DropQueryBuilder;
+import builder.ddl.dataType.DB;
+import database.ConnectionPoolProperties;
+import database.H2DBConnection;
+import entity.Person;
+import event.EventListenerRegistry;
+import event.action.ActionQueue;
+import jdbc.JdbcTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/*
+- 같은 스레드의 다른 EntityManager 작업은 진행중인 트랜잭션에 섞이지 않는다.
+*/
+class EntityTransactionTest {
+
+    private H2DBConnection h2DBConnection;
+    private JdbcTemplate jdbcTemplate;
+    private Metamodel metamodel;
+
+    @BeforeEach
+    void setUp() {
+        this.h2DBConnection = new H2DBConnection();
+        this.jdbcTemplate = this.h2DBConnection.start(new ConnectionPoolProperties(2, 2, 5000, 5, 0));
+
+        //테이블 생성
+        CreateQueryBuilder queryBuilder = new CreateQueryBuilder();
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(Person.class, DB.H2)));
+
+        this.metamodel = new MetamodelImpl(jdbcTemplate);
+        this.metamodel.init();
+    }
+
+    //정확한 테스트를 위해 메소드마다 테이블 DROP 후 DB종료
+    @AfterEach
+    void tearDown() {
+        DropQueryBuilder queryBuilder = new DropQueryBuilder();
+        jdbcTemplate.execute(queryBuilder.buildQuery(DDLBuilderData.createDDLBuilderData(Person.class, DB.H2)));
+        this.h2DBConnection.stop();
+    }
+
+    @DisplayName("같은 스레드의 다른 EntityManager 작업은 진행중인 트랜잭션에 섞이지 않는다.")
+    @Test
+    void transactionBoundToEntityManagerTest() {
+        //given
+        EntityManager transactional = createEntityManager();
+        EntityManager other = createEntityManager();
+        EntityTransaction transaction = transactional.getTransaction();
+        transaction.begin();
+
+        //when
+        transactional.persist(new Person(1L, "test1", 29, "test@test.com"));
+        transactional.flush();
+        other.persist(new Person(2L, "test2", 30, "test2@test.com"));
+        other.flush();
+        transaction.rollback();
+
+        //then
+        assertAll(
+                () -> assertThat(transaction.isActive()).isFalse(),
+                () -> assertThat(other.getTransaction().isActive()).isFalse(),
+                () -> assertThat(jdbcTemplate.query("SELECT id FROM users", resultSet -> resultSet.getLong(1)))
+                        .containsExactly(2L)
+        );
+    }
+
+    private EntityManager createEntityManager() {
+        ActionQueue actionQueue = new ActionQueue();
+        return new EntityManagerImpl(new PersistenceContextImpl(), metamodel,
+                EventListenerRegistry.createEventListenerRegistry(metamodel, metamodel.entityLoader(), actionQueue), actionQueue);
+    }
+}